@@ -0,0 +1,90 @@
+package com.example.emloyee.management.config;
+
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-through caches for {@code findById}. Caffeine's W-TinyLFU policy keeps the frequently read entities when
+ * the cache is full; capacity is bounded by an estimate of entry size rather than by entry count. Each cache is a
+ * {@link UnitOfWorkCache}, so it only ever holds committed rows.
+ */
+@Configuration
+@EnableCaching(proxyTargetClass = true)
+public class CachingConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String DEPARTMENTS = "departments";
+
+    /**
+     * Conditions for {@code findById}: a client pinned to the primary by {@link ReadYourWrites} bypasses the cache,
+     * and a row read from a replica is not cached, since it may be older than the primary.
+     */
+    public static final String UNLESS_PINNED = "!@readYourWrites.isPinnedToPrimary()";
+    public static final String UNLESS_REPLICA = "#result == null || @replicaRoutingDataSource.isRoutedToReplica()";
+
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int FIELD_OVERHEAD = 16;
+
+    @Value("${app.cache.max-weight}")
+    private long maxWeight;
+
+    @Value("${app.cache.ttl}")
+    private Duration ttl;
+
+    static int weigh(Object value) {
+        if (value instanceof Employee employee) {
+            return ENTRY_OVERHEAD + weigh(employee.getFirstName()) + weigh(employee.getLastName())
+                    + weigh(employee.getEmail()) + weigh(employee.getPhoneNumber()) + 3 * FIELD_OVERHEAD;
+        }
+
+        if (value instanceof Department department) {
+            return ENTRY_OVERHEAD + weigh(department.getName()) + weigh(department.getLocation()) + FIELD_OVERHEAD;
+        }
+
+        return ENTRY_OVERHEAD;
+    }
+
+    private static int weigh(String value) {
+        return value == null ? 0 : FIELD_OVERHEAD + 2 * value.length();
+    }
+
+    @Bean
+    public CacheManager cacheManager(UnitOfWorkManager unitOfWorkManager) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new UnitOfWorkCache(super.adaptCaffeineCache(name, cache), unitOfWorkManager);
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((key, value) -> weigh(value))
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(EMPLOYEES, DEPARTMENTS));
+        return cacheManager;
+    }
+
+    /**
+     * Publishes the Caffeine statistics behind each {@link UnitOfWorkCache} as {@code cache.*} meters.
+     */
+    @Bean
+    public CacheMeterBinderProvider<UnitOfWorkCache> unitOfWorkCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache(), cache.getName(), tags);
+    }
+}
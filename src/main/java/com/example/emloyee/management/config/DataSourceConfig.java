@@ -1,23 +1,163 @@
 package com.example.emloyee.management.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.annotation.Isolation;
 
 import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Separate Hikari pools per workload, so long-running exports and imports cannot starve short reads and writes.
+ * Connection settings come from {@code app.datasource.*}; each pool is tuned under {@code app.datasource.<pool>.*}
+ * with any {@link com.zaxxer.hikari.HikariConfig} property.
+ * <p>
+ * Reads go through {@link ReplicaRoutingDataSource}: with {@code app.datasource.replica.urls} set they are spread
+ * over replica pools configured like the {@code read} pool, otherwise they use the {@code read} pool on the primary.
+ * <p>
+ * The {@code dataSource} and {@code readDataSource} beans hand out the connection of the current {@link UnitOfWork}
+ * when there is one; the {@code bulk} pool is never part of a unit of work.
+ * <p>
+ * With {@code app.sql-stats.enabled} every pool is wrapped in a {@link SqlStatisticsDataSource}, below the unit of
+ * work, so statements are recorded in {@link SqlStatistics} whichever path they take.
+ */
 @Configuration
+@EnableScheduling
 public class DataSourceConfig {
 
+    @Value("${app.datasource.url}")
+    private String url;
+
+    @Value("${app.datasource.username}")
+    private String username;
+
+    @Value("${app.datasource.password}")
+    private String password;
+
+    @Value("${app.datasource.replica.urls}")
+    private String[] replicaUrls;
+
+    @Value("${app.datasource.replica.max-lag}")
+    private long replicaMaxLag;
+
+    @Value("${app.datasource.replica.sticky-window}")
+    private long stickyWindow;
+
+    @Value("${app.datasource.replica.client-header}")
+    private String clientHeader;
+
+    @Value("${app.unit-of-work.isolation}")
+    private Isolation unitOfWorkIsolation;
+
+    @Value("${app.sql-stats.enabled}")
+    private boolean sqlStatsEnabled;
+
+    @Value("${app.sql-stats.max-statements}")
+    private int sqlStatsMaxStatements;
+
+    @Value("${app.sql-stats.slow-threshold}")
+    private Duration sqlStatsSlowThreshold;
+
+    @Autowired
+    private ObjectProvider<RequestTiming> requestTiming;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(UnitOfWorkManager unitOfWorkManager) {
+        return new UnitOfWorkDataSource(tracked(writeDataSource()), unitOfWorkManager);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.write")
+    public HikariDataSource writeDataSource() {
+        return createDataSource("write", url);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read")
+    public HikariDataSource primaryReadDataSource() {
+        return createDataSource("read", url);
+    }
+
+    @Bean
+    public DataSource readDataSource(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                     UnitOfWorkManager unitOfWorkManager) {
+        return new UnitOfWorkDataSource(tracked(replicaRoutingDataSource), unitOfWorkManager);
+    }
+
     @Bean
-    public DataSource dataSource() {
+    public ReplicaRoutingDataSource replicaRoutingDataSource(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = createDataSource(ReplicaRoutingDataSource.REPLICA.formatted(i), replicaUrls[i].trim());
+            Binder.get(environment).bind("app.datasource.read", Bindable.ofInstance(replica));
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryReadDataSource(), replicas, readYourWrites(), replicaMaxLag);
+    }
+
+    @Bean
+    public DataSource bulkDataSource() {
+        return tracked(bulkPoolDataSource());
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.bulk")
+    public HikariDataSource bulkPoolDataSource() {
+        return createDataSource("bulk", url);
+    }
+
+    @Bean
+    public UnitOfWorkManager unitOfWorkManager(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new UnitOfWorkManager(tracked(writeDataSource()), tracked(replicaRoutingDataSource), unitOfWorkIsolation);
+    }
+
+    @Bean
+    public SqlStatistics sqlStatistics() {
+        return new SqlStatistics(sqlStatsMaxStatements, sqlStatsSlowThreshold, Clock.systemUTC());
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return new ReadYourWrites(stickyWindow, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWrites(), clientHeader));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private DataSource tracked(DataSource pool) {
+        return sqlStatsEnabled ? new SqlStatisticsDataSource(pool, sqlStatistics(), requestTiming.getIfAvailable()) : pool;
+    }
+
+    private HikariDataSource createDataSource(String poolName, String jdbcUrl) {
         HikariDataSource dataSource = new HikariDataSource();
-        dataSource.setJdbcUrl("jdbc:postgresql://localhost:5432/employee_management");
-        dataSource.setUsername("admin");
-        dataSource.setPassword("admin");
-        dataSource.setMinimumIdle(1);
-        dataSource.setMaximumPoolSize(1);
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
         return dataSource;
     }
 }
-
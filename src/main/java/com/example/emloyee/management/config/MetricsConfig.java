@@ -0,0 +1,59 @@
+package com.example.emloyee.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import static com.example.emloyee.management.config.OperationMetricsInterceptor.MAPPER;
+import static com.example.emloyee.management.config.OperationMetricsInterceptor.REPOSITORY;
+import static com.example.emloyee.management.config.OperationMetricsInterceptor.SERVICE;
+
+/**
+ * Times repository, service and mapper calls with {@link OperationMetricsInterceptor}. The interceptors are plain
+ * advisors rather than {@code @Aspect}s, which would build a join point and invoke the advice reflectively on every
+ * call; they run outside the {@link UnitOfWork} and cache advice, so service timings include the commit and
+ * repository timings include cache hits. Histograms and the Prometheus endpoint are configured under
+ * {@code management.*}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static Advisor repositoryMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(REPOSITORY, "within(@org.springframework.stereotype.Repository *) && execution(public * *(..))",
+                1, meterRegistry);
+    }
+
+    @Bean
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(SERVICE, "execution(public * com.example.emloyee.management.service.*Service.*(..))",
+                1, meterRegistry);
+    }
+
+    /**
+     * Mappers are called once per row and take tens of nanoseconds, so only one call in
+     * {@code app.metrics.mapper-sample-rate} is timed.
+     */
+    @Bean
+    public static Advisor mapperMetricsAdvisor(@Value("${app.metrics.mapper-sample-rate}") int sampleRate,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(MAPPER, "execution(public * com.example.emloyee.management.mapper.*Mapper.*(..))",
+                sampleRate, meterRegistry);
+    }
+
+    private static Advisor advisor(String name, String expression, int sampleRate,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(expression);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new OperationMetricsInterceptor(name, sampleRate, meterRegistry::getObject));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.emloyee.management.config;
+
+import com.example.emloyee.management.controller.ReactiveDepartmentHandler;
+import com.example.emloyee.management.controller.ReactiveEmployeeHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.withErrorHandling;
+
+/**
+ * Non-blocking variant of the employee and department endpoints under {@code app.reactive.path}, served by
+ * Reactor Netty on {@code app.reactive.port}. The HTTP server and the R2DBC driver share one small event loop
+ * ({@code app.reactive.event-loop-threads}); database connections come from an R2DBC pool on the primary.
+ */
+@Configuration
+public class ReactiveConfig {
+
+    @Value("${app.datasource.url}")
+    private String url;
+
+    @Value("${app.datasource.username}")
+    private String username;
+
+    @Value("${app.datasource.password}")
+    private String password;
+
+    @Value("${app.reactive.event-loop-threads}")
+    private int eventLoopThreads;
+
+    @Value("${app.reactive.pool.max-size}")
+    private int poolMaxSize;
+
+    @Value("${app.reactive.pool.acquire-timeout}")
+    private Duration acquireTimeout;
+
+    @Value("${app.reactive.path}")
+    private String path;
+
+    @Value("${app.endpoint.employees}")
+    private String employeesEndpoint;
+
+    @Value("${app.endpoint.departments}")
+    private String departmentsEndpoint;
+
+    @Value("${app.reactive.port}")
+    private int port;
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveLoopResources() {
+        return LoopResources.create("reactive", eventLoopThreads, true);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(LoopResources reactiveLoopResources) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.replaceFirst("^jdbc:", "r2dbc:"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .option(PostgresqlConnectionFactoryProvider.LOOP_RESOURCES, reactiveLoopResources)
+                .build();
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .initialSize(0)
+                .maxSize(poolMaxSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveRoutes(ReactiveEmployeeHandler employees,
+                                                         ReactiveDepartmentHandler departments) {
+        return RouterFunctions.route()
+                .path(path + employeesEndpoint, builder -> builder
+                        .GET("", employees::getAllEmployees)
+                        .GET("/{id}", employees::getEmployeeById)
+                        .POST("", employees::addEmployee)
+                        .PUT("/{id}", employees::updateEmployee)
+                        .DELETE("/{id}", employees::deleteEmployeeById))
+                .path(path + departmentsEndpoint, builder -> builder
+                        .GET("", departments::getAllDepartments)
+                        .GET("/{id}", departments::getDepartmentById)
+                        .POST("", departments::addDepartment)
+                        .PUT("/{id}", departments::updateDepartment)
+                        .DELETE("/{id}", departments::deleteDepartmentById))
+                .build();
+    }
+
+    @Bean
+    public ReactiveServer reactiveServer(RouterFunction<ServerResponse> reactiveRoutes,
+                                         LoopResources reactiveLoopResources,
+                                         ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        return new ReactiveServer(RouterFunctions.toHttpHandler(withErrorHandling(reactiveRoutes), strategies),
+                reactiveLoopResources, port);
+    }
+}
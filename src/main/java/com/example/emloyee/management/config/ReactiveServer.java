@@ -0,0 +1,55 @@
+package com.example.emloyee.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty server for the reactive routes, running next to Tomcat on its own port and event loop.
+ */
+@Slf4j
+public class ReactiveServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+
+    private final LoopResources loopResources;
+
+    private final int port;
+
+    private volatile DisposableServer server;
+
+    public ReactiveServer(HttpHandler httpHandler, LoopResources loopResources, int port) {
+        this.httpHandler = httpHandler;
+        this.loopResources = loopResources;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive endpoints started on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        server.disposeNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+}
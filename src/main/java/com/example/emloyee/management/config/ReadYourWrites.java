@@ -0,0 +1,74 @@
+package com.example.emloyee.management.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients wrote recently, so their reads can be pinned to the primary until replicas catch up.
+ * The current client and whether the current request writes are bound to the request thread by
+ * {@link ReadYourWritesFilter}.
+ */
+public class ReadYourWrites {
+
+    private final ThreadLocal<String> client = new ThreadLocal<>();
+
+    private final ThreadLocal<Boolean> writing = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long windowMillis;
+
+    private final Clock clock;
+
+    public ReadYourWrites(long windowMillis, Clock clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    public void begin(String clientKey, boolean write) {
+        client.set(clientKey);
+        writing.set(write);
+    }
+
+    public void end() {
+        String clientKey = client.get();
+        if (clientKey != null && Boolean.TRUE.equals(writing.get())) {
+            lastWrites.put(clientKey, clock.millis());
+        }
+
+        client.remove();
+        writing.remove();
+    }
+
+    public boolean isPinnedToPrimary() {
+        if (Boolean.TRUE.equals(writing.get())) {
+            return true;
+        }
+
+        String clientKey = client.get();
+        if (clientKey == null) {
+            return false;
+        }
+
+        Long lastWrite = lastWrites.get(clientKey);
+        if (lastWrite == null) {
+            return false;
+        }
+
+        if (clock.millis() - lastWrite > windowMillis) {
+            lastWrites.remove(clientKey, lastWrite);
+            return false;
+        }
+
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval}")
+    public void purgeExpired() {
+        long now = clock.millis();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite > windowMillis);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.emloyee.management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Binds the calling client to {@link ReadYourWrites} for the duration of a request. Clients are identified by
+ * the configured header, or by their remote address when the header is absent.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final ReadYourWrites readYourWrites;
+
+    private final String clientHeader;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites, String clientHeader) {
+        this.readYourWrites = readYourWrites;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(clientHeader);
+        if (clientKey == null || clientKey.isBlank()) {
+            clientKey = request.getRemoteAddr();
+        }
+
+        readYourWrites.begin(clientKey, !READ_METHODS.contains(request.getMethod()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.end();
+        }
+    }
+}
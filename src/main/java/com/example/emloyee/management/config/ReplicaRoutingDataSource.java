@@ -0,0 +1,135 @@
+package com.example.emloyee.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends reads to replicas round-robin, falling back to the primary while the client is pinned by
+ * {@link ReadYourWrites} or when no replica is within {@code maxLagMillis}. Replica lag is refreshed by
+ * {@link #checkReplicaLag()}; a replica that cannot be checked counts as lagging. {@link #isRoutedToReplica()} tells
+ * whether the last connection the current thread took came from a replica, so callers can avoid caching what they
+ * read through it.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica-%d";
+
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final List<DataSource> replicas;
+
+    private final AtomicLongArray lags;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ThreadLocal<Boolean> routedToReplica = ThreadLocal.withInitial(() -> false);
+
+    private final ReadYourWrites readYourWrites;
+
+    private final long maxLagMillis;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReadYourWrites readYourWrites, long maxLagMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.lags = new AtomicLongArray(replicas.size());
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA.formatted(i), replicas.get(i));
+            lags.set(i, Long.MAX_VALUE);
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Object key = route();
+        routedToReplica.set(key != PRIMARY);
+        return key;
+    }
+
+    public boolean isRoutedToReplica() {
+        return routedToReplica.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval}")
+    public void checkReplicaLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            lags.set(i, queryLag(replicas.get(i), i));
+        }
+    }
+
+    public long getLag(int replica) {
+        return lags.get(replica);
+    }
+
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Object route() {
+        if (replicas.isEmpty() || readYourWrites.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (start + i) % replicas.size();
+            if (lags.get(replica) <= maxLagMillis) {
+                return REPLICA.formatted(replica);
+            }
+        }
+
+        return PRIMARY;
+    }
+
+    private long queryLag(DataSource replica, int index) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+
+            if (resultSet.next()) {
+                long lag = resultSet.getLong(1);
+                return resultSet.wasNull() ? Long.MAX_VALUE : lag;
+            }
+
+            return Long.MAX_VALUE;
+
+        } catch (SQLException e) {
+            log.warn("Lag check failed for {}: {}", REPLICA.formatted(index), e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
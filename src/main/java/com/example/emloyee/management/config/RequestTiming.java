@@ -0,0 +1,137 @@
+package com.example.emloyee.management.config;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Breaks the time of a sampled request down by phase. {@link RequestTimingFilter} starts a timing on one request in
+ * {@code sampleRate}; the phases are recorded on the request thread by {@link SqlStatisticsDataSource} (connection
+ * acquisition and statement execution), {@link RequestTimingInterceptor} (repository and mapper calls) and
+ * {@link RequestTimingJsonConverter} (serialization). Repository time not spent acquiring connections or executing
+ * statements is reported as {@code rows}: fetching and mapping result rows, and cache lookups.
+ * <p>
+ * On requests that are not sampled every hook costs one {@link ThreadLocal} read.
+ */
+public class RequestTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    public enum Phase {
+        POOL, SQL, REPOSITORY, MAPPER, JSON
+    }
+
+    private final ThreadLocal<Timing> current = new ThreadLocal<>();
+
+    private final int sampleRate;
+
+    public RequestTiming(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Starts timing the current request if it is sampled.
+     */
+    public boolean begin() {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return false;
+        }
+        current.set(new Timing(System.nanoTime()));
+        return true;
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    public void record(Phase phase, long nanos) {
+        Timing timing = current.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    public void statement(long nanos) {
+        Timing timing = current.get();
+        if (timing != null) {
+            timing.nanos[Phase.SQL.ordinal()] += nanos;
+            timing.statements++;
+        }
+    }
+
+    /**
+     * Enters {@code phase} unless the request is not timed or the phase is already open, as when one mapper calls
+     * another; only the outermost call is then passed to {@link #exit(Phase, long)}.
+     */
+    public boolean enter(Phase phase) {
+        Timing timing = current.get();
+        if (timing == null || timing.open[phase.ordinal()]) {
+            return false;
+        }
+        timing.open[phase.ordinal()] = true;
+        return true;
+    }
+
+    public void exit(Phase phase, long nanos) {
+        Timing timing = current.get();
+        if (timing != null) {
+            timing.open[phase.ordinal()] = false;
+            timing.nanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * The {@value #HEADER} value for the phases recorded so far, durations in milliseconds.
+     */
+    public String serverTiming() {
+        Timing timing = current.get();
+        if (timing == null) {
+            return null;
+        }
+        return "pool;dur=%s, sql;dur=%s;desc=\"%d statements\", rows;dur=%s, mapper;dur=%s, json;dur=%s, total;dur=%s"
+                .formatted(millis(timing.nanos[Phase.POOL.ordinal()]), millis(timing.nanos[Phase.SQL.ordinal()]),
+                        timing.statements, millis(timing.rows()), millis(timing.nanos[Phase.MAPPER.ordinal()]),
+                        millis(timing.nanos[Phase.JSON.ordinal()]), millis(System.nanoTime() - timing.start));
+    }
+
+    /**
+     * The recorded phases as {@code key=value} pairs for the request log.
+     */
+    public String summary() {
+        Timing timing = current.get();
+        if (timing == null) {
+            return "";
+        }
+        return "total_ms=%s pool_ms=%s sql_ms=%s statements=%d rows_ms=%s mapper_ms=%s json_ms=%s"
+                .formatted(millis(System.nanoTime() - timing.start), millis(timing.nanos[Phase.POOL.ordinal()]),
+                        millis(timing.nanos[Phase.SQL.ordinal()]), timing.statements, millis(timing.rows()),
+                        millis(timing.nanos[Phase.MAPPER.ordinal()]), millis(timing.nanos[Phase.JSON.ordinal()]));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+
+    private static final class Timing {
+
+        private final long start;
+
+        private final long[] nanos = new long[Phase.values().length];
+
+        private final boolean[] open = new boolean[Phase.values().length];
+
+        private int statements;
+
+        private Timing(long start) {
+            this.start = start;
+        }
+
+        private long rows() {
+            return Math.max(0, nanos[Phase.REPOSITORY.ordinal()] - nanos[Phase.POOL.ordinal()]
+                    - nanos[Phase.SQL.ordinal()]);
+        }
+    }
+}
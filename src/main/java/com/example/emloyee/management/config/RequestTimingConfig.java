@@ -0,0 +1,68 @@
+package com.example.emloyee.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Adds a {@value RequestTiming#HEADER} header and a log line with a per-phase breakdown to one request in
+ * {@code app.request-timing.sample-rate} when {@code app.request-timing.enabled=true}. Without it none of these beans
+ * exist and the JDBC proxies of {@link SqlStatisticsDataSource} skip the timing; connection and statement phases
+ * are only recorded while {@code app.sql-stats.enabled} is on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.request-timing.enabled", havingValue = "true")
+public class RequestTimingConfig {
+
+    @Bean
+    public RequestTiming requestTiming(@Value("${app.request-timing.sample-rate}") int sampleRate) {
+        return new RequestTiming(sampleRate);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(RequestTiming requestTiming) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTimingFilter(requestTiming));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Replaces the default Jackson converter.
+     */
+    @Bean
+    public RequestTimingJsonConverter requestTimingJsonConverter(ObjectMapper objectMapper, RequestTiming requestTiming) {
+        return new RequestTimingJsonConverter(objectMapper, requestTiming);
+    }
+
+    @Bean
+    public static Advisor repositoryTimingAdvisor(ObjectProvider<RequestTiming> requestTiming) {
+        return advisor(RequestTiming.Phase.REPOSITORY,
+                "within(@org.springframework.stereotype.Repository *) && execution(public * *(..))", requestTiming);
+    }
+
+    @Bean
+    public static Advisor mapperTimingAdvisor(ObjectProvider<RequestTiming> requestTiming) {
+        return advisor(RequestTiming.Phase.MAPPER,
+                "execution(public * com.example.emloyee.management.mapper.*Mapper.*(..))", requestTiming);
+    }
+
+    private static Advisor advisor(RequestTiming.Phase phase, String expression,
+                                   ObjectProvider<RequestTiming> requestTiming) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(expression);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new RequestTimingInterceptor(phase, SingletonSupplier.of(requestTiming::getObject)));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
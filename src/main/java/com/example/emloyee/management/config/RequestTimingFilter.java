@@ -0,0 +1,100 @@
+package com.example.emloyee.management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Times sampled requests with {@link RequestTiming}. The {@value RequestTiming#HEADER} header is added just before
+ * the response is committed, when the body is first written or flushed, so it covers everything up to the response
+ * body; the log line written once the request completes also covers writing the body. Work handed to another thread,
+ * as by streaming exports, is not included.
+ */
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final RequestTiming requestTiming;
+
+    public RequestTimingFilter(RequestTiming requestTiming) {
+        this.requestTiming = requestTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!requestTiming.begin()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TimedResponse timedResponse = new TimedResponse(response);
+        try {
+            filterChain.doFilter(request, timedResponse);
+            timedResponse.addServerTiming();
+        } finally {
+            log.info("method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), requestTiming.summary());
+            requestTiming.end();
+        }
+    }
+
+    private final class TimedResponse extends HttpServletResponseWrapper {
+
+        private boolean added;
+
+        private TimedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                setHeader(RequestTiming.HEADER, requestTiming.serverTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
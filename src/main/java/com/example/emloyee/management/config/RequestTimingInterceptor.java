@@ -0,0 +1,36 @@
+package com.example.emloyee.management.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Adds the time of the outermost intercepted call to a {@link RequestTiming.Phase} of the current request.
+ */
+public class RequestTimingInterceptor implements MethodInterceptor {
+
+    private final RequestTiming.Phase phase;
+
+    private final Supplier<RequestTiming> requestTiming;
+
+    public RequestTimingInterceptor(RequestTiming.Phase phase, Supplier<RequestTiming> requestTiming) {
+        this.phase = phase;
+        this.requestTiming = requestTiming;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RequestTiming timing = requestTiming.get();
+        if (!timing.enter(phase)) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timing.exit(phase, System.nanoTime() - start);
+        }
+    }
+}
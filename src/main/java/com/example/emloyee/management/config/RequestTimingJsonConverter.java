@@ -0,0 +1,54 @@
+package com.example.emloyee.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes the body of a timed request into a buffer first, so the serialization time is known before the
+ * response is committed and can go into the {@value RequestTiming#HEADER} header. Other requests are written
+ * straight to the response as usual.
+ */
+public class RequestTimingJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    private final RequestTiming requestTiming;
+
+    public RequestTimingJsonConverter(ObjectMapper objectMapper, RequestTiming requestTiming) {
+        super(objectMapper);
+        this.requestTiming = requestTiming;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!requestTiming.isActive()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        requestTiming.record(RequestTiming.Phase.JSON, System.nanoTime() - start);
+
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
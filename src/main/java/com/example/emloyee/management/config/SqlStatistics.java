@@ -0,0 +1,182 @@
+package com.example.emloyee.management.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement execution statistics, in the spirit of {@code pg_stat_statements}, collected by
+ * {@link SqlStatisticsDataSource}. Statements are grouped by their normalized text: literals become {@code ?},
+ * lists of placeholders such as {@code IN (?, ?, ?)} collapse to {@code (?, ...)} and whitespace is squeezed, so
+ * every variant of a dynamically built query shares one entry.
+ * <p>
+ * Counters are {@link LongAdder}s in a {@link ConcurrentHashMap}, so concurrent executions of the same statement
+ * update separate cells instead of contending on a lock. Each raw SQL string is normalized once and then mapped to
+ * its entry directly. At most {@code maxStatements} shapes are tracked; later shapes are added up under
+ * {@link #OTHER}. Executions slower than {@code slowThreshold} are logged with the types of their bind parameters,
+ * never their values.
+ */
+@Slf4j
+public class SqlStatistics {
+
+    public static final String OTHER = "<other>";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?(?![\\w$])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> bySql = new ConcurrentHashMap<>();
+
+    private final int maxStatements;
+
+    private final long slowThresholdNanos;
+
+    private final Clock clock;
+
+    private volatile Instant since;
+
+    public SqlStatistics(int maxStatements, Duration slowThreshold, Clock clock) {
+        this.maxStatements = maxStatements;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.clock = clock;
+        this.since = clock.instant();
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?, ...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * The entry executions of {@code sql} are recorded in.
+     */
+    Entry entry(String sql) {
+        Entry entry = bySql.get(sql);
+        if (entry != null) {
+            return entry;
+        }
+
+        String query = normalize(sql);
+        entry = entries.get(query);
+        if (entry == null) {
+            entry = entries.size() < maxStatements
+                    ? entries.computeIfAbsent(query, Entry::new)
+                    : entries.computeIfAbsent(OTHER, Entry::new);
+        }
+        if (bySql.size() < 4 * maxStatements) {
+            bySql.put(sql, entry);
+        }
+        return entry;
+    }
+
+    void record(Entry entry, long nanos, long rows, boolean failed, String[] binds) {
+        entry.calls.increment();
+        entry.totalNanos.add(nanos);
+        entry.maxNanos.accumulate(nanos);
+        if (rows > 0) {
+            entry.rows.add(rows);
+        }
+        if (failed) {
+            entry.errors.increment();
+        }
+
+        if (nanos >= slowThresholdNanos) {
+            log.warn("Slow statement took {} ms: {} binds {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), entry.query, shape(binds));
+        }
+    }
+
+    /**
+     * The types bound to each parameter, from index 1, with {@code unset} for gaps.
+     */
+    static String shape(String[] binds) {
+        int last = binds == null ? 0 : binds.length - 1;
+        while (last > 0 && binds[last] == null) {
+            last--;
+        }
+
+        StringBuilder shape = new StringBuilder("[");
+        for (int i = 1; i <= last; i++) {
+            if (i > 1) {
+                shape.append(", ");
+            }
+            shape.append(binds[i] == null ? "unset" : binds[i]);
+        }
+        return shape.append(']').toString();
+    }
+
+    /**
+     * Statements ordered by total execution time, most expensive first.
+     */
+    public List<Statement> statements() {
+        return entries.values().stream()
+                .map(Entry::snapshot)
+                .sorted(Comparator.comparingDouble(Statement::totalMillis).reversed())
+                .toList();
+    }
+
+    public Instant since() {
+        return since;
+    }
+
+    public void reset() {
+        entries.clear();
+        bySql.clear();
+        since = clock.instant();
+    }
+
+    public record Statement(String query,
+                            long calls,
+                            @JsonProperty("total_ms") double totalMillis,
+                            @JsonProperty("mean_ms") double meanMillis,
+                            @JsonProperty("max_ms") double maxMillis,
+                            long rows,
+                            long errors) {
+    }
+
+    static final class Entry {
+
+        private final String query;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private Entry(String query) {
+            this.query = query;
+        }
+
+        void addRows(long count) {
+            rows.add(count);
+        }
+
+        private Statement snapshot() {
+            long count = calls.sum();
+            double totalMillis = totalNanos.sum() / 1e6;
+            return new Statement(query, count, totalMillis, count == 0 ? 0 : totalMillis / count,
+                    maxNanos.get() / 1e6, rows.sum(), errors.sum());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.emloyee.management.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.Nullable;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Records every statement executed on connections from the wrapped pool in {@link SqlStatistics}.
+ * <p>
+ * Connections, statements and result sets are JDK proxies over the driver's objects. Only the {@code execute*}
+ * call is timed, so the time of a query excludes fetching rows beyond the first batch; its rows are counted as the
+ * result set is read and added when it is exhausted or closed. The types passed to the {@code set*} methods of a
+ * prepared statement are kept for the slow-statement log. {@code unwrap(..)} and every other method reach the driver
+ * unchanged.
+ * <p>
+ * With a {@link RequestTiming}, connection acquisition and statement execution are also added to the timed request.
+ */
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    private final SqlStatistics sqlStatistics;
+
+    private final RequestTiming requestTiming;
+
+    public SqlStatisticsDataSource(DataSource pool, SqlStatistics sqlStatistics) {
+        this(pool, sqlStatistics, null);
+    }
+
+    public SqlStatisticsDataSource(DataSource pool, SqlStatistics sqlStatistics, @Nullable RequestTiming requestTiming) {
+        super(pool);
+        this.sqlStatistics = sqlStatistics;
+        this.requestTiming = requestTiming;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (requestTiming == null || !requestTiming.isActive()) {
+            return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+        }
+
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection();
+        requestTiming.record(RequestTiming.Phase.POOL, System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? (Object) (proxy == args[0]) : System.identityHashCode(proxy);
+    }
+
+    private static boolean isIdentity(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1
+                || method.getName().equals("hashCode") && method.getParameterCount() == 0;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentity(method)) {
+                return identity(proxy, method, args);
+            }
+
+            Object result = SqlStatisticsDataSource.invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> SqlStatisticsDataSource.proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> SqlStatisticsDataSource.proxy(Statement.class,
+                        new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private String sql;
+
+        private String[] binds;
+
+        private SqlStatistics.Entry lastEntry;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds = null;
+            } else if (name.equals("addBatch") && args != null && sql == null) {
+                sql = (String) args[0];
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            } else if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) SqlStatisticsDataSource.invoke(statement, method, args);
+                return resultSet == null || lastEntry == null ? resultSet : rows(resultSet, lastEntry);
+            } else if (isIdentity(method)) {
+                return identity(proxy, method, args);
+            }
+            return SqlStatisticsDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            if (executed == null) {
+                return SqlStatisticsDataSource.invoke(statement, method, args);
+            }
+
+            SqlStatistics.Entry entry = sqlStatistics.entry(executed);
+            lastEntry = entry;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = SqlStatisticsDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                long nanos = System.nanoTime() - start;
+                sqlStatistics.record(entry, nanos, 0, true, binds);
+                timeStatement(nanos);
+                throw e;
+            }
+            long nanos = System.nanoTime() - start;
+            timeStatement(nanos);
+
+            if (result instanceof ResultSet resultSet) {
+                sqlStatistics.record(entry, nanos, 0, false, binds);
+                return rows(resultSet, entry);
+            }
+            sqlStatistics.record(entry, nanos, rows(result), false, binds);
+            return result;
+        }
+
+        private void timeStatement(long nanos) {
+            if (requestTiming != null) {
+                requestTiming.statement(nanos);
+            }
+        }
+
+        private long rows(Object result) throws SQLException {
+            if (result instanceof Integer count) {
+                return count;
+            } else if (result instanceof Long count) {
+                return count;
+            } else if (result instanceof int[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+            } else if (result instanceof long[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).sum();
+            } else if (Boolean.FALSE.equals(result)) {
+                return statement.getUpdateCount();
+            }
+            return 0;
+        }
+
+        private ResultSet rows(ResultSet resultSet, SqlStatistics.Entry entry) {
+            return SqlStatisticsDataSource.proxy(ResultSet.class, new ResultSetHandler(resultSet, entry));
+        }
+
+        private void bind(int index, String setter, Object value) {
+            if (binds == null || binds.length <= index) {
+                binds = Arrays.copyOf(binds == null ? new String[0] : binds, Math.max(index + 1, 8));
+            }
+            binds[index] = switch (setter) {
+                case "setNull" -> "null";
+                case "setObject" -> value == null ? "null" : value.getClass().getSimpleName();
+                default -> setter.substring(3);
+            };
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+
+        private final SqlStatistics.Entry entry;
+
+        private long rows;
+
+        private boolean counted;
+
+        private ResultSetHandler(ResultSet resultSet, SqlStatistics.Entry entry) {
+            this.resultSet = resultSet;
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next" -> {
+                    boolean hasNext = resultSet.next();
+                    if (hasNext) {
+                        rows++;
+                    } else {
+                        count();
+                    }
+                    return hasNext;
+                }
+                case "close" -> count();
+                default -> {
+                    if (isIdentity(method)) {
+                        return identity(proxy, method, args);
+                    }
+                }
+            }
+            return SqlStatisticsDataSource.invoke(resultSet, method, args);
+        }
+
+        private void count() {
+            if (!counted) {
+                counted = true;
+                entry.addRows(rows);
+            }
+        }
+    }
+}
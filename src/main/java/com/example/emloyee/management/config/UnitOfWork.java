@@ -0,0 +1,33 @@
+package com.example.emloyee.management.config;
+
+import org.springframework.transaction.annotation.Isolation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method as one unit of work: every repository call inside it shares a single connection, and
+ * unless {@link #readOnly()} they share a single transaction that commits when the method returns and rolls back
+ * when it throws. Nested units of work join the outermost one.
+ *
+ * @see UnitOfWorkManager
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UnitOfWork {
+
+    /**
+     * Takes the connection from the read pool and marks it read-only. A read-only unit of work stays in auto-commit
+     * unless an {@link #isolation()} is given, so a single query costs no extra round trips.
+     */
+    boolean readOnly() default false;
+
+    /**
+     * {@link Isolation#DEFAULT} falls back to {@code app.unit-of-work.isolation}.
+     */
+    Isolation isolation() default Isolation.DEFAULT;
+}
@@ -0,0 +1,20 @@
+package com.example.emloyee.management.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class UnitOfWorkAspect {
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    @Around("@annotation(unitOfWork)")
+    public Object around(ProceedingJoinPoint joinPoint, UnitOfWork unitOfWork) throws Throwable {
+        return unitOfWorkManager.execute(unitOfWork.readOnly(), unitOfWork.isolation(), joinPoint::proceed);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.emloyee.management.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps a cache consistent with the {@link UnitOfWork} that changes the rows behind it. Inside a unit of work, puts
+ * are applied only after it commits and are dropped if it rolls back. Evictions are applied right away and again
+ * after the commit, so a value another request cached in the meantime from the not yet committed state does not
+ * outlive the commit.
+ */
+public class UnitOfWorkCache implements Cache {
+
+    private final Cache cache;
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    public UnitOfWorkCache(Cache cache, UnitOfWorkManager unitOfWorkManager) {
+        this.cache = cache;
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return cache.get(key);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return cache.get(key, type);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return cache.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        unitOfWorkManager.afterCommit(() -> cache.put(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.evict(key);
+        if (unitOfWorkManager.isActive()) {
+            unitOfWorkManager.afterCommit(() -> cache.evict(key));
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = cache.evictIfPresent(key);
+        if (unitOfWorkManager.isActive()) {
+            unitOfWorkManager.afterCommit(() -> cache.evict(key));
+        }
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+        if (unitOfWorkManager.isActive()) {
+            unitOfWorkManager.afterCommit(cache::clear);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = cache.invalidate();
+        if (unitOfWorkManager.isActive()) {
+            unitOfWorkManager.afterCommit(cache::invalidate);
+        }
+        return invalidated;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.emloyee.management.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out the connection of the current {@link UnitOfWork}, or one from the wrapped pool outside of one.
+ */
+public class UnitOfWorkDataSource extends DelegatingDataSource {
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    public UnitOfWorkDataSource(DataSource pool, UnitOfWorkManager unitOfWorkManager) {
+        super(pool);
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return unitOfWorkManager.getConnection(obtainTargetDataSource());
+    }
+}
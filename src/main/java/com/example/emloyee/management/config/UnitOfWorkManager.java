@@ -0,0 +1,222 @@
+package com.example.emloyee.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Isolation;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds one connection, and for writes one transaction, to the current thread for the length of a
+ * {@link UnitOfWork}. Every {@link UnitOfWorkDataSource} hands that connection out while the unit of work is open,
+ * so a service operation checks the pool out once and its checks and writes commit or roll back together.
+ * <p>
+ * The connection is taken lazily on first use, from the write pool or, for read-only units of work, from the read
+ * pool. Repository calls receive a proxy on which {@code close()}, {@code setAutoCommit(..)} and {@code commit()}
+ * do nothing and {@code rollback()} marks the unit of work rollback-only, so repositories that manage their own
+ * transaction join the surrounding one unchanged.
+ * <p>
+ * Side effects outside the database, such as cache and index updates, are registered with
+ * {@link #afterCommit(Runnable)}. They run once the unit of work has committed, and are dropped if it rolls back.
+ */
+@Slf4j
+public class UnitOfWorkManager {
+
+    private final ThreadLocal<Work> current = new ThreadLocal<>();
+
+    private final DataSource writePool;
+
+    private final DataSource readPool;
+
+    private final Isolation defaultIsolation;
+
+    public UnitOfWorkManager(DataSource writePool, DataSource readPool, Isolation defaultIsolation) {
+        this.writePool = writePool;
+        this.readPool = readPool;
+        this.defaultIsolation = defaultIsolation;
+    }
+
+    @FunctionalInterface
+    public interface Body<T> {
+        T run() throws Throwable;
+    }
+
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    public <T> T execute(boolean readOnly, Isolation isolation, Body<T> body) throws Throwable {
+        if (isActive()) {
+            return body.run();
+        }
+
+        Work work = new Work(readOnly, isolation == Isolation.DEFAULT ? defaultIsolation : isolation);
+        current.set(work);
+        T result;
+        try {
+            result = body.run();
+            work.complete(!work.rollbackOnly);
+        } catch (Throwable e) {
+            try {
+                work.complete(false);
+            } catch (RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        } finally {
+            current.remove();
+            work.release();
+        }
+
+        if (!work.rollbackOnly) {
+            work.runAfterCommit();
+        }
+        return result;
+    }
+
+    /**
+     * Runs {@code action} once the current unit of work commits, or right away when there is none.
+     */
+    public void afterCommit(Runnable action) {
+        Work work = current.get();
+        if (work == null) {
+            action.run();
+        } else {
+            work.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * The connection bound to the current unit of work, or a connection from {@code pool} when there is none.
+     */
+    Connection getConnection(DataSource pool) throws SQLException {
+        Work work = current.get();
+        return work != null ? work.connection() : pool.getConnection();
+    }
+
+    private final class Work implements InvocationHandler {
+
+        private final boolean readOnly;
+
+        private final Isolation isolation;
+
+        private Connection connection;
+
+        private Connection proxy;
+
+        private boolean transactional;
+
+        private boolean rollbackOnly;
+
+        private final List<Runnable> afterCommit = new ArrayList<>();
+
+        private Work(boolean readOnly, Isolation isolation) {
+            this.readOnly = readOnly;
+            this.isolation = isolation;
+        }
+
+        private Connection connection() throws SQLException {
+            if (connection != null) {
+                return proxy;
+            }
+
+            Connection acquired = (readOnly ? readPool : writePool).getConnection();
+            try {
+                if (readOnly) {
+                    acquired.setReadOnly(true);
+                }
+                if (isolation != Isolation.DEFAULT) {
+                    acquired.setTransactionIsolation(isolation.value());
+                }
+                transactional = !readOnly || isolation != Isolation.DEFAULT;
+                if (transactional) {
+                    acquired.setAutoCommit(false);
+                }
+            } catch (SQLException e) {
+                acquired.close();
+                throw e;
+            }
+
+            connection = acquired;
+            proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+            return proxy;
+        }
+
+        private void complete(boolean commit) {
+            if (connection == null || !transactional) {
+                return;
+            }
+
+            try {
+                if (commit) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void runAfterCommit() {
+            for (Runnable action : afterCommit) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.warn("After-commit action failed", e);
+                }
+            }
+        }
+
+        private void release() {
+            if (connection == null) {
+                return;
+            }
+
+            try {
+                if (transactional) {
+                    connection.setAutoCommit(true);
+                }
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Could not release unit of work connection", e);
+            }
+        }
+
+        @Override
+        public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close", "commit", "setAutoCommit":
+                    return null;
+                case "rollback":
+                    if (args == null) {
+                        rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "isClosed":
+                    return connection.isClosed();
+                case "equals":
+                    return target == args[0];
+                case "hashCode":
+                    return System.identityHashCode(target);
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
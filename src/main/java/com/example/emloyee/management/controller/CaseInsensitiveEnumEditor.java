@@ -0,0 +1,22 @@
+package com.example.emloyee.management.controller;
+
+import java.beans.PropertyEditorSupport;
+import java.util.Locale;
+
+/**
+ * Binds query parameters such as {@code sort=last_name} or {@code direction=desc} to enum constants. Unknown values
+ * fail binding, which the API reports as {@code 400}.
+ */
+class CaseInsensitiveEnumEditor<E extends Enum<E>> extends PropertyEditorSupport {
+
+    private final Class<E> type;
+
+    CaseInsensitiveEnumEditor(Class<E> type) {
+        this.type = type;
+    }
+
+    @Override
+    public void setAsText(String text) {
+        setValue(Enum.valueOf(type, text.trim().toUpperCase(Locale.ROOT)));
+    }
+}
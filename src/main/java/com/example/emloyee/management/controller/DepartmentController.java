@@ -1,36 +1,113 @@
 package com.example.emloyee.management.controller;
 
 import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.dto.DepartmentExpand;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
 import com.example.emloyee.management.service.DepartmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @RestController
 @RequestMapping("${app.endpoint.departments}")
 @RequiredArgsConstructor
 public class DepartmentController {
 
+    public static final String TEXT_CSV = "text/csv";
+
     private final DepartmentService departmentService;
 
+    @Value("${app.pagination.max-limit}")
+    private int maxLimit;
+
+    @Value("${app.pagination.expand.max-limit}")
+    private int expandMaxLimit;
+
+    @InitBinder
+    public void initBinder(WebDataBinder binder) {
+        binder.registerCustomEditor(DepartmentExpand.class, new CaseInsensitiveEnumEditor<>(DepartmentExpand.class));
+    }
+
     @GetMapping
-    public List<DepartmentDto> getAllDepartments() {
-        return departmentService.getAllDepartments();
+    public ResponseEntity<PageDto<DepartmentDto>> getAllDepartments(@RequestParam(value = "after", required = false) Integer after,
+                                                                    @RequestParam(value = "limit", defaultValue = "${app.pagination.default-limit}") Integer limit,
+                                                                    @RequestParam(value = "expand", required = false) DepartmentExpand expand,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Predicate<Map<String, Long>> current = versions -> ETags.matches(ifNoneMatch, ETags.of(versions));
+        int pageSize = Math.max(1, Math.min(limit, expand == DepartmentExpand.EMPLOYEES ? expandMaxLimit : maxLimit));
+        return ETags.respond(expand == DepartmentExpand.EMPLOYEES
+                ? departmentService.getAllDepartmentsWithEmployees(after, pageSize, current)
+                : departmentService.getAllDepartments(after, pageSize, current));
+    }
+
+    @GetMapping("{id}/employees")
+    public ResponseEntity<PageDto<EmployeeDto>> getDepartmentEmployees(@PathVariable("id") Integer id,
+                                                                       @RequestParam(value = "after", required = false) Integer after,
+                                                                       @RequestParam(value = "limit", defaultValue = "${app.pagination.default-limit}") Integer limit,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ETags.respond(departmentService.getDepartmentEmployees(id, after, Math.max(1, Math.min(limit, maxLimit)),
+                versions -> ETags.matches(ifNoneMatch, ETags.of(versions))));
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDepartments() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(departmentService::exportDepartments);
+    }
+
+    @GetMapping(value = "csv", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportDepartmentsCsv() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=departments.csv")
+                .body(departmentService::exportDepartmentsCsv);
+    }
+
+    @PostMapping(value = "csv", consumes = TEXT_CSV)
+    public ImportResultDto importDepartmentsCsv(InputStream inputStream) throws IOException {
+        return departmentService.importDepartmentsCsv(inputStream);
     }
 
     @GetMapping("{id}")
-    public DepartmentDto getDepartmentById(@PathVariable("id") Integer id) {
-        return departmentService.getDepartmentById(id);
+    public ResponseEntity<DepartmentDto> getDepartmentById(@PathVariable("id") Integer id,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = departmentService.getDepartmentVersion(id).map(version -> ETags.of(id, version));
+            if (current.isPresent() && ETags.matches(ifNoneMatch, current.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+            }
+        }
+
+        DepartmentDto departmentDto = departmentService.getDepartmentById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(id, departmentDto.getVersion()))
+                .body(departmentDto);
     }
 
     @PostMapping
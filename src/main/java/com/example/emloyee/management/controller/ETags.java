@@ -0,0 +1,50 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.service.Versioned;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags built from database versions: {@code "<id>-<row version>"} for single resources,
+ * {@code "<table>-<table version>"} for collections and one pair per table for responses that join two tables.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object key, long version) {
+        return "\"" + key + "-" + version + "\"";
+    }
+
+    static String of(Map<String, Long> versions) {
+        return versions.entrySet().stream()
+                .map(entry -> entry.getKey() + "-" + entry.getValue())
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * {@code 304} with the tag when the read was skipped because the client already holds these versions,
+     * {@code 200} with the tag and the page otherwise.
+     */
+    static <T> ResponseEntity<T> respond(Versioned<T> versioned) {
+        String eTag = of(versioned.versions());
+        if (versioned.value() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(versioned.value());
+    }
+
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+    }
+}
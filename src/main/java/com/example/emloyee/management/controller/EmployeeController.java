@@ -1,36 +1,128 @@
 package com.example.emloyee.management.controller;
 
+import com.example.emloyee.management.model.dto.BatchResultDto;
+import com.example.emloyee.management.model.dto.BatchUpdateResultDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkRequestDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkResultDto;
 import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeePatchDto;
+import com.example.emloyee.management.model.dto.EmployeeSearchHitDto;
+import com.example.emloyee.management.model.dto.EmployeeSortField;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
+import com.example.emloyee.management.model.dto.SortDirection;
+import com.example.emloyee.management.service.EmployeeBatchService;
 import com.example.emloyee.management.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("${app.endpoint.employees}")
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    public static final String TEXT_CSV = "text/csv";
+
     private final EmployeeService employeeService;
 
+    private final EmployeeBatchService employeeBatchService;
+
+    @Value("${app.pagination.max-limit}")
+    private int maxLimit;
+
+    @InitBinder
+    public void initBinder(WebDataBinder binder) {
+        binder.registerCustomEditor(EmployeeSortField.class, new CaseInsensitiveEnumEditor<>(EmployeeSortField.class));
+        binder.registerCustomEditor(SortDirection.class, new CaseInsensitiveEnumEditor<>(SortDirection.class));
+    }
+
     @GetMapping
-    public List<EmployeeDto> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<PageDto<EmployeeDto>> getAllEmployees(@RequestParam(value = "after", required = false) Integer after,
+                                                                @RequestParam(value = "limit", defaultValue = "${app.pagination.default-limit}") Integer limit,
+                                                                @RequestParam(value = "departmentId", required = false) Integer departmentId,
+                                                                @RequestParam(value = "minSalary", required = false) Double minSalary,
+                                                                @RequestParam(value = "maxSalary", required = false) Double maxSalary,
+                                                                @RequestParam(value = "name", required = false) String name,
+                                                                @RequestParam(value = "sort", defaultValue = "id") EmployeeSortField sort,
+                                                                @RequestParam(value = "direction", defaultValue = "asc") SortDirection direction,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ETags.respond(employeeService.getAllEmployees(EmployeeFilter.builder()
+                        .departmentId(departmentId)
+                        .minSalary(minSalary)
+                        .maxSalary(maxSalary)
+                        .name(name)
+                        .sort(sort)
+                        .direction(direction)
+                        .build(),
+                after, Math.max(1, Math.min(limit, maxLimit)),
+                versions -> ETags.matches(ifNoneMatch, ETags.of(versions))));
+    }
+
+    @GetMapping("search")
+    public List<EmployeeSearchHitDto> searchEmployees(@RequestParam("q") String text,
+                                                      @RequestParam(value = "limit", defaultValue = "${app.search.default-limit}") Integer limit) {
+        return employeeService.searchEmployees(text, Math.max(1, Math.min(limit, maxLimit)));
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeService::exportEmployees);
+    }
+
+    @GetMapping(value = "csv", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesCsv() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees.csv")
+                .body(employeeService::exportEmployeesCsv);
+    }
+
+    @PostMapping(value = "csv", consumes = TEXT_CSV)
+    public ImportResultDto importEmployeesCsv(InputStream inputStream) throws IOException {
+        return employeeService.importEmployeesCsv(inputStream);
     }
 
     @GetMapping("{id}")
-    public EmployeeDto getEmployeeById(@PathVariable("id") Integer id) {
-        return employeeService.getEmployeeById(id);
+    public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable("id") Integer id,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = employeeService.getEmployeeVersion(id).map(version -> ETags.of(id, version));
+            if (current.isPresent() && ETags.matches(ifNoneMatch, current.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+            }
+        }
+
+        EmployeeDto employeeDto = employeeService.getEmployeeById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(id, employeeDto.getVersion()))
+                .body(employeeDto);
     }
 
     @PostMapping
@@ -39,6 +131,21 @@ public class EmployeeController {
         return ResponseEntity.ok(addedEmployee);
     }
 
+    @PostMapping(value = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchResultDto addEmployees(InputStream inputStream) throws IOException {
+        return employeeBatchService.addEmployees(inputStream);
+    }
+
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public EmployeeBulkResultDto applyBulk(@RequestBody @Valid EmployeeBulkRequestDto request) {
+        return employeeBatchService.applyBulk(request);
+    }
+
+    @PatchMapping(value = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchUpdateResultDto updateEmployees(@RequestBody List<EmployeePatchDto> employeePatchDtos) {
+        return employeeBatchService.updateEmployees(employeePatchDtos);
+    }
+
     @PutMapping("{id}")
     public ResponseEntity<EmployeeDto> updateEmployee(@RequestBody EmployeeDto employeeDto, @PathVariable("id") Integer id) {
         EmployeeDto updatedEmployee = employeeService.updateEmployee(employeeDto, id);
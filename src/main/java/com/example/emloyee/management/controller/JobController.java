@@ -0,0 +1,43 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.model.dto.JobDto;
+import com.example.emloyee.management.model.dto.JobRequestDto;
+import com.example.emloyee.management.service.JobService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("${app.endpoint.jobs}")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+
+    @PostMapping
+    public ResponseEntity<JobDto> submitJob(@RequestBody @Valid JobRequestDto jobRequestDto) throws JsonProcessingException {
+        JobDto jobDto = jobService.submitJob(jobRequestDto);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(jobDto.getId()).toUri())
+                .body(jobDto);
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<JobDto> getJob(@PathVariable("id") Integer id) {
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity<JobDto> cancelJob(@PathVariable("id") Integer id) {
+        return ResponseEntity.ok(jobService.cancelJob(id));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.service.ReactiveDepartmentService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.listMediaType;
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.toInteger;
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.validate;
+
+@Component
+public class ReactiveDepartmentHandler {
+
+    private final ReactiveDepartmentService departmentService;
+
+    private final Validator validator;
+
+    @Value("${app.pagination.max-limit}")
+    private int maxLimit;
+
+    public ReactiveDepartmentHandler(ReactiveDepartmentService departmentService, jakarta.validation.Validator validator) {
+        this.departmentService = departmentService;
+        this.validator = new SpringValidatorAdapter(validator);
+    }
+
+    /**
+     * Without {@code limit} the whole table is streamed in id order; with it, one keyset page after {@code after}.
+     */
+    public Mono<ServerResponse> getAllDepartments(ServerRequest request) {
+        Integer after = request.queryParam("after").map(ReactiveHandlerSupport::toInteger).orElse(null);
+        Integer limit = request.queryParam("limit").map(ReactiveHandlerSupport::toInteger)
+                .map(value -> Math.max(1, Math.min(value, maxLimit)))
+                .orElse(null);
+
+        return ServerResponse.ok()
+                .contentType(listMediaType(request))
+                .body(departmentService.getAllDepartments(after, limit), DepartmentDto.class);
+    }
+
+    public Mono<ServerResponse> getDepartmentById(ServerRequest request) {
+        return departmentService.getDepartmentById(toInteger(request.pathVariable("id")))
+                .flatMap(departmentDto -> ServerResponse.ok().bodyValue(departmentDto));
+    }
+
+    public Mono<ServerResponse> addDepartment(ServerRequest request) {
+        return request.bodyToMono(DepartmentDto.class)
+                .flatMap(departmentDto -> validate(validator, departmentDto))
+                .flatMap(departmentService::addDepartment)
+                .flatMap(departmentDto -> ServerResponse.ok().bodyValue(departmentDto));
+    }
+
+    public Mono<ServerResponse> updateDepartment(ServerRequest request) {
+        Integer id = toInteger(request.pathVariable("id"));
+        return request.bodyToMono(DepartmentDto.class)
+                .flatMap(departmentDto -> departmentService.updateDepartment(departmentDto, id))
+                .flatMap(departmentDto -> ServerResponse.ok().bodyValue(departmentDto));
+    }
+
+    public Mono<ServerResponse> deleteDepartmentById(ServerRequest request) {
+        return departmentService.deleteDepartmentById(toInteger(request.pathVariable("id")))
+                .then(ServerResponse.noContent().build());
+    }
+}
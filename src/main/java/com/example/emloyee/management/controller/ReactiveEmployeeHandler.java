@@ -0,0 +1,69 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.listMediaType;
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.toInteger;
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.validate;
+
+@Component
+public class ReactiveEmployeeHandler {
+
+    private final ReactiveEmployeeService employeeService;
+
+    private final Validator validator;
+
+    @Value("${app.pagination.max-limit}")
+    private int maxLimit;
+
+    public ReactiveEmployeeHandler(ReactiveEmployeeService employeeService, jakarta.validation.Validator validator) {
+        this.employeeService = employeeService;
+        this.validator = new SpringValidatorAdapter(validator);
+    }
+
+    /**
+     * Without {@code limit} the whole table is streamed in id order; with it, one keyset page after {@code after}.
+     */
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        Integer after = request.queryParam("after").map(ReactiveHandlerSupport::toInteger).orElse(null);
+        Integer limit = request.queryParam("limit").map(ReactiveHandlerSupport::toInteger)
+                .map(value -> Math.max(1, Math.min(value, maxLimit)))
+                .orElse(null);
+
+        return ServerResponse.ok()
+                .contentType(listMediaType(request))
+                .body(employeeService.getAllEmployees(after, limit), EmployeeDto.class);
+    }
+
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+        return employeeService.getEmployeeById(toInteger(request.pathVariable("id")))
+                .flatMap(employeeDto -> ServerResponse.ok().bodyValue(employeeDto));
+    }
+
+    public Mono<ServerResponse> addEmployee(ServerRequest request) {
+        return request.bodyToMono(EmployeeDto.class)
+                .flatMap(employeeDto -> validate(validator, employeeDto))
+                .flatMap(employeeService::addEmployee)
+                .flatMap(employeeDto -> ServerResponse.ok().bodyValue(employeeDto));
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        Integer id = toInteger(request.pathVariable("id"));
+        return request.bodyToMono(EmployeeDto.class)
+                .flatMap(employeeDto -> employeeService.updateEmployee(employeeDto, id))
+                .flatMap(employeeDto -> ServerResponse.ok().bodyValue(employeeDto));
+    }
+
+    public Mono<ServerResponse> deleteEmployeeById(ServerRequest request) {
+        return employeeService.deleteEmployeeById(toInteger(request.pathVariable("id")))
+                .then(ServerResponse.noContent().build());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.exception.ApiExceptionHandler;
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.exception.ErrorResponse;
+import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.codec.CodecException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Request parsing and error rendering shared by the reactive handlers. Errors use the same {@link ErrorResponse}
+ * body and statuses as {@link ApiExceptionHandler}.
+ */
+public final class ReactiveHandlerSupport {
+
+    static final String TYPE_MISMATCH = "Failed to convert value of type 'java.lang.String' to required type 'java.lang.Integer'; For input string: \"%s\"";
+
+    private ReactiveHandlerSupport() {
+    }
+
+    static Integer toInteger(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException(TYPE_MISMATCH.formatted(value));
+        }
+    }
+
+    static MediaType listMediaType(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
+
+    static <T> Mono<T> validate(Validator validator, T body) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(body, body.getClass().getSimpleName());
+        validator.validate(body, errors);
+        return errors.hasErrors() ? Mono.error(new BindException(errors)) : Mono.just(body);
+    }
+
+    /**
+     * Renders errors from {@code routes} as {@link ErrorResponse}s, including exceptions thrown before a handler
+     * returned its publisher.
+     */
+    public static RouterFunction<ServerResponse> withErrorHandling(RouterFunction<ServerResponse> routes) {
+        return routes
+                .filter((request, next) -> Mono.defer(() -> next.handle(request)))
+                .filter((request, next) -> next.handle(request).onErrorResume(error -> render(error, request)));
+    }
+
+    static Mono<ServerResponse> render(Throwable error, ServerRequest request) {
+        if (error instanceof ResourceNotFoundException) {
+            return render(NOT_FOUND, error.getMessage(), request);
+        }
+        if (error instanceof DuplicateResourceException) {
+            return render(CONFLICT, error.getMessage(), request);
+        }
+        if (error instanceof NoUpdateException) {
+            return render(BAD_REQUEST, error.getMessage(), request);
+        }
+        if (error instanceof BindException bindException) {
+            return render(BAD_REQUEST, ApiExceptionHandler.makeErrorMessage(bindException.getFieldErrors()), request);
+        }
+        if (error instanceof ServerWebInputException inputException) {
+            return render(BAD_REQUEST, inputException.getReason(), request);
+        }
+        if (error instanceof CodecException || error instanceof DataIntegrityViolationException
+                || error instanceof ConstraintViolationException) {
+            return render(BAD_REQUEST, error.getMessage(), request);
+        }
+        return Mono.error(error);
+    }
+
+    private static Mono<ServerResponse> render(HttpStatus status, String message, ServerRequest request) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(LocalDateTime.now(), message, status, request.path()));
+    }
+}
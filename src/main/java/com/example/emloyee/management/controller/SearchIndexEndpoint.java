@@ -0,0 +1,37 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.service.EmployeeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/searchindex} reports the index size; {@code POST} rebuilds it from the tables.
+ */
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "documents", employeeSearchIndex.documents(),
+                "size_bytes", employeeSearchIndex.sizeBytes());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        int indexed = employeeSearchIndex.rebuild();
+        return Map.of(
+                "indexed", indexed,
+                "documents", employeeSearchIndex.documents(),
+                "size_bytes", employeeSearchIndex.sizeBytes());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.config.SqlStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/sqlstats} lists statements by total execution time, optionally only the first {@code limit};
+ * {@code DELETE} resets the statistics.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatisticsEndpoint {
+
+    private final SqlStatistics sqlStatistics;
+
+    @ReadOperation
+    public Map<String, Object> statements(@Nullable Integer limit) {
+        List<SqlStatistics.Statement> statements = sqlStatistics.statements();
+        if (limit != null && limit < statements.size()) {
+            statements = statements.subList(0, Math.max(limit, 0));
+        }
+        return Map.of(
+                "since", sqlStatistics.since(),
+                "statements", statements);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> reset() {
+        sqlStatistics.reset();
+        return Map.of("since", sqlStatistics.since());
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.emloyee.management.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
 import org.postgresql.util.PSQLException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -56,6 +58,13 @@ public class ApiExceptionHandler {
                 .body(new ErrorResponse(LocalDateTime.now(), exception.getMessage(), BAD_REQUEST, request.getServletPath()));
     }
 
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<ErrorResponse> onJsonProcessing(HttpServletRequest request,
+                                                          JsonProcessingException exception) {
+        return ResponseEntity.status(BAD_REQUEST)
+                .body(new ErrorResponse(LocalDateTime.now(), exception.getOriginalMessage(), BAD_REQUEST, request.getServletPath()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> onMethodArgumentNotValid(HttpServletRequest request,
                                                                   MethodArgumentNotValidException exception) {
@@ -66,6 +75,13 @@ public class ApiExceptionHandler {
                 .body(new ErrorResponse(LocalDateTime.now(), message, BAD_REQUEST, request.getServletPath()));
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> onConstraintViolation(HttpServletRequest request,
+                                                               ConstraintViolationException exception) {
+        return ResponseEntity.status(BAD_REQUEST)
+                .body(new ErrorResponse(LocalDateTime.now(), exception.getMessage(), BAD_REQUEST, request.getServletPath()));
+    }
+
     @ExceptionHandler(PSQLException.class)
     public ResponseEntity<ErrorResponse> onPSQLException(HttpServletRequest request,
                                                          PSQLException exception) {
@@ -74,7 +90,7 @@ public class ApiExceptionHandler {
                 .body(new ErrorResponse(LocalDateTime.now(), exception.getMessage(), BAD_REQUEST, request.getServletPath()));
     }
 
-    private String makeErrorMessage(List<FieldError> fieldErrors) {
+    public static String makeErrorMessage(List<FieldError> fieldErrors) {
         StringBuilder builder = new StringBuilder();
         for (FieldError error : fieldErrors) {
             builder.append("Field: ").append(error.getField())
@@ -0,0 +1,86 @@
+package com.example.emloyee.management.index;
+
+/**
+ * Open-addressing set of 64-bit hashes with linear probing, stored in a single {@code long[]}. Zero marks an
+ * empty slot, so a hash of zero is stored as one; the set therefore answers for hashes, not exact values.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+
+    private int size;
+
+    public LongHashSet(int expectedSize) {
+        table = new long[capacityFor(expectedSize)];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long normalize(long hash) {
+        return hash == 0 ? 1 : hash;
+    }
+
+    public boolean add(long hash) {
+        if ((size + 1) * 2 > table.length) {
+            resize();
+        }
+
+        long value = normalize(hash);
+        int mask = table.length - 1;
+        int slot = (int) (value ^ (value >>> 32)) & mask;
+
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = value;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long hash) {
+        long value = normalize(hash);
+        int mask = table.length - 1;
+        int slot = (int) (value ^ (value >>> 32)) & mask;
+
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        size = 0;
+
+        for (long value : old) {
+            if (value != 0) {
+                add(value);
+            }
+        }
+    }
+}
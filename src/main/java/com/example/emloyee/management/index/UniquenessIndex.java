@@ -0,0 +1,55 @@
+package com.example.emloyee.management.index;
+
+/**
+ * Probe structure for one unique column: a set of 64-bit value hashes. A miss means the value is definitely absent;
+ * a hit only means it may exist and must be confirmed against the database. Values are only ever added,
+ * so deleted or changed values linger as false positives until the index is rebuilt.
+ */
+public class UniquenessIndex {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final LongHashSet hashes;
+
+    public UniquenessIndex(int expectedSize) {
+        this.hashes = new LongHashSet(expectedSize);
+    }
+
+    static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public synchronized void add(String value) {
+        if (value == null) {
+            return;
+        }
+
+        hashes.add(hash(value));
+    }
+
+    public synchronized boolean mightContain(String value) {
+        if (value == null) {
+            return false;
+        }
+
+        return hashes.contains(hash(value));
+    }
+
+    public synchronized int size() {
+        return hashes.size();
+    }
+
+    public synchronized long memoryBytes() {
+        return hashes.memoryBytes();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.emloyee.management.mapper;
+
+import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.entity.Department;
+import org.springframework.stereotype.Component;
+
+import static com.example.emloyee.management.mapper.EmployeeMapper.NULL_SOURCE;
+
+@Component
+public class DepartmentMapper {
+
+    public DepartmentDto toDto(Department department) {
+        if (department == null) {
+            throw new IllegalArgumentException(NULL_SOURCE);
+        }
+
+        DepartmentDto departmentDto = new DepartmentDto();
+        departmentDto.setId(department.getId());
+        departmentDto.setName(department.getName());
+        departmentDto.setLocation(department.getLocation());
+        departmentDto.setVersion(department.getVersion());
+        return departmentDto;
+    }
+
+    public Department toEntity(DepartmentDto departmentDto) {
+        if (departmentDto == null) {
+            throw new IllegalArgumentException(NULL_SOURCE);
+        }
+
+        Department department = new Department();
+        department.setId(departmentDto.getId());
+        department.setName(departmentDto.getName());
+        department.setLocation(departmentDto.getLocation());
+        department.setVersion(departmentDto.getVersion());
+        return department;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.emloyee.management.mapper;
+
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeePatchDto;
+import com.example.emloyee.management.model.entity.Employee;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeMapper {
+
+    public static final String NULL_SOURCE = "source cannot be null";
+
+    public EmployeeDto toDto(Employee employee) {
+        if (employee == null) {
+            throw new IllegalArgumentException(NULL_SOURCE);
+        }
+
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(employee.getId());
+        employeeDto.setFirstName(employee.getFirstName());
+        employeeDto.setLastName(employee.getLastName());
+        employeeDto.setDepartmentId(employee.getDepartmentId());
+        employeeDto.setEmail(employee.getEmail());
+        employeeDto.setPhoneNumber(employee.getPhoneNumber());
+        employeeDto.setSalary(employee.getSalary());
+        employeeDto.setVersion(employee.getVersion());
+        return employeeDto;
+    }
+
+    public Employee toEntity(EmployeeDto employeeDto) {
+        if (employeeDto == null) {
+            throw new IllegalArgumentException(NULL_SOURCE);
+        }
+
+        Employee employee = new Employee();
+        employee.setId(employeeDto.getId());
+        employee.setFirstName(employeeDto.getFirstName());
+        employee.setLastName(employeeDto.getLastName());
+        employee.setDepartmentId(employeeDto.getDepartmentId());
+        employee.setEmail(employeeDto.getEmail());
+        employee.setPhoneNumber(employeeDto.getPhoneNumber());
+        employee.setSalary(employeeDto.getSalary());
+        employee.setVersion(employeeDto.getVersion());
+        return employee;
+    }
+
+    public Employee fromPatch(EmployeePatchDto employeePatchDto) {
+        if (employeePatchDto == null) {
+            throw new IllegalArgumentException(NULL_SOURCE);
+        }
+
+        Employee employee = new Employee();
+        employee.setId(employeePatchDto.getId());
+        employee.setFirstName(employeePatchDto.getFirstName());
+        employee.setLastName(employeePatchDto.getLastName());
+        employee.setDepartmentId(employeePatchDto.getDepartmentId());
+        employee.setEmail(employeePatchDto.getEmail());
+        employee.setPhoneNumber(employeePatchDto.getPhoneNumber());
+        employee.setSalary(employeePatchDto.getSalary());
+        return employee;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.emloyee.management.model.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,31 @@
+package com.example.emloyee.management.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDto {
+
+    private long created;
+
+    private long duplicates;
+
+    private long invalid;
+
+    private long failed;
+
+    private List<BatchItemResultDto> items;
+}
@@ -1,5 +1,8 @@
 package com.example.emloyee.management.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +14,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.List;
+
 @Getter
 @Setter
 @ToString
@@ -20,6 +25,9 @@ import lombok.ToString;
 @Builder
 public class DepartmentDto {
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer id;
+
     @NotNull(message = "Department name must not be null")
     @NotEmpty(message = "Department name must not be empty")
     @NotBlank(message = "Department name must not be blank")
@@ -29,4 +37,16 @@ public class DepartmentDto {
     @NotEmpty(message = "Location name must not be empty")
     @NotBlank(message = "Location name must not be blank")
     private String location;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<EmployeeDto> employees;
+
+    @JsonProperty(value = "employees_next", access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer employeesNext;
 }
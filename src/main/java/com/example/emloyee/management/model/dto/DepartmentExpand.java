@@ -0,0 +1,5 @@
+package com.example.emloyee.management.model.dto;
+
+public enum DepartmentExpand {
+    EMPLOYEES
+}
@@ -0,0 +1,42 @@
+package com.example.emloyee.management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Selects the employees a bulk operation applies to. Criteria are combined with {@code AND}.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeBulkFilterDto {
+
+    private List<Integer> ids;
+
+    @JsonProperty("department_id")
+    private Integer departmentId;
+
+    @JsonProperty("min_salary")
+    private Double minSalary;
+
+    @JsonProperty("max_salary")
+    private Double maxSalary;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return ids == null && departmentId == null && minSalary == null && maxSalary == null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.emloyee.management.model.dto;
+
+public enum EmployeeBulkOperation {
+    ADJUST_SALARY_PERCENT,
+    ADJUST_SALARY,
+    REASSIGN,
+    DELETE
+}
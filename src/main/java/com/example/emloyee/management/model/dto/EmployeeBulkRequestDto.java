@@ -0,0 +1,38 @@
+package com.example.emloyee.management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A set-based change to every employee matching {@code filter}. {@code value} is the percentage or amount added to
+ * the salary for the salary operations; {@code department_id} is the target of {@code REASSIGN}.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeBulkRequestDto {
+
+    @NotNull(message = "Operation must not be null")
+    private EmployeeBulkOperation operation;
+
+    @Valid
+    @NotNull(message = "Filter must not be null")
+    private EmployeeBulkFilterDto filter;
+
+    private Double value;
+
+    @JsonProperty("department_id")
+    private Integer departmentId;
+}
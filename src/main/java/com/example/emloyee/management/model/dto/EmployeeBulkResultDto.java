@@ -0,0 +1,23 @@
+package com.example.emloyee.management.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeBulkResultDto {
+
+    private EmployeeBulkOperation operation;
+
+    private long affected;
+}
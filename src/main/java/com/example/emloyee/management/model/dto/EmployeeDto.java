@@ -1,5 +1,6 @@
 package com.example.emloyee.management.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Min;
@@ -24,6 +25,9 @@ import lombok.ToString;
 @Builder
 public class EmployeeDto {
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer id;
+
     @NotNull(message = "First name must not be null")
     @NotEmpty(message = "First name must not be empty")
     @NotBlank(message = "First name must not be blank")
@@ -54,4 +58,8 @@ public class EmployeeDto {
 
     @Min(value = 1, message = "Salary must be equal or greater than 1.0")
     private Double salary;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -0,0 +1,41 @@
+package com.example.emloyee.management.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Criteria for employee listings and bulk changes. Every criterion is optional; {@code name} matches the start of the
+ * first or last name, ignoring case.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeFilter {
+
+    private List<Integer> ids;
+
+    private Integer departmentId;
+
+    private Double minSalary;
+
+    private Double maxSalary;
+
+    private String name;
+
+    @Builder.Default
+    private EmployeeSortField sort = EmployeeSortField.ID;
+
+    @Builder.Default
+    private SortDirection direction = SortDirection.ASC;
+}
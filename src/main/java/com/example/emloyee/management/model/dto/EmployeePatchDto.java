@@ -0,0 +1,52 @@
+package com.example.emloyee.management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One entry of a batched partial update: the employee id plus the fields to change. Absent fields are left as they
+ * are, so only the constraints of the fields that are present apply.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeePatchDto {
+
+    @NotNull(message = "Id must not be null")
+    private Integer id;
+
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    @JsonProperty("first_name")
+    private String firstName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    @JsonProperty("last_name")
+    private String lastName;
+
+    @JsonProperty("department_id")
+    private Integer departmentId;
+
+    @Email
+    private String email;
+
+    @JsonProperty("phone_number")
+    @Pattern(regexp = "\\d{9}", message = "Invalid phone number")
+    private String phoneNumber;
+
+    @Min(value = 1, message = "Salary must be equal or greater than 1.0")
+    private Double salary;
+}
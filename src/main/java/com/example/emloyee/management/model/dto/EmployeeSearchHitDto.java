@@ -0,0 +1,46 @@
+package com.example.emloyee.management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeSearchHitDto {
+
+    private Integer id;
+
+    @JsonProperty("first_name")
+    private String firstName;
+
+    @JsonProperty("last_name")
+    private String lastName;
+
+    private String email;
+
+    @JsonProperty("phone_number")
+    private String phoneNumber;
+
+    @JsonProperty("department_id")
+    private Integer departmentId;
+
+    @JsonProperty("department_name")
+    private String departmentName;
+
+    @JsonProperty("department_location")
+    private String departmentLocation;
+
+    private float score;
+}
@@ -0,0 +1,8 @@
+package com.example.emloyee.management.model.dto;
+
+public enum EmployeeSortField {
+    ID,
+    FIRST_NAME,
+    LAST_NAME,
+    SALARY
+}
@@ -0,0 +1,53 @@
+package com.example.emloyee.management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobDto {
+
+    private Integer id;
+
+    private JobType type;
+
+    private JobStatus status;
+
+    private long total;
+
+    private long processed;
+
+    private long failed;
+
+    @JsonProperty("rows_per_second")
+    private Double rowsPerSecond;
+
+    @JsonProperty("eta_seconds")
+    private Long etaSeconds;
+
+    private String error;
+
+    @JsonProperty("created_at")
+    private Instant createdAt;
+
+    @JsonProperty("started_at")
+    private Instant startedAt;
+
+    @JsonProperty("finished_at")
+    private Instant finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.example.emloyee.management.model.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JobRequestDto {
+
+    @NotNull(message = "Job type must not be null")
+    private JobType type;
+
+    @NotNull(message = "Job parameters must not be null")
+    private JsonNode parameters;
+}
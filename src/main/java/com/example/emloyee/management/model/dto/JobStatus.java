@@ -0,0 +1,9 @@
+package com.example.emloyee.management.model.dto;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
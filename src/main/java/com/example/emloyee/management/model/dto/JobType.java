@@ -0,0 +1,7 @@
+package com.example.emloyee.management.model.dto;
+
+public enum JobType {
+    EMPLOYEE_IMPORT,
+    EMPLOYEE_UPDATE,
+    DEPARTMENT_UPDATE
+}
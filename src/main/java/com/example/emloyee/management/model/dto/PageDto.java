@@ -0,0 +1,38 @@
+package com.example.emloyee.management.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PageDto<T> {
+
+    private List<T> content;
+
+    private Integer next;
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}: the extra row only signals that
+     * another page exists, and the id of the last returned row becomes the {@code next} cursor.
+     */
+    public static <E, T> PageDto<T> of(List<E> rows, int limit, Function<E, Integer> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        Integer next = hasNext ? id.apply(page.get(page.size() - 1)) : null;
+
+        return new PageDto<>(page.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.emloyee.management.model.dto;
+
+public enum SortDirection {
+    ASC,
+    DESC
+}
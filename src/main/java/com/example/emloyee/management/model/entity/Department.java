@@ -22,4 +22,6 @@ public class Department {
     private String name;
 
     private String location;
+
+    private Long version;
 }
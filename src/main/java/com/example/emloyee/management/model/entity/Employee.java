@@ -30,4 +30,6 @@ public class Employee {
     private String phoneNumber;
 
     private Double salary;
+
+    private Long version;
 }
@@ -0,0 +1,56 @@
+package com.example.emloyee.management.model.entity;
+
+import com.example.emloyee.management.model.dto.JobStatus;
+import com.example.emloyee.management.model.dto.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Job {
+
+    private Integer id;
+
+    private JobType type;
+
+    private JobStatus status;
+
+    @ToString.Exclude
+    private String parameters;
+
+    private long total;
+
+    private long processed;
+
+    private long failed;
+
+    /**
+     * Where the next chunk starts: an item index for imports, the last visited id for updates.
+     */
+    private long position;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    /**
+     * {@link #processed} when the current run started, so throughput only covers rows processed since a resume.
+     */
+    private long startedProcessed;
+
+    private Instant finishedAt;
+}
@@ -1,68 +1,309 @@
 package com.example.emloyee.management.repository;
 
+import com.example.emloyee.management.config.CachingConfig;
 import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.model.dto.ImportResultDto;
 import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
 import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Repository
+@CacheConfig(cacheNames = CachingConfig.DEPARTMENTS)
 @RequiredArgsConstructor
 public class DepartmentRepository implements GenericRepository<Department, Integer> {
 
+    private static final String COPY_OUT = "COPY (SELECT id, name, location FROM departments ORDER BY id) " +
+            "TO STDOUT WITH (FORMAT csv, HEADER)";
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE departments_staging " +
+            "(id INT, name VARCHAR, location VARCHAR) ON COMMIT DROP";
+
+    private static final String COPY_IN = "COPY departments_staging (id, name, location) " +
+            "FROM STDIN WITH (FORMAT csv, HEADER)";
+
+    private static final String MERGE_UPDATE = "UPDATE departments SET name = s.name, location = s.location " +
+            "FROM departments_staging s WHERE departments.id = s.id";
+
+    private static final String MERGE_INSERT = "INSERT INTO departments(name, location) " +
+            "SELECT s.name, s.location FROM departments_staging s " +
+            "WHERE s.id IS NULL";
+
+    private static final String UNKNOWN_IDS = "SELECT s.id FROM departments_staging s " +
+            "WHERE s.id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM departments t WHERE t.id = s.id) ORDER BY s.id";
+
+    static final String[] COLUMNS = {"name", "location"};
+
+    static final String NO_UPDATES = "No updates for department with id = [%d]";
+
+    static final EntityRowMapper<Department> ROW_MAPPER = EntityRowMapper.builder(Department::new)
+            .column("id", EntityRowMapper.INTEGER, Department::setId)
+            .column("name", EntityRowMapper.STRING, Department::setName)
+            .column("location", EntityRowMapper.STRING, Department::setLocation)
+            .column("version", EntityRowMapper.LONG, Department::setVersion)
+            .build();
+
+    private static final String SELECT = "SELECT " + ROW_MAPPER.columns() + " FROM departments";
+
+    static final UpdateTemplates UPDATES = new UpdateTemplates("departments", COLUMNS, ROW_MAPPER.columns());
+
     private final DataSource dataSource;
 
-    private static void createQuery(Department department, StringBuilder query, List<String> parameters) {
-        if (department.getName() != null) {
-            query.append("name = ?, ");
-            parameters.add(department.getName());
+    @Qualifier("readDataSource")
+    private final DataSource readDataSource;
+
+    @Qualifier("bulkDataSource")
+    private final DataSource bulkDataSource;
+
+    private static Object[] values(Department department) {
+        return new Object[]{department.getName(), department.getLocation()};
+    }
+
+    private static boolean existsById(Connection connection, Integer id) throws SQLException {
+        final String query = "SELECT EXISTS (SELECT 1 FROM departments WHERE id = ?)";
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    @Override
+    public List<Department> findAll() {
+        try (Connection connection = readDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT)) {
+
+            return ROW_MAPPER.list(resultSet);
+
+        } catch (SQLException e) {
+            return new ArrayList<>();
         }
+    }
 
-        if (department.getLocation() != null) {
-            query.append("location = ?, ");
-            parameters.add(department.getLocation());
+    @Override
+    public List<Department> findAll(Integer after, int limit) {
+        final String query = SELECT + " WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, after == null ? 0 : after);
+            statement.setInt(2, limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return ROW_MAPPER.list(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
+    }
+
+    public List<Department> findAllByLocation(String location, Integer after, int limit) {
+        final String query = SELECT + " WHERE location = ? AND id > ? ORDER BY id LIMIT ?";
 
-        query.delete(query.length() - 2, query.length());
-        query.append(" WHERE id = ?");
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, location);
+            statement.setInt(2, after == null ? 0 : after);
+            statement.setInt(3, limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return ROW_MAPPER.list(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
-    public List<Department> findAll() {
-        final String query = "SELECT * FROM departments";
-        List<Department> departments = new ArrayList<>();
+    public void streamAll(int fetchSize, Consumer<Department> consumer) {
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.setAutoCommit(false);
 
-        try (Connection connection = dataSource.getConnection();
+            try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                statement.setFetchSize(fetchSize);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    ROW_MAPPER.forEach(resultSet, consumer);
+                }
+                connection.commit();
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Pages departments like {@link #findAll(Integer, int)} and hands each one to {@code consumer} together with
+     * its first {@code employeeLimit} employees, ordered by id. One {@code LEFT JOIN LATERAL} returns the whole page;
+     * rows arrive ordered by department, so each group is complete when the department id changes.
+     */
+    public void findAllWithEmployees(Integer after, int limit, int employeeLimit,
+                                     BiConsumer<Department, List<Employee>> consumer) {
+        final String query = "SELECT " + ROW_MAPPER.columns("d") + ", " + EmployeeRepository.ROW_MAPPER.columns("e") +
+                " FROM (" + SELECT + " WHERE id > ? ORDER BY id LIMIT ?) d" +
+                " LEFT JOIN LATERAL (SELECT " + EmployeeRepository.ROW_MAPPER.columns() +
+                " FROM employees WHERE department_id = d.id ORDER BY id LIMIT ?) e ON true ORDER BY d.id, e.id";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, after == null ? 0 : after);
+            statement.setInt(2, limit);
+            statement.setInt(3, employeeLimit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Department department = null;
+                List<Employee> employees = new ArrayList<>();
+
+                while (resultSet.next()) {
+                    if (department == null || department.getId() != resultSet.getInt(1)) {
+                        if (department != null) {
+                            consumer.accept(department, employees);
+                            employees = new ArrayList<>();
+                        }
+                        department = ROW_MAPPER.mapRow(resultSet);
+                    }
+
+                    if (EntityRowMapper.INTEGER.read(resultSet, ROW_MAPPER.size() + 1) != null) {
+                        employees.add(EmployeeRepository.ROW_MAPPER.mapRow(resultSet, ROW_MAPPER.size()));
+                    }
+                }
+
+                if (department != null) {
+                    consumer.accept(department, employees);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A page of the department's employees ordered by id, or empty when the department does not exist. The
+     * department row is joined in so that both answers take one query.
+     */
+    public Optional<List<Employee>> findEmployees(Integer id, Integer after, int limit) {
+        final String query = "SELECT d.id, " + EmployeeRepository.ROW_MAPPER.columns("e") +
+                " FROM departments d LEFT JOIN employees e ON e.department_id = d.id AND e.id > ?" +
+                " WHERE d.id = ? ORDER BY e.id LIMIT ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, after == null ? 0 : after);
+            statement.setInt(2, id);
+            statement.setInt(3, limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+
+                List<Employee> employees = new ArrayList<>();
+                if (EntityRowMapper.INTEGER.read(resultSet, 2) != null) {
+                    do {
+                        employees.add(EmployeeRepository.ROW_MAPPER.mapRow(resultSet, 1));
+                    } while (resultSet.next());
+                }
+                return Optional.of(employees);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public int count() {
+        final String query = "SELECT count(*) FROM departments";
+
+        try (Connection connection = readDataSource.getConnection();
              Statement statement = connection.createStatement();
              ResultSet resultSet = statement.executeQuery(query)) {
 
-            while (resultSet.next()) {
-                departments.add(Department.builder()
-                        .id(resultSet.getInt("id"))
-                        .name(resultSet.getString("name"))
-                        .location(resultSet.getString("location"))
-                        .build());
-            }
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public int countByLocation(String location) {
+        final String query = "SELECT count(*) FROM departments WHERE location = ?";
 
-            return departments;
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, location);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
 
         } catch (SQLException e) {
-            return departments;
+            throw new RuntimeException(e);
         }
     }
 
     @Override
+    @Cacheable(key = "#id", condition = CachingConfig.UNLESS_PINNED, unless = CachingConfig.UNLESS_REPLICA)
     public Optional<Department> findById(Integer id) {
-        final String query = "SELECT * FROM departments WHERE id = ?";
+        final String query = SELECT + " WHERE id = ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setInt(1, id);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return ROW_MAPPER.first(resultSet);
+            }
+
+        } catch (SQLException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the row from the primary and locks it until the surrounding
+     * {@link com.example.emloyee.management.config.UnitOfWork} ends.
+     */
+    public Optional<Department> findByIdForUpdate(Integer id) {
+        final String query = SELECT + " WHERE id = ? FOR UPDATE";
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
@@ -70,15 +311,26 @@ public class DepartmentRepository implements GenericRepository<Department, Integ
             statement.setInt(1, id);
 
             try (ResultSet resultSet = statement.executeQuery()) {
+                return ROW_MAPPER.first(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Optional<Long> findVersionById(Integer id) {
+        final String query = "SELECT version FROM departments WHERE id = ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    return Optional.of(Department.builder()
-                            .id(id)
-                            .name(resultSet.getString("name"))
-                            .location(resultSet.getString("location"))
-                            .build());
+                    return Optional.of(resultSet.getLong(1));
                 }
                 return Optional.empty();
-
             }
 
         } catch (SQLException e) {
@@ -86,7 +338,33 @@ public class DepartmentRepository implements GenericRepository<Department, Integ
         }
     }
 
+    public Set<Integer> findExistingIds(Collection<Integer> ids) {
+        final String query = "SELECT id FROM departments WHERE id = ANY(?)";
+        Set<Integer> existing = new HashSet<>();
+
+        if (ids.isEmpty()) {
+            return existing;
+        }
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setArray(1, connection.createArrayOf("integer", ids.toArray()));
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    existing.add(resultSet.getInt(1));
+                }
+            }
+
+            return existing;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
+    @CacheEvict(key = "#department.id", condition = "#department.id != null")
     public void save(Department department) {
         final String query = "INSERT INTO departments(name, location) VALUES (?, ?)";
 
@@ -98,11 +376,12 @@ public class DepartmentRepository implements GenericRepository<Department, Integ
             preparedStatement.execute();
 
         } catch (SQLException e) {
-            throw new RuntimeException(e);
+            throw SqlErrors.translate(e);
         }
     }
 
     @Override
+    @CacheEvict(key = "#id")
     public void deleteById(Integer id) {
         final String query = "DELETE FROM departments WHERE id = ?";
 
@@ -118,28 +397,127 @@ public class DepartmentRepository implements GenericRepository<Department, Integ
     }
 
     @Override
+    @CacheEvict(key = "#id")
     public void update(Department department, Integer id) {
-        StringBuilder query = new StringBuilder("UPDATE departments SET ");
-        List<String> parameters = new ArrayList<>();
+        Object[] values = values(department);
+        int mask = UpdateTemplates.mask(values);
 
-        createQuery(department, query, parameters);
+        if (mask == 0) {
+            throw new NoUpdateException("No update for department with id = [%d]".formatted(id));
+        }
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATES.update(mask))) {
+
+            int index = UpdateTemplates.bind(preparedStatement, values, 1);
+            preparedStatement.setInt(index, id);
+            preparedStatement.executeUpdate();
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
+
+    @CachePut(key = "#result.id")
+    public Department insert(Department department) {
+        final String query = "INSERT INTO departments(name, location) VALUES (?, ?) RETURNING " + ROW_MAPPER.columns();
 
-            for (int i = 0; i < parameters.size(); i++) {
-                preparedStatement.setString(i + 1, parameters.get(i));
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, department.getName());
+            preparedStatement.setString(2, department.getLocation());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return ROW_MAPPER.mapRow(resultSet);
             }
 
-            preparedStatement.setInt(parameters.size() + 1, id);
-            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
+
+    /**
+     * Updates the non-null fields of {@code department} and returns the new row in one statement. The row is only
+     * written when a field actually changes; an empty result means the id does not exist.
+     */
+    @CachePut(key = "#id", unless = "#result == null")
+    public Optional<Department> updateReturning(Department department, Integer id) {
+        Object[] values = values(department);
+        int mask = UpdateTemplates.mask(values);
+
+        if (mask == 0) {
+            throw new NoUpdateException(NO_UPDATES.formatted(id));
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(UPDATES.updateIfChanged(mask))) {
+                int index = UpdateTemplates.bind(preparedStatement, values, 1);
+                preparedStatement.setInt(index, id);
+                UpdateTemplates.bind(preparedStatement, values, index + 1);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    Optional<Department> updated = ROW_MAPPER.first(resultSet);
+                    if (updated.isPresent()) {
+                        return updated;
+                    }
+                }
+            }
+
+            if (existsById(connection, id)) {
+                throw new NoUpdateException(NO_UPDATES.formatted(id));
+            }
+
+            return Optional.empty();
 
         } catch (SQLException e) {
-            throw new NoUpdateException("No update for department with id = [%d]".formatted(id));
+            throw SqlErrors.translate(e);
+        }
+    }
+
+    public void copyOut(OutputStream outputStream) throws IOException {
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_OUT, outputStream);
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @CacheEvict(allEntries = true)
+    public ImportResultDto copyIn(InputStream inputStream) throws IOException {
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+                long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_IN, inputStream);
+                List<Integer> notFound = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery(UNKNOWN_IDS)) {
+                    while (resultSet.next()) {
+                        notFound.add(resultSet.getInt(1));
+                    }
+                }
+                int updated = statement.executeUpdate(MERGE_UPDATE);
+                int inserted = statement.executeUpdate(MERGE_INSERT);
+                connection.commit();
+
+                return new ImportResultDto(rows, inserted, updated, notFound);
+
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
         }
     }
 
     @Override
+    @CacheEvict(allEntries = true)
     public void deleteAll() {
         final String query = "DELETE FROM departments";
 
@@ -1,126 +1,500 @@
 package com.example.emloyee.management.repository;
 
+import com.example.emloyee.management.config.CachingConfig;
 import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeeSortField;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.SortDirection;
 import com.example.emloyee.management.model.entity.Employee;
+import jakarta.validation.ConstraintViolationException;
+import org.postgresql.PGConnection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Repository
+@CacheConfig(cacheNames = CachingConfig.EMPLOYEES)
 public class EmployeeRepository implements GenericRepository<Employee, Integer> {
 
+    private static final String COPY_OUT = "COPY (SELECT id, first_name, last_name, department_id, email, phone_number, salary FROM employees ORDER BY id) " +
+            "TO STDOUT WITH (FORMAT csv, HEADER)";
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE employees_staging " +
+            "(id INT, first_name VARCHAR, last_name VARCHAR, department_id INT, email VARCHAR, phone_number VARCHAR, salary DOUBLE PRECISION) ON COMMIT DROP";
+
+    private static final String COPY_IN = "COPY employees_staging (id, first_name, last_name, department_id, email, phone_number, salary) " +
+            "FROM STDIN WITH (FORMAT csv, HEADER)";
+
+    private static final String MERGE_UPDATE = "UPDATE employees SET first_name = s.first_name, last_name = s.last_name, department_id = s.department_id, email = s.email, phone_number = s.phone_number, salary = s.salary " +
+            "FROM employees_staging s WHERE employees.id = s.id";
+
+    private static final String MERGE_INSERT = "INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary) " +
+            "SELECT s.first_name, s.last_name, s.department_id, s.email, s.phone_number, s.salary FROM employees_staging s " +
+            "WHERE s.id IS NULL";
+
+    private static final String UNKNOWN_IDS = "SELECT s.id FROM employees_staging s " +
+            "WHERE s.id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM employees t WHERE t.id = s.id) ORDER BY s.id";
+
+    static final String[] COLUMNS = {
+            "first_name", "last_name", "department_id", "email", "phone_number", "salary"
+    };
+
+    static final String NO_UPDATES = "No updates for employee with id = [%d]";
+
+    static final EntityRowMapper<Employee> ROW_MAPPER = EntityRowMapper.builder(Employee::new)
+            .column("id", EntityRowMapper.INTEGER, Employee::setId)
+            .column("first_name", EntityRowMapper.STRING, Employee::setFirstName)
+            .column("last_name", EntityRowMapper.STRING, Employee::setLastName)
+            .column("department_id", EntityRowMapper.INTEGER, Employee::setDepartmentId)
+            .column("email", EntityRowMapper.STRING, Employee::setEmail)
+            .column("phone_number", EntityRowMapper.STRING, Employee::setPhoneNumber)
+            .column("salary", EntityRowMapper.DOUBLE, Employee::setSalary)
+            .column("version", EntityRowMapper.LONG, Employee::setVersion)
+            .build();
+
+    private static final String SELECT = "SELECT " + ROW_MAPPER.columns() + " FROM employees";
+
+    private static final String STALE_CURSOR = "Employee with id = [%d] no longer exists; request the listing again without after";
+
+    static final UpdateTemplates UPDATES = new UpdateTemplates("employees", COLUMNS, ROW_MAPPER.columns());
+
     @Autowired
     private DataSource dataSource;
 
-    private static void createQuery(Employee employee, StringBuilder query, List<Object> parameters) {
-        if (employee.getFirstName() != null) {
-            query.append("first_name = ?, ");
-            parameters.add(employee.getFirstName());
+    @Autowired
+    @Qualifier("readDataSource")
+    private DataSource readDataSource;
+
+    @Autowired
+    @Qualifier("bulkDataSource")
+    private DataSource bulkDataSource;
+
+    private static Object[] values(Employee employee) {
+        return new Object[]{
+                employee.getFirstName(), employee.getLastName(), employee.getDepartmentId(),
+                employee.getEmail(), employee.getPhoneNumber(), employee.getSalary()
+        };
+    }
+
+    private static String column(EmployeeSortField sort) {
+        return switch (sort) {
+            case ID -> "id";
+            case FIRST_NAME -> "first_name";
+            case LAST_NAME -> "last_name";
+            case SALARY -> "salary";
+        };
+    }
+
+    private static String likePrefix(String value) {
+        return value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private static StringJoiner where(EmployeeFilter filter, List<Object> parameters) {
+        StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+
+        if (filter.getIds() != null) {
+            conditions.add("id = ANY(?)");
+            parameters.add(filter.getIds().toArray(Integer[]::new));
         }
 
-        if (employee.getLastName() != null) {
-            query.append("last_name = ?, ");
-            parameters.add(employee.getLastName());
+        if (filter.getDepartmentId() != null) {
+            conditions.add("department_id = ?");
+            parameters.add(filter.getDepartmentId());
         }
 
-        if (employee.getDepartmentId() != null) {
-            query.append("department_id = ?, ");
-            parameters.add(employee.getDepartmentId());
+        if (filter.getMinSalary() != null) {
+            conditions.add("salary >= ?");
+            parameters.add(filter.getMinSalary());
         }
 
-        if (employee.getEmail() != null) {
-            query.append("email = ?, ");
-            parameters.add(employee.getEmail());
+        if (filter.getMaxSalary() != null) {
+            conditions.add("salary <= ?");
+            parameters.add(filter.getMaxSalary());
         }
 
-        if (employee.getPhoneNumber() != null) {
-            query.append("phone_number = ?, ");
-            parameters.add(employee.getPhoneNumber());
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            String prefix = likePrefix(filter.getName().trim());
+            conditions.add("(lower(first_name) LIKE ? OR lower(last_name) LIKE ?)");
+            parameters.add(prefix);
+            parameters.add(prefix);
         }
 
-        if (employee.getSalary() != null) {
-            query.append("salary = ?, ");
-            parameters.add(employee.getSalary());
+        return conditions;
+    }
+
+    /**
+     * Adds the condition for rows after {@code after} in the listing order. Only salary is nullable; PostgreSQL
+     * sorts nulls last ascending and first descending.
+     */
+    private static void addKeyset(Connection connection, String column, boolean descending, int after,
+                                     StringJoiner conditions, List<Object> parameters) throws SQLException {
+        String comparison = descending ? "<" : ">";
+
+        if ("id".equals(column)) {
+            conditions.add("id " + comparison + " ?");
+            parameters.add(after);
+            return;
         }
 
-        query.delete(query.length() - 2, query.length());
-        query.append(" WHERE id = ?");
+        Object value;
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT " + column + " FROM employees WHERE id = ?")) {
+            preparedStatement.setInt(1, after);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new ConstraintViolationException(STALE_CURSOR.formatted(after), Set.of());
+                }
+                value = resultSet.getObject(1);
+            }
+        }
+
+        if (value == null) {
+            conditions.add(descending
+                    ? "(" + column + " IS NULL AND id < ? OR " + column + " IS NOT NULL)"
+                    : "(" + column + " IS NULL AND id > ?)");
+            parameters.add(after);
+            return;
+        }
+
+        boolean nullsFollow = !descending && "salary".equals(column);
+        conditions.add("((" + column + ", id) " + comparison + " (?, ?)" + (nullsFollow ? " OR " + column + " IS NULL" : "") + ")");
+        parameters.add(value);
+        parameters.add(after);
+    }
+
+    private static boolean existsById(Connection connection, Integer id) throws SQLException {
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE id = ?)";
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
     }
 
     @Override
     public List<Employee> findAll() {
-        final String query = "SELECT * FROM employees";
-        List<Employee> employees = new ArrayList<>();
+        try (Connection connection = readDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT)) {
+
+            return ROW_MAPPER.list(resultSet);
+
+        } catch (SQLException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<Employee> findAll(Integer after, int limit) {
+        final String query = SELECT + " WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, after == null ? 0 : after);
+            preparedStatement.setInt(2, limit);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return ROW_MAPPER.list(resultSet);
+            }
+
+        } catch (SQLException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Keyset page of the employees matching {@code filter}, in its sort order, with ties broken by id. {@code after}
+     * is the id of the last row of the previous page. For sorts other than id its sort value is read first, so the
+     * page itself stays a range scan on the {@code (column, id)} index. A cursor row that has since been deleted
+     * has no sort value to resume from and is rejected with a {@link ConstraintViolationException}.
+     */
+    public List<Employee> findAll(EmployeeFilter filter, Integer after, int limit) {
+        String column = column(filter.getSort());
+        boolean descending = filter.getDirection() == SortDirection.DESC;
+        List<Object> parameters = new ArrayList<>();
+        StringJoiner conditions = where(filter, parameters);
+
+        String direction = descending ? " DESC" : "";
+        String order = " ORDER BY " + column + direction + ("id".equals(column) ? "" : ", id" + direction);
+
+        try (Connection connection = readDataSource.getConnection()) {
+            if (after != null) {
+                addKeyset(connection, column, descending, after, conditions, parameters);
+            }
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT + conditions + order + " LIMIT ?")) {
+                int index = 1;
+                for (Object parameter : parameters) {
+                    preparedStatement.setObject(index++, parameter);
+                }
+                preparedStatement.setInt(index, limit);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    return ROW_MAPPER.list(resultSet);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Sets {@code salary = salary * factor + amount} on every employee matching {@code filter} in one statement and
+     * returns their ids. A result that breaks the salary check rolls the whole statement back.
+     */
+    @CacheEvict(allEntries = true)
+    public List<Integer> adjustSalaries(EmployeeFilter filter, double factor, double amount) {
+        return executeMatching("UPDATE employees SET salary = salary * ? + ?", List.of(factor, amount), filter);
+    }
+
+    @CacheEvict(allEntries = true)
+    public List<Integer> reassign(EmployeeFilter filter, Integer departmentId) {
+        return executeMatching("UPDATE employees SET department_id = ?", List.of(departmentId), filter);
+    }
+
+    @CacheEvict(allEntries = true)
+    public List<Integer> deleteMatching(EmployeeFilter filter) {
+        return executeMatching("DELETE FROM employees", List.of(), filter);
+    }
+
+    private List<Integer> executeMatching(String statement, List<Object> values, EmployeeFilter filter) {
+        List<Object> parameters = new ArrayList<>(values);
+        String query = statement + where(filter, parameters) + " RETURNING id";
 
         try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int index = 1;
+            for (Object parameter : parameters) {
+                preparedStatement.setObject(index++, parameter);
+            }
+
+            List<Integer> ids = new ArrayList<>();
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+            return ids;
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
+
+    @Override
+    public void streamAll(int fetchSize, Consumer<Employee> consumer) {
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT)) {
+                preparedStatement.setFetchSize(fetchSize);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    ROW_MAPPER.forEach(resultSet, consumer);
+                }
+                connection.commit();
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public int count() {
+        final String query = "SELECT count(*) FROM employees";
+
+        try (Connection connection = readDataSource.getConnection();
              Statement statement = connection.createStatement();
              ResultSet resultSet = statement.executeQuery(query)) {
 
+            return resultSet.next() ? resultSet.getInt(1) : 0;
 
-            while (resultSet.next()) {
-                employees.add(Employee.builder()
-                        .id(resultSet.getInt("id"))
-                        .firstName(resultSet.getString("first_name"))
-                        .lastName(resultSet.getString("last_name"))
-                        .departmentId(resultSet.getInt("department_id"))
-                        .email(resultSet.getString("email"))
-                        .phoneNumber(resultSet.getString("phone_number"))
-                        .salary(resultSet.getDouble("salary"))
-                        .build());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public int count(EmployeeFilter filter) {
+        List<Object> parameters = new ArrayList<>();
+        String query = "SELECT count(*) FROM employees" + where(filter, parameters);
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int index = 1;
+            for (Object parameter : parameters) {
+                preparedStatement.setObject(index++, parameter);
             }
 
-            return employees;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
 
         } catch (SQLException e) {
-            return employees;
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void streamUniqueKeys(int fetchSize, BiConsumer<String, String> consumer) {
+        final String query = "SELECT email, phone_number FROM employees";
+
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.setFetchSize(fetchSize);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(resultSet.getString(1), resultSet.getString(2));
+                    }
+                }
+                connection.commit();
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
     }
 
     @Override
+    @Cacheable(key = "#id", condition = CachingConfig.UNLESS_PINNED, unless = CachingConfig.UNLESS_REPLICA)
     public Optional<Employee> findById(Integer id) {
-        final String query = "SELECT * FROM employees WHERE id = ?";
+        final String query = SELECT + " WHERE id = ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return ROW_MAPPER.first(resultSet);
+            }
+
+        } catch (SQLException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the row from the primary and locks it until the surrounding
+     * {@link com.example.emloyee.management.config.UnitOfWork} ends, so a check made on it still holds when the
+     * write that follows commits. Outside a unit of work the lock is released as soon as the row is read.
+     */
+    public Optional<Employee> findByIdForUpdate(Integer id) {
+        final String query = SELECT + " WHERE id = ? FOR UPDATE";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return ROW_MAPPER.first(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads from the primary, so rows written a moment ago are returned even if a replica lags.
+     */
+    public List<Employee> findAllById(Collection<Integer> ids) {
+        final String query = SELECT + " WHERE id = ANY(?) ORDER BY id";
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("int4", ids.toArray()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return ROW_MAPPER.list(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Optional<Long> findVersionById(Integer id) {
+        final String query = "SELECT version FROM employees WHERE id = ?";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setInt(1, id);
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    return Optional.of(Employee.builder()
-                            .firstName(resultSet.getString("first_name"))
-                            .lastName(resultSet.getString("last_name"))
-                            .departmentId(resultSet.getInt("department_id"))
-                            .email(resultSet.getString("email"))
-                            .phoneNumber(resultSet.getString("phone_number"))
-                            .salary(resultSet.getDouble("salary"))
-                            .id(resultSet.getInt("id"))
-                            .build());
+                    return Optional.of(resultSet.getLong(1));
                 }
                 return Optional.empty();
             }
 
-
         } catch (SQLException e) {
             return Optional.empty();
         }
     }
 
+    /**
+     * Inserts the employee and sets the generated id on it.
+     */
     @Override
+    @CacheEvict(key = "#employee.id", condition = "#employee.id != null")
     public void save(Employee employee) {
         final String query = "INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary)" +
                 "VALUES(?, ?, ?, ?, ?, ?)";
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(query, new String[]{"id"})) {
 
             preparedStatement.setString(1, employee.getFirstName());
             preparedStatement.setString(2, employee.getLastName());
@@ -129,14 +503,63 @@ public class EmployeeRepository implements GenericRepository<Employee, Integer>
             preparedStatement.setString(5, employee.getPhoneNumber());
             preparedStatement.setDouble(6, employee.getSalary());
 
-            preparedStatement.execute();
+            preparedStatement.executeUpdate();
+
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    employee.setId(generatedKeys.getInt(1));
+                }
+            }
 
         } catch (SQLException e) {
-            throw new RuntimeException(e);
+            throw SqlErrors.translate(e);
         }
     }
 
+    public List<Integer> saveAll(List<Employee> employees) {
+        final String query = "INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary)" +
+                "VALUES(?, ?, ?, ?, ?, ?)";
+        List<Integer> ids = new ArrayList<>(employees.size());
+
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query, new String[]{"id"})) {
+                for (Employee employee : employees) {
+                    preparedStatement.setString(1, employee.getFirstName());
+                    preparedStatement.setString(2, employee.getLastName());
+                    preparedStatement.setObject(3, employee.getDepartmentId(), Types.INTEGER);
+                    preparedStatement.setString(4, employee.getEmail());
+                    preparedStatement.setString(5, employee.getPhoneNumber());
+                    preparedStatement.setObject(6, employee.getSalary(), Types.DOUBLE);
+                    preparedStatement.addBatch();
+                }
+
+                preparedStatement.executeBatch();
+
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getInt(1));
+                    }
+                }
+                connection.commit();
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+
+        return ids;
+    }
+
     @Override
+    @CacheEvict(key = "#id")
     public void deleteById(Integer id) {
         final String query = "DELETE FROM employees WHERE id = ?";
 
@@ -151,54 +574,251 @@ public class EmployeeRepository implements GenericRepository<Employee, Integer>
     }
 
     @Override
+    @CacheEvict(key = "#id")
     public void update(Employee employee, Integer id) {
-        StringBuilder query = new StringBuilder("UPDATE employees SET ");
-        List<Object> parameters = new ArrayList<>();
+        Object[] values = values(employee);
+        int mask = UpdateTemplates.mask(values);
 
-        createQuery(employee, query, parameters);
+        if (mask == 0) {
+            throw new NoUpdateException("No update for employee with id = [%d]".formatted(id));
+        }
 
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATES.update(mask))) {
+
+            int index = UpdateTemplates.bind(preparedStatement, values, 1);
+            preparedStatement.setInt(index, id);
+            preparedStatement.executeUpdate();
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
 
-            for (int i = 0; i < parameters.size(); i++) {
-                preparedStatement.setObject(i + 1, parameters.get(i));
+    /**
+     * Applies partial updates in one transaction. Employees that set the same fields share a statement and are sent
+     * as one JDBC batch; the result holds the updated row count for each employee, in order, so {@code 0} means the
+     * id does not exist. Any constraint violation rolls back the whole call.
+     */
+    @CacheEvict(allEntries = true)
+    public int[] updateAll(List<Employee> employees) {
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        List<Object[]> values = new ArrayList<>(employees.size());
+
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            values.add(values(employee));
+            int mask = UpdateTemplates.mask(values.get(i));
+
+            if (mask == 0) {
+                throw new NoUpdateException(NO_UPDATES.formatted(employee.getId()));
             }
+            groups.computeIfAbsent(mask, key -> new ArrayList<>()).add(i);
+        }
 
-            preparedStatement.setInt(parameters.size() + 1, id);
-            preparedStatement.executeUpdate();
+        int[] counts = new int[employees.size()];
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try {
+                for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(UPDATES.update(group.getKey()))) {
+                        for (int i : group.getValue()) {
+                            int index = UpdateTemplates.bind(preparedStatement, values.get(i), 1);
+                            preparedStatement.setInt(index, employees.get(i).getId());
+                            preparedStatement.addBatch();
+                        }
+
+                        int[] groupCounts = preparedStatement.executeBatch();
+                        for (int i = 0; i < groupCounts.length; i++) {
+                            counts[group.getValue().get(i)] = groupCounts[i];
+                        }
+                    }
+                }
+                connection.commit();
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
 
         } catch (SQLException e) {
-            throw new NoUpdateException("No update for employee with id = [%d]".formatted(id));
+            throw SqlErrors.translate(e);
         }
+
+        return counts;
     }
 
-    public boolean existsByEmail(String email) {
-        final String query = "SELECT * FROM employees WHERE email = ?";
+    @CachePut(key = "#result.id")
+    public Employee insert(Employee employee) {
+        final String query = "INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary) " +
+                "VALUES (?, ?, ?, ?, ?, ?) RETURNING " + ROW_MAPPER.columns();
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, employee.getFirstName());
+            preparedStatement.setString(2, employee.getLastName());
+            preparedStatement.setObject(3, employee.getDepartmentId(), Types.INTEGER);
+            preparedStatement.setString(4, employee.getEmail());
+            preparedStatement.setString(5, employee.getPhoneNumber());
+            preparedStatement.setObject(6, employee.getSalary(), Types.DOUBLE);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return ROW_MAPPER.mapRow(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
+
+    /**
+     * Updates the non-null fields of {@code employee} and returns the new row in one statement. The row is only
+     * written when a field actually changes; an empty result means the id does not exist.
+     */
+    @CachePut(key = "#id", unless = "#result == null")
+    public Optional<Employee> updateReturning(Employee employee, Integer id) {
+        Object[] values = values(employee);
+        int mask = UpdateTemplates.mask(values);
+
+        if (mask == 0) {
+            throw new NoUpdateException(NO_UPDATES.formatted(id));
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(UPDATES.updateIfChanged(mask))) {
+                int index = UpdateTemplates.bind(preparedStatement, values, 1);
+                preparedStatement.setInt(index, id);
+                UpdateTemplates.bind(preparedStatement, values, index + 1);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    Optional<Employee> updated = ROW_MAPPER.first(resultSet);
+                    if (updated.isPresent()) {
+                        return updated;
+                    }
+                }
+            }
+
+            if (existsById(connection, id)) {
+                throw new NoUpdateException(NO_UPDATES.formatted(id));
+            }
+
+            return Optional.empty();
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
+
+    public boolean existsByEmail(String email) {
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE email = ?)";
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, email);
 
-            return preparedStatement.executeQuery().next();
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
         } catch (SQLException e) {
             return false;
         }
     }
 
     public boolean existsByPhoneNumber(String phoneNumber) {
-        final String query = "SELECT * FROM employees WHERE phone_number = ?";
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE phone_number = ?)";
 
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, phoneNumber);
 
-            return preparedStatement.executeQuery().next();
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
         } catch (SQLException e) {
             return false;
         }
     }
 
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return findExisting("SELECT email FROM employees WHERE email = ANY(?)", emails);
+    }
+
+    public Set<String> findExistingPhoneNumbers(Collection<String> phoneNumbers) {
+        return findExisting("SELECT phone_number FROM employees WHERE phone_number = ANY(?)", phoneNumbers);
+    }
+
+    private Set<String> findExisting(String query, Collection<String> values) {
+        Set<String> existing = new HashSet<>();
+
+        if (values.isEmpty()) {
+            return existing;
+        }
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("varchar", values.toArray()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    existing.add(resultSet.getString(1));
+                }
+            }
+
+            return existing;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void copyOut(OutputStream outputStream) throws IOException {
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_OUT, outputStream);
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @CacheEvict(allEntries = true)
+    public ImportResultDto copyIn(InputStream inputStream) throws IOException {
+        try (Connection connection = bulkDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+                long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_IN, inputStream);
+                List<Integer> notFound = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery(UNKNOWN_IDS)) {
+                    while (resultSet.next()) {
+                        notFound.add(resultSet.getInt(1));
+                    }
+                }
+                int updated = statement.executeUpdate(MERGE_UPDATE);
+                int inserted = statement.executeUpdate(MERGE_INSERT);
+                connection.commit();
+
+                return new ImportResultDto(rows, inserted, updated, notFound);
+
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw SqlErrors.translate(e);
+        }
+    }
+
     @Override
+    @CacheEvict(allEntries = true)
     public void deleteAll() {
         final String query = "DELETE FROM employees";
 
@@ -0,0 +1,154 @@
+package com.example.emloyee.management.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Maps rows to entities from an explicit column list. Queries select {@link #columns()} (or
+ * {@link #columns(String)} in joins), so every column's index is fixed when the mapper is built and no row pays for
+ * a by-name lookup. Nullable numeric columns map SQL {@code NULL} to {@code null} instead of {@code 0}.
+ */
+public final class EntityRowMapper<T> {
+
+    public static final Reader<Integer> INTEGER = (resultSet, index) -> {
+        int value = resultSet.getInt(index);
+        return resultSet.wasNull() ? null : value;
+    };
+
+    public static final Reader<Long> LONG = (resultSet, index) -> {
+        long value = resultSet.getLong(index);
+        return resultSet.wasNull() ? null : value;
+    };
+
+    public static final Reader<Double> DOUBLE = (resultSet, index) -> {
+        double value = resultSet.getDouble(index);
+        return resultSet.wasNull() ? null : value;
+    };
+
+    public static final Reader<String> STRING = ResultSet::getString;
+
+    public static final Reader<Instant> INSTANT = (resultSet, index) -> {
+        Timestamp value = resultSet.getTimestamp(index);
+        return value == null ? null : value.toInstant();
+    };
+
+    private final Supplier<T> factory;
+
+    private final Column<T, ?>[] columns;
+
+    private final String columnList;
+
+    private EntityRowMapper(Supplier<T> factory, Column<T, ?>[] columns) {
+        this.factory = factory;
+        this.columns = columns;
+        this.columnList = columns(null);
+    }
+
+    public static <E extends Enum<E>> Reader<E> enumOf(Class<E> type) {
+        return (resultSet, index) -> {
+            String value = resultSet.getString(index);
+            return value == null ? null : Enum.valueOf(type, value);
+        };
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * Comma-separated column names in mapping order, for {@code SELECT} and {@code RETURNING} clauses.
+     */
+    public String columns() {
+        return columnList;
+    }
+
+    /**
+     * Column names qualified with {@code alias}, for joins that map this entity starting at some offset.
+     */
+    public String columns(String alias) {
+        return Arrays.stream(columns)
+                .map(column -> alias == null ? column.name() : alias + "." + column.name())
+                .collect(Collectors.joining(", "));
+    }
+
+    public int size() {
+        return columns.length;
+    }
+
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        return mapRow(resultSet, 0);
+    }
+
+    /**
+     * Maps the columns that start after the first {@code offset} columns of the current row.
+     */
+    public T mapRow(ResultSet resultSet, int offset) throws SQLException {
+        T entity = factory.get();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].read(entity, resultSet, offset + i + 1);
+        }
+        return entity;
+    }
+
+    public List<T> list(ResultSet resultSet) throws SQLException {
+        List<T> entities = new ArrayList<>();
+        while (resultSet.next()) {
+            entities.add(mapRow(resultSet));
+        }
+        return entities;
+    }
+
+    public Optional<T> first(ResultSet resultSet) throws SQLException {
+        return resultSet.next() ? Optional.of(mapRow(resultSet)) : Optional.empty();
+    }
+
+    public void forEach(ResultSet resultSet, Consumer<T> consumer) throws SQLException {
+        while (resultSet.next()) {
+            consumer.accept(mapRow(resultSet));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Reader<V> {
+
+        V read(ResultSet resultSet, int index) throws SQLException;
+    }
+
+    private record Column<T, V>(String name, Reader<V> reader, BiConsumer<T, V> setter) {
+
+        void read(T entity, ResultSet resultSet, int index) throws SQLException {
+            setter.accept(entity, reader.read(resultSet, index));
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Supplier<T> factory;
+
+        private final List<Column<T, ?>> columns = new ArrayList<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        public <V> Builder<T> column(String name, Reader<V> reader, BiConsumer<T, V> setter) {
+            columns.add(new Column<>(name, reader, setter));
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public EntityRowMapper<T> build() {
+            return new EntityRowMapper<>(factory, columns.toArray(Column[]::new));
+        }
+    }
+}
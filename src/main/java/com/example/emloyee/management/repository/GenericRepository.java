@@ -2,11 +2,16 @@ package com.example.emloyee.management.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GenericRepository<T, ID> {
 
     List<T> findAll();
 
+    List<T> findAll(ID after, int limit);
+
+    void streamAll(int fetchSize, Consumer<T> consumer);
+
     Optional<T> findById(ID id);
 
     void save(T object);
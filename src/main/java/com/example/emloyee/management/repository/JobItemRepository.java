@@ -0,0 +1,83 @@
+package com.example.emloyee.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Input items of a bulk job, stored one row per item when the job is submitted, so a run reads only the chunk it
+ * processes. Items are kept until the job finishes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobItemRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    public void insertAll(Integer jobId, List<String> payloads) {
+        final String query = "INSERT INTO job_items(job_id, position, payload) VALUES (?, ?, ?)";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            for (int position = 0; position < payloads.size(); position++) {
+                preparedStatement.setInt(1, jobId);
+                preparedStatement.setInt(2, position);
+                preparedStatement.setString(3, payloads.get(position));
+                preparedStatement.addBatch();
+
+                if ((position + 1) % BATCH_SIZE == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            preparedStatement.executeBatch();
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public List<String> findPayloads(Integer jobId, long from, int limit) {
+        final String query = "SELECT payload FROM job_items WHERE job_id = ? AND position >= ? ORDER BY position LIMIT ?";
+        List<String> payloads = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, jobId);
+            preparedStatement.setLong(2, from);
+            preparedStatement.setInt(3, limit);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    payloads.add(resultSet.getString(1));
+                }
+            }
+
+            return payloads;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void deleteByJobId(Integer jobId) {
+        final String query = "DELETE FROM job_items WHERE job_id = ?";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, jobId);
+            preparedStatement.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
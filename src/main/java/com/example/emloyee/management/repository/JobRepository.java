@@ -0,0 +1,224 @@
+package com.example.emloyee.management.repository;
+
+import com.example.emloyee.management.model.dto.JobStatus;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.model.entity.Job;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Job state lives on the primary so progress reads never lag behind the worker. Every state change is a conditional
+ * UPDATE on {@code status}, which makes cancellation and claiming race-free without locks.
+ * <p>
+ * A running job is leased to the instance that claimed it: {@code owner} names the instance and
+ * {@code heartbeat_at} is renewed while it works. Only jobs whose lease has expired are taken back, and a worker
+ * whose lease was taken over stops at its next checkpoint.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobRepository {
+
+    static final EntityRowMapper<Job> ROW_MAPPER = EntityRowMapper.builder(Job::new)
+            .column("id", EntityRowMapper.INTEGER, Job::setId)
+            .column("type", EntityRowMapper.enumOf(JobType.class), Job::setType)
+            .column("status", EntityRowMapper.enumOf(JobStatus.class), Job::setStatus)
+            .column("parameters", EntityRowMapper.STRING, Job::setParameters)
+            .column("total", EntityRowMapper.LONG, Job::setTotal)
+            .column("processed", EntityRowMapper.LONG, Job::setProcessed)
+            .column("failed", EntityRowMapper.LONG, Job::setFailed)
+            .column("position", EntityRowMapper.LONG, Job::setPosition)
+            .column("error", EntityRowMapper.STRING, Job::setError)
+            .column("created_at", EntityRowMapper.INSTANT, Job::setCreatedAt)
+            .column("started_at", EntityRowMapper.INSTANT, Job::setStartedAt)
+            .column("started_processed", EntityRowMapper.LONG, Job::setStartedProcessed)
+            .column("finished_at", EntityRowMapper.INSTANT, Job::setFinishedAt)
+            .build();
+
+    private final DataSource dataSource;
+
+    public Job insert(Job job) {
+        final String query = "INSERT INTO jobs(type, status, parameters, total, created_at) VALUES (?, ?, ?, ?, ?) " +
+                "RETURNING " + ROW_MAPPER.columns();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, job.getType().name());
+            preparedStatement.setString(2, JobStatus.QUEUED.name());
+            preparedStatement.setString(3, job.getParameters());
+            preparedStatement.setLong(4, job.getTotal());
+            preparedStatement.setTimestamp(5, Timestamp.from(job.getCreatedAt()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return ROW_MAPPER.mapRow(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Optional<Job> findById(Integer id) {
+        final String query = "SELECT " + ROW_MAPPER.columns() + " FROM jobs WHERE id = ?";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return ROW_MAPPER.first(resultSet);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public List<Integer> findIdsByStatus(JobStatus status) {
+        final String query = "SELECT id FROM jobs WHERE status = ? ORDER BY id";
+        List<Integer> ids = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, status.name());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+
+            return ids;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Puts running jobs whose owner has not renewed its lease since {@code expiredBefore} back in the queue and
+     * returns their ids. Their position still points at the last committed chunk.
+     */
+    public List<Integer> requeueExpired(Instant expiredBefore) {
+        final String query = "UPDATE jobs SET status = 'QUEUED', owner = NULL WHERE status = 'RUNNING' " +
+                "AND (heartbeat_at IS NULL OR heartbeat_at < ?) RETURNING id";
+        List<Integer> ids = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setTimestamp(1, Timestamp.from(expiredBefore));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+
+            return ids;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public boolean claim(Integer id, String owner, Instant now) {
+        final String query = "UPDATE jobs SET status = 'RUNNING', owner = ?, heartbeat_at = ?, started_at = ?, " +
+                "started_processed = processed WHERE id = ? AND status = 'QUEUED'";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, owner);
+            preparedStatement.setTimestamp(2, Timestamp.from(now));
+            preparedStatement.setTimestamp(3, Timestamp.from(now));
+            preparedStatement.setInt(4, id);
+            return preparedStatement.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Records a finished chunk and renews the lease. Returns {@code false} when the job is no longer running under
+     * {@code owner}, i.e. it was cancelled or taken over after the lease expired.
+     */
+    public boolean checkpoint(Integer id, String owner, long position, long processed, long failed, Instant now) {
+        final String query = "UPDATE jobs SET position = ?, processed = ?, failed = ?, heartbeat_at = ? " +
+                "WHERE id = ? AND status = 'RUNNING' AND owner = ?";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setLong(1, position);
+            preparedStatement.setLong(2, processed);
+            preparedStatement.setLong(3, failed);
+            preparedStatement.setTimestamp(4, Timestamp.from(now));
+            preparedStatement.setInt(5, id);
+            preparedStatement.setString(6, owner);
+            return preparedStatement.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Renews the lease of every job {@code owner} is running, so chunks longer than the lease do not lose it.
+     */
+    public int heartbeat(String owner, Instant now) {
+        final String query = "UPDATE jobs SET heartbeat_at = ? WHERE owner = ? AND status = 'RUNNING'";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setTimestamp(1, Timestamp.from(now));
+            preparedStatement.setString(2, owner);
+            return preparedStatement.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public boolean finish(Integer id, String owner, JobStatus status, String error, Instant now) {
+        final String query = "UPDATE jobs SET status = ?, error = ?, finished_at = ? " +
+                "WHERE id = ? AND status = 'RUNNING' AND owner = ?";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, status.name());
+            preparedStatement.setString(2, error);
+            preparedStatement.setTimestamp(3, Timestamp.from(now));
+            preparedStatement.setInt(4, id);
+            preparedStatement.setString(5, owner);
+            return preparedStatement.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public boolean cancel(Integer id, Instant now) {
+        final String query = "UPDATE jobs SET status = 'CANCELLED', finished_at = ? " +
+                "WHERE id = ? AND status IN ('QUEUED', 'RUNNING')";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setTimestamp(1, Timestamp.from(now));
+            preparedStatement.setInt(2, id);
+            return preparedStatement.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.emloyee.management.repository;
+
+import com.example.emloyee.management.config.CachingConfig;
+import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.model.entity.Department;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.example.emloyee.management.repository.DepartmentRepository.COLUMNS;
+import static com.example.emloyee.management.repository.DepartmentRepository.NO_UPDATES;
+
+/**
+ * R2DBC access to {@code departments}, see {@link ReactiveEmployeeRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveDepartmentRepository implements ReactiveGenericRepository<Department, Integer> {
+
+    private static final String SELECT = "SELECT " + DepartmentRepository.ROW_MAPPER.columns() + " FROM departments";
+
+    private final DatabaseClient databaseClient;
+
+    private final CacheManager cacheManager;
+
+    @Value("${app.export.fetch-size}")
+    private int fetchSize;
+
+    /**
+     * Reads by position; {@link #SELECT} and the {@code RETURNING} clauses use the column order of
+     * {@link DepartmentRepository#ROW_MAPPER}.
+     */
+    static Department mapRow(Readable row) {
+        return Department.builder()
+                .id(row.get(0, Integer.class))
+                .name(row.get(1, String.class))
+                .location(row.get(2, String.class))
+                .version(row.get(3, Long.class))
+                .build();
+    }
+
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    @Override
+    public Flux<Department> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveDepartmentRepository::mapRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Department> findAll(Integer after, int limit) {
+        return databaseClient.sql(SELECT + " WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after == null ? 0 : after)
+                .bind("limit", limit)
+                .filter(statement -> statement.fetchSize(Math.min(limit, fetchSize)))
+                .map(ReactiveDepartmentRepository::mapRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Department> findById(Integer id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveDepartmentRepository::mapRow)
+                .one();
+    }
+
+    @Override
+    public Mono<Department> save(Department department) {
+        GenericExecuteSpec spec = databaseClient.sql("INSERT INTO departments(name, location) VALUES (:name, :location) RETURNING " + DepartmentRepository.ROW_MAPPER.columns());
+        spec = bind(spec, "name", department.getName());
+        spec = bind(spec, "location", department.getLocation());
+
+        return spec.map(ReactiveDepartmentRepository::mapRow)
+                .one()
+                .onErrorMap(SqlErrors::translateR2dbc);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Integer id) {
+        return databaseClient.sql("DELETE FROM departments WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(rows -> cache().evict(id))
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public Mono<Department> update(Department department, Integer id) {
+        Object[] values = {department.getName(), department.getLocation()};
+        int mask = UpdateTemplates.mask(values);
+
+        if (mask == 0) {
+            return Mono.error(new NoUpdateException(NO_UPDATES.formatted(id)));
+        }
+
+        GenericExecuteSpec spec = databaseClient.sql(DepartmentRepository.UPDATES.namedUpdateIfChanged(mask))
+                .bind("id", id);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (values[i] != null) {
+                spec = spec.bind(COLUMNS[i], values[i]);
+            }
+        }
+
+        return spec.map(ReactiveDepartmentRepository::mapRow)
+                .one()
+                .doOnNext(updated -> cache().evict(id))
+                .switchIfEmpty(Mono.defer(() -> existsById(id)
+                        .flatMap(exists -> exists ? Mono.error(new NoUpdateException(NO_UPDATES.formatted(id))) : Mono.empty())))
+                .onErrorMap(SqlErrors::translateR2dbc);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return databaseClient.sql("DELETE FROM departments")
+                .then()
+                .doOnSuccess(done -> cache().clear());
+    }
+
+    private Mono<Boolean> existsById(Integer id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM departments WHERE id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CachingConfig.DEPARTMENTS);
+    }
+}
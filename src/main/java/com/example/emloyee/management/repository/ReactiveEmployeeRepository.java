@@ -0,0 +1,165 @@
+package com.example.emloyee.management.repository;
+
+import com.example.emloyee.management.config.CachingConfig;
+import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.model.entity.Employee;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.example.emloyee.management.repository.EmployeeRepository.COLUMNS;
+import static com.example.emloyee.management.repository.EmployeeRepository.NO_UPDATES;
+
+/**
+ * R2DBC access to {@code employees}. Reads use the driver's fetch size, so a slow subscriber holds back the portal
+ * instead of buffering the table. Writes evict the entries that {@link EmployeeRepository} caches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveEmployeeRepository implements ReactiveGenericRepository<Employee, Integer> {
+
+    private static final Class<?>[] TYPES = {
+            String.class, String.class, Integer.class, String.class, String.class, Double.class
+    };
+
+    private static final String SELECT = "SELECT " + EmployeeRepository.ROW_MAPPER.columns() + " FROM employees";
+
+    private final DatabaseClient databaseClient;
+
+    private final CacheManager cacheManager;
+
+    @Value("${app.export.fetch-size}")
+    private int fetchSize;
+
+    /**
+     * Reads by position; {@link #SELECT} and the {@code RETURNING} clauses use the column order of
+     * {@link EmployeeRepository#ROW_MAPPER}.
+     */
+    static Employee mapRow(Readable row) {
+        return Employee.builder()
+                .id(row.get(0, Integer.class))
+                .firstName(row.get(1, String.class))
+                .lastName(row.get(2, String.class))
+                .departmentId(row.get(3, Integer.class))
+                .email(row.get(4, String.class))
+                .phoneNumber(row.get(5, String.class))
+                .salary(row.get(6, Double.class))
+                .version(row.get(7, Long.class))
+                .build();
+    }
+
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    @Override
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveEmployeeRepository::mapRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Employee> findAll(Integer after, int limit) {
+        return databaseClient.sql(SELECT + " WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after == null ? 0 : after)
+                .bind("limit", limit)
+                .filter(statement -> statement.fetchSize(Math.min(limit, fetchSize)))
+                .map(ReactiveEmployeeRepository::mapRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Employee> findById(Integer id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::mapRow)
+                .one();
+    }
+
+    @Override
+    public Mono<Employee> save(Employee employee) {
+        GenericExecuteSpec spec = databaseClient.sql("INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary) " +
+                "VALUES (:first_name, :last_name, :department_id, :email, :phone_number, :salary) RETURNING " + EmployeeRepository.ROW_MAPPER.columns());
+        Object[] values = values(employee);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            spec = bind(spec, COLUMNS[i], values[i], TYPES[i]);
+        }
+
+        return spec.map(ReactiveEmployeeRepository::mapRow)
+                .one()
+                .onErrorMap(SqlErrors::translateR2dbc);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Integer id) {
+        return databaseClient.sql("DELETE FROM employees WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(rows -> cache().evict(id))
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * Same contract as {@link EmployeeRepository#updateReturning}: only non-null fields are written, an unchanged
+     * row is a {@link NoUpdateException} and an empty result means the id does not exist.
+     */
+    @Override
+    public Mono<Employee> update(Employee employee, Integer id) {
+        Object[] values = values(employee);
+        int mask = UpdateTemplates.mask(values);
+
+        if (mask == 0) {
+            return Mono.error(new NoUpdateException(NO_UPDATES.formatted(id)));
+        }
+
+        GenericExecuteSpec spec = databaseClient.sql(EmployeeRepository.UPDATES.namedUpdateIfChanged(mask))
+                .bind("id", id);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (values[i] != null) {
+                spec = spec.bind(COLUMNS[i], values[i]);
+            }
+        }
+
+        return spec.map(ReactiveEmployeeRepository::mapRow)
+                .one()
+                .doOnNext(updated -> cache().evict(id))
+                .switchIfEmpty(Mono.defer(() -> existsById(id)
+                        .flatMap(exists -> exists ? Mono.error(new NoUpdateException(NO_UPDATES.formatted(id))) : Mono.empty())))
+                .onErrorMap(SqlErrors::translateR2dbc);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return databaseClient.sql("DELETE FROM employees")
+                .then()
+                .doOnSuccess(done -> cache().clear());
+    }
+
+    private Mono<Boolean> existsById(Integer id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM employees WHERE id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    private Object[] values(Employee employee) {
+        return new Object[]{
+                employee.getFirstName(), employee.getLastName(), employee.getDepartmentId(),
+                employee.getEmail(), employee.getPhoneNumber(), employee.getSalary()
+        };
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CachingConfig.EMPLOYEES);
+    }
+}
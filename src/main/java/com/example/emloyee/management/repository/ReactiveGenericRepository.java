@@ -0,0 +1,25 @@
+package com.example.emloyee.management.repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link GenericRepository}. Lists are emitted row by row as subscribers request them;
+ * writes return the stored row.
+ */
+public interface ReactiveGenericRepository<T, ID> {
+
+    Flux<T> findAll();
+
+    Flux<T> findAll(ID after, int limit);
+
+    Mono<T> findById(ID id);
+
+    Mono<T> save(T object);
+
+    Mono<Boolean> deleteById(ID id);
+
+    Mono<T> update(T object, ID id);
+
+    Mono<Void> deleteAll();
+}
@@ -0,0 +1,119 @@
+package com.example.emloyee.management.repository;
+
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.spi.R2dbcException;
+import jakarta.validation.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps constraint violations to the API's exceptions. When PostgreSQL's detail names a single column, the message
+ * is phrased like the service-level checks ({@code Email [x] is already taken},
+ * {@code Department with id = [x] not found}); otherwise the server detail is used as is. Check constraint
+ * violations become {@link ConstraintViolationException}s carrying the server message, which names the constraint.
+ * Batch failures are translated from the statement that failed.
+ */
+final class SqlErrors {
+
+    static final String UNIQUE_VIOLATION = "23505";
+    static final String FOREIGN_KEY_VIOLATION = "23503";
+    static final String CHECK_VIOLATION = "23514";
+
+    private static final Pattern DUPLICATE_KEY = Pattern.compile("Key \\((\\w+)\\)=\\((.*)\\) already exists\\.");
+    private static final Pattern MISSING_KEY = Pattern.compile("Key \\((\\w+)\\)=\\((.*)\\) is not present in table \"(\\w+)\"\\.");
+
+    private static final String DUPLICATE = "%s [%s] is already taken";
+    private static final String NOT_FOUND = "%s with id = [%s] not found";
+
+    private SqlErrors() {
+    }
+
+    static RuntimeException translate(SQLException exception) {
+        SQLException cause = exception instanceof BatchUpdateException && exception.getNextException() != null
+                ? exception.getNextException()
+                : exception;
+        RuntimeException translated = translate(cause.getSQLState(), () -> detail(cause), () -> message(cause));
+        return translated != null ? translated : new RuntimeException(exception);
+    }
+
+    /**
+     * Reactive counterpart of {@link #translate(SQLException)}; looks through Spring's {@code DataAccessException}
+     * wrapping for the driver's {@link R2dbcException}.
+     */
+    static Throwable translateR2dbc(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException exception) {
+                RuntimeException translated = translate(exception.getSqlState(), () -> detail(exception), exception::getMessage);
+                return translated != null ? translated : error;
+            }
+        }
+        return error;
+    }
+
+    private static RuntimeException translate(String state, Supplier<String> details, Supplier<String> message) {
+        if (UNIQUE_VIOLATION.equals(state)) {
+            String detail = details.get();
+            Matcher matcher = DUPLICATE_KEY.matcher(detail);
+            return new DuplicateResourceException(matcher.matches()
+                    ? DUPLICATE.formatted(label(matcher.group(1)), matcher.group(2))
+                    : detail);
+        }
+
+        if (FOREIGN_KEY_VIOLATION.equals(state)) {
+            String detail = details.get();
+            Matcher matcher = MISSING_KEY.matcher(detail);
+            return new ResourceNotFoundException(matcher.matches()
+                    ? NOT_FOUND.formatted(entity(matcher.group(3)), matcher.group(2))
+                    : detail);
+        }
+
+        if (CHECK_VIOLATION.equals(state)) {
+            return new ConstraintViolationException(message.get(), Set.of());
+        }
+
+        return null;
+    }
+
+    private static String message(SQLException exception) {
+        if (exception instanceof PSQLException psqlException && psqlException.getServerErrorMessage() != null) {
+            return psqlException.getServerErrorMessage().getMessage();
+        }
+        return exception.getMessage();
+    }
+
+    private static String detail(SQLException exception) {
+        if (exception instanceof PSQLException psqlException) {
+            ServerErrorMessage serverError = psqlException.getServerErrorMessage();
+            if (serverError != null && serverError.getDetail() != null) {
+                return serverError.getDetail();
+            }
+        }
+        return exception.getMessage();
+    }
+
+    private static String detail(R2dbcException exception) {
+        if (exception instanceof PostgresqlException postgresqlException) {
+            return postgresqlException.getErrorDetails().getDetail().orElse(exception.getMessage());
+        }
+        return exception.getMessage();
+    }
+
+    private static String label(String column) {
+        String words = column.replace('_', ' ');
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    private static String entity(String table) {
+        String singular = table.endsWith("s") ? table.substring(0, table.length() - 1) : table;
+        return label(singular);
+    }
+}
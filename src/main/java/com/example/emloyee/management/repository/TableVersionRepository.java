@@ -0,0 +1,58 @@
+package com.example.emloyee.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the per-table change counters kept in {@code table_version_shards}. The counters are incremented by statement
+ * triggers on every insert, update, delete and truncate, so they also cover imports and bulk writes. Each table's
+ * counter is split over 16 rows picked by backend pid, so concurrent writers rarely wait on the same row lock; the
+ * version is their sum.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableVersionRepository {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String DEPARTMENTS = "departments";
+
+    @Qualifier("readDataSource")
+    private final DataSource readDataSource;
+
+    /**
+     * The versions of {@code tables} in one query, keyed in the order given.
+     */
+    public Map<String, Long> getVersions(String... tables) {
+        final String query = "SELECT table_name, COALESCE(SUM(version), 0) FROM table_version_shards " +
+                "WHERE table_name = ANY(?) GROUP BY table_name";
+
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (String table : tables) {
+            versions.put(table, 0L);
+        }
+
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setObject(1, tables);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    versions.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+            return versions;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
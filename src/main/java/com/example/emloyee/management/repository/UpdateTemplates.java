@@ -0,0 +1,90 @@
+package com.example.emloyee.management.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.StringJoiner;
+
+/**
+ * Partial-update SQL for a table, built once per combination of updatable columns. A combination is a bitmask with
+ * bit {@code i} set when {@code columns[i]} is written, so a table with {@code n} updatable columns has
+ * {@code 2^n - 1} templates and no update builds SQL at request time.
+ */
+final class UpdateTemplates {
+
+    private final String[] updates;
+
+    private final String[] updatesIfChanged;
+
+    private final String[] namedUpdatesIfChanged;
+
+    UpdateTemplates(String table, String[] columns, String returning) {
+        int combinations = 1 << columns.length;
+        this.updates = new String[combinations];
+        this.updatesIfChanged = new String[combinations];
+        this.namedUpdatesIfChanged = new String[combinations];
+
+        for (int mask = 1; mask < combinations; mask++) {
+            StringJoiner assignments = new StringJoiner(", ");
+            StringJoiner changes = new StringJoiner(" OR ");
+            StringJoiner namedAssignments = new StringJoiner(", ");
+            StringJoiner namedChanges = new StringJoiner(" OR ");
+            for (int i = 0; i < columns.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    assignments.add(columns[i] + " = ?");
+                    changes.add(columns[i] + " IS DISTINCT FROM ?");
+                    namedAssignments.add(columns[i] + " = :" + columns[i]);
+                    namedChanges.add(columns[i] + " IS DISTINCT FROM :" + columns[i]);
+                }
+            }
+
+            updates[mask] = "UPDATE " + table + " SET " + assignments + " WHERE id = ?";
+            updatesIfChanged[mask] = updates[mask] + " AND (" + changes + ") RETURNING " + returning;
+            namedUpdatesIfChanged[mask] = "UPDATE " + table + " SET " + namedAssignments + " WHERE id = :id AND ("
+                    + namedChanges + ") RETURNING " + returning;
+        }
+    }
+
+    static int mask(Object[] values) {
+        int mask = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * {@code UPDATE ... SET <columns> WHERE id = ?}.
+     */
+    String update(int mask) {
+        return updates[mask];
+    }
+
+    /**
+     * {@code UPDATE ... SET <columns> WHERE id = ? AND (<any column changed>) RETURNING ...}, which binds the values
+     * a second time after the id.
+     */
+    String updateIfChanged(int mask) {
+        return updatesIfChanged[mask];
+    }
+
+    /**
+     * {@link #updateIfChanged(int)} with named parameters: {@code :id} and one per column, named after the column.
+     */
+    String namedUpdateIfChanged(int mask) {
+        return namedUpdatesIfChanged[mask];
+    }
+
+    /**
+     * Binds the non-null {@code values} starting at {@code index} and returns the next free index.
+     */
+    static int bind(PreparedStatement preparedStatement, Object[] values, int index) throws SQLException {
+        for (Object value : values) {
+            if (value != null) {
+                preparedStatement.setObject(index++, value);
+            }
+        }
+        return index;
+    }
+}
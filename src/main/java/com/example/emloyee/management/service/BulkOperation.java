@@ -0,0 +1,34 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.model.dto.JobType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One kind of bulk job. The work is split into chunks that start at a persisted position, so a job can stop after
+ * any chunk and pick up from there later. A chunk must be safe to run twice: if the application stops between a
+ * chunk and its checkpoint, the chunk is repeated on resume.
+ * <p>
+ * Input too large for {@code jobs.parameters} is written by {@link #stage} when the job is submitted and read back
+ * one chunk at a time by {@link #process}; {@link #stored} returns the parameters without it.
+ */
+public interface BulkOperation<P> {
+
+    JobType type();
+
+    P parse(JsonNode parameters) throws JsonProcessingException;
+
+    long total(P parameters);
+
+    default P stored(P parameters) {
+        return parameters;
+    }
+
+    default void stage(Integer jobId, P parameters) throws JsonProcessingException {
+    }
+
+    Chunk process(Integer jobId, P parameters, long position, int size) throws JsonProcessingException;
+
+    record Chunk(long position, int processed, int failed, boolean last) {
+    }
+}
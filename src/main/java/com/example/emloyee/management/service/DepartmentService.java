@@ -1,15 +1,33 @@
 package com.example.emloyee.management.service;
 
+import com.example.emloyee.management.config.UnitOfWork;
+import com.example.emloyee.management.config.UnitOfWorkManager;
 import com.example.emloyee.management.exception.NoUpdateException;
 import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.DepartmentMapper;
+import com.example.emloyee.management.mapper.EmployeeMapper;
 import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
 import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
 import com.example.emloyee.management.repository.DepartmentRepository;
+import com.example.emloyee.management.repository.TableVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +38,29 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
 
-    private final ModelMapper modelMapper;
+    private final DepartmentMapper departmentMapper;
+
+    private final EmployeeMapper employeeMapper;
+
+    private final TableVersionRepository tableVersionRepository;
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    private final ObjectMapper objectMapper;
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    @Value("${app.write.mode}")
+    private WriteMode writeMode = WriteMode.CHECKED;
+
+    @Value("${app.export.fetch-size}")
+    private int exportFetchSize;
+
+    @Value("${app.export.flush-rows}")
+    private int exportFlushRows;
+
+    @Value("${app.pagination.expand.employees-limit}")
+    private int expandEmployeesLimit;
 
     private static void checkForDepartmentUpdates(DepartmentDto departmentDto, Integer id, Department department) {
         boolean isDifferent = !department.getName().equals(departmentDto.getName()) ||
@@ -31,43 +71,117 @@ public class DepartmentService {
         }
     }
 
-    public List<DepartmentDto> getAllDepartments() {
-        List<Department> departments = departmentRepository.findAll();
-        return departments.stream()
-                .map(department -> modelMapper.map(department, DepartmentDto.class))
-                .toList();
+    @UnitOfWork(readOnly = true)
+    public Versioned<PageDto<DepartmentDto>> getAllDepartments(Integer after, int limit,
+                                                               Predicate<Map<String, Long>> current) {
+        return Versioned.read(tableVersionRepository.getVersions(TableVersionRepository.DEPARTMENTS), current, () -> {
+            List<Department> departments = departmentRepository.findAll(after, limit + 1);
+            return PageDto.of(departments, limit, Department::getId,
+                    departmentMapper::toDto);
+        });
+    }
+
+    @UnitOfWork(readOnly = true)
+    public Versioned<PageDto<DepartmentDto>> getAllDepartmentsWithEmployees(Integer after, int limit,
+                                                                            Predicate<Map<String, Long>> current) {
+        return Versioned.read(joinedVersions(), current, () -> {
+            List<DepartmentDto> departments = new ArrayList<>();
+            departmentRepository.findAllWithEmployees(after, limit + 1, expandEmployeesLimit + 1, (department, employees) -> {
+                PageDto<EmployeeDto> page = PageDto.of(employees, expandEmployeesLimit, Employee::getId, employeeMapper::toDto);
+                DepartmentDto departmentDto = departmentMapper.toDto(department);
+                departmentDto.setEmployees(page.getContent());
+                departmentDto.setEmployeesNext(page.getNext());
+                departments.add(departmentDto);
+            });
+            return PageDto.of(departments, limit, DepartmentDto::getId, Function.identity());
+        });
+    }
+
+    @UnitOfWork(readOnly = true)
+    public Versioned<PageDto<EmployeeDto>> getDepartmentEmployees(Integer id, Integer after, int limit,
+                                                                  Predicate<Map<String, Long>> current) {
+        return Versioned.read(joinedVersions(), current, () -> {
+            List<Employee> employees = departmentRepository.findEmployees(id, after, limit + 1)
+                    .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
+            return PageDto.of(employees, limit, Employee::getId,
+                    employeeMapper::toDto);
+        });
+    }
+
+    public void exportDepartments(OutputStream outputStream) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream, exportFlushRows)) {
+            departmentRepository.streamAll(exportFetchSize, department -> writer.write(departmentMapper.toDto(department)));
+        }
     }
 
+    public void exportDepartmentsCsv(OutputStream outputStream) throws IOException {
+        departmentRepository.copyOut(outputStream);
+    }
+
+    public ImportResultDto importDepartmentsCsv(InputStream inputStream) throws IOException {
+        ImportResultDto result = departmentRepository.copyIn(inputStream);
+        employeeSearchIndex.rebuild();
+        return result;
+    }
+
+    @UnitOfWork(readOnly = true)
+    public Optional<Long> getDepartmentVersion(Integer id) {
+        return departmentRepository.findVersionById(id);
+    }
+
+    @UnitOfWork(readOnly = true)
     public DepartmentDto getDepartmentById(Integer id) {
         Department department = departmentRepository
                 .findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
-        return modelMapper.map(department, DepartmentDto.class);
+        return departmentMapper.toDto(department);
     }
 
+    @UnitOfWork
     public DepartmentDto addDepartment(DepartmentDto departmentDto) {
-        Department department = modelMapper.map(departmentDto, Department.class);
+        if (writeMode == WriteMode.RETURNING) {
+            return departmentMapper.toDto(departmentRepository.insert(departmentMapper.toEntity(departmentDto)));
+        }
+
+        Department department = departmentMapper.toEntity(departmentDto);
         departmentRepository.save(department);
         return departmentDto;
     }
 
+    @UnitOfWork
     public void deleteDepartmentById(Integer id) {
         departmentRepository
-                .findById(id)
+                .findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
 
         departmentRepository.deleteById(id);
     }
 
+    @UnitOfWork
     public DepartmentDto updateDepartment(DepartmentDto departmentDto, Integer id) {
+        if (writeMode == WriteMode.RETURNING) {
+            Department department = departmentRepository.updateReturning(departmentMapper.toEntity(departmentDto), id)
+                    .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
+            unitOfWorkManager.afterCommit(() -> employeeSearchIndex.upsertDepartment(department));
+            return departmentMapper.toDto(department);
+        }
+
         Department department = departmentRepository
-                .findById(id)
+                .findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
 
         checkForDepartmentUpdates(departmentDto, id, department);
 
-        Department departmentToUpdate = modelMapper.map(departmentDto, Department.class);
+        Department departmentToUpdate = departmentMapper.toEntity(departmentDto);
         departmentRepository.update(departmentToUpdate, id);
-        return modelMapper.map(getDepartmentById(id), DepartmentDto.class);
+
+        DepartmentDto updatedDepartment = getDepartmentById(id);
+        Department updated = departmentMapper.toEntity(updatedDepartment);
+        unitOfWorkManager.afterCommit(() -> employeeSearchIndex.upsertDepartment(updated));
+        return updatedDepartment;
+    }
+
+    private Map<String, Long> joinedVersions() {
+        return tableVersionRepository.getVersions(TableVersionRepository.DEPARTMENTS, TableVersionRepository.EMPLOYEES);
     }
 }
@@ -0,0 +1,71 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.repository.DepartmentRepository;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies {@code changes} to every department, or to those at {@code location}, walking the matching rows in id
+ * order. The location filter is part of the query, so the total and progress count matching rows only.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentUpdateOperation implements BulkOperation<DepartmentUpdateOperation.Parameters> {
+
+    private final DepartmentRepository departmentRepository;
+
+    private final DepartmentService departmentService;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public JobType type() {
+        return JobType.DEPARTMENT_UPDATE;
+    }
+
+    @Override
+    public Parameters parse(JsonNode parameters) throws JsonProcessingException {
+        return objectMapper.treeToValue(parameters, Parameters.class);
+    }
+
+    @Override
+    public long total(Parameters parameters) {
+        return parameters.location() == null
+                ? departmentRepository.count()
+                : departmentRepository.countByLocation(parameters.location());
+    }
+
+    @Override
+    public Chunk process(Integer jobId, Parameters parameters, long position, int size) {
+        List<Department> departments = parameters.location() == null
+                ? departmentRepository.findAll((int) position, size)
+                : departmentRepository.findAllByLocation(parameters.location(), (int) position, size);
+        int failed = 0;
+
+        for (Department department : departments) {
+            try {
+                departmentService.updateDepartment(parameters.changes(), department.getId());
+            } catch (NoUpdateException e) {
+                // already up to date
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+
+        long next = departments.isEmpty() ? position : departments.get(departments.size() - 1).getId();
+        return new Chunk(next, departments.size(), failed, departments.size() < size);
+    }
+
+    public record Parameters(@JsonProperty(required = true) DepartmentDto changes, String location) {
+    }
+}
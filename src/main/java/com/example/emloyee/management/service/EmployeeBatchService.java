@@ -0,0 +1,354 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.config.UnitOfWork;
+import com.example.emloyee.management.config.UnitOfWorkManager;
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.EmployeeMapper;
+import com.example.emloyee.management.model.dto.BatchItemResultDto;
+import com.example.emloyee.management.model.dto.BatchItemStatus;
+import com.example.emloyee.management.model.dto.BatchResultDto;
+import com.example.emloyee.management.model.dto.BatchUpdateResultDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkFilterDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkRequestDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkResultDto;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeePatchDto;
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.DepartmentRepository;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.emloyee.management.model.dto.BatchItemStatus.CREATED;
+import static com.example.emloyee.management.model.dto.BatchItemStatus.DUPLICATE;
+import static com.example.emloyee.management.model.dto.BatchItemStatus.FAILED;
+import static com.example.emloyee.management.model.dto.BatchItemStatus.INVALID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeBatchService {
+
+    public static final String NOT_AN_ARRAY = "Request body must be a JSON array of employees";
+    public static final String INVALID_FIELD = "Field: %s has invalid value: %s";
+    public static final String INSERT_FAILED = "Employee could not be created";
+    public static final String EMPTY_FILTER = "Filter must set at least one of ids, department_id, min_salary, max_salary";
+
+    private final EmployeeRepository employeeRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final EmployeeMapper employeeMapper;
+
+    private final EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    @Value("${app.batch.chunk-size}")
+    private int chunkSize;
+
+    private static BatchItemResultDto item(int index, BatchItemStatus status, String message) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static String makeErrorMessage(Set<ConstraintViolation<EmployeeDto>> violations) {
+        return violations.stream()
+                .map(violation -> INVALID_FIELD.formatted(violation.getPropertyPath(), violation.getInvalidValue()))
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Employee merge(Employee first, Employee second) {
+        return Employee.builder()
+                .id(first.getId())
+                .firstName(second.getFirstName() != null ? second.getFirstName() : first.getFirstName())
+                .lastName(second.getLastName() != null ? second.getLastName() : first.getLastName())
+                .departmentId(second.getDepartmentId() != null ? second.getDepartmentId() : first.getDepartmentId())
+                .email(second.getEmail() != null ? second.getEmail() : first.getEmail())
+                .phoneNumber(second.getPhoneNumber() != null ? second.getPhoneNumber() : first.getPhoneNumber())
+                .salary(second.getSalary() != null ? second.getSalary() : first.getSalary())
+                .build();
+    }
+
+    private static BatchItemResultDto created(int index, Integer id) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(CREATED)
+                .id(id)
+                .build();
+    }
+
+    private static long count(List<BatchItemResultDto> items, BatchItemStatus status) {
+        return items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    public BatchResultDto addEmployees(InputStream inputStream) throws IOException {
+        List<BatchItemResultDto> items = new ArrayList<>();
+        int size = Math.max(1, chunkSize);
+
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, NOT_AN_ARRAY);
+            }
+
+            List<EmployeeDto> chunk = new ArrayList<>(size);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                chunk.add(parser.readValueAs(EmployeeDto.class));
+
+                if (chunk.size() == size) {
+                    items.addAll(processChunk(chunk, items.size()));
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                items.addAll(processChunk(chunk, items.size()));
+            }
+        }
+
+        return BatchResultDto.builder()
+                .created(count(items, CREATED))
+                .duplicates(count(items, DUPLICATE))
+                .invalid(count(items, INVALID))
+                .failed(count(items, FAILED))
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Applies all partial updates in one transaction, or none of them when any entry is invalid or violates a
+     * constraint. Entries for the same id are merged in request order, later fields winning, so each employee is
+     * written once.
+     */
+    @UnitOfWork
+    public BatchUpdateResultDto updateEmployees(List<EmployeePatchDto> patches) {
+        Set<ConstraintViolation<EmployeePatchDto>> violations = new HashSet<>();
+        List<String> messages = new ArrayList<>();
+
+        for (int i = 0; i < patches.size(); i++) {
+            for (ConstraintViolation<EmployeePatchDto> violation : validator.validate(patches.get(i))) {
+                violations.add(violation);
+                messages.add(INVALID_FIELD.formatted("[%d].%s".formatted(i, violation.getPropertyPath()), violation.getInvalidValue()));
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(String.join(", ", messages), violations);
+        }
+
+        Map<Integer, Employee> merged = new LinkedHashMap<>();
+        for (EmployeePatchDto patch : patches) {
+            merged.merge(patch.getId(), employeeMapper.fromPatch(patch), EmployeeBatchService::merge);
+        }
+
+        List<Employee> employees = new ArrayList<>(merged.values());
+        int[] counts = employees.isEmpty() ? new int[0] : employeeRepository.updateAll(employees);
+        List<Integer> notFound = new ArrayList<>();
+        List<Integer> updated = new ArrayList<>();
+
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (counts[i] == 0) {
+                notFound.add(employee.getId());
+            } else {
+                updated.add(employee.getId());
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            List<Employee> rows = employeeRepository.findAllById(updated);
+            unitOfWorkManager.afterCommit(() -> {
+                rows.forEach(row -> employeeUniquenessIndex.add(row.getEmail(), row.getPhoneNumber()));
+                employeeSearchIndex.upsertAll(rows);
+            });
+        }
+
+        return BatchUpdateResultDto.builder()
+                .updated(employees.size() - notFound.size())
+                .notFound(notFound)
+                .build();
+    }
+
+    /**
+     * Runs one set-based statement over the employees matching the request's filter. An empty filter is rejected
+     * rather than taken to mean every employee.
+     */
+    @UnitOfWork
+    public EmployeeBulkResultDto applyBulk(EmployeeBulkRequestDto request) {
+        EmployeeBulkFilterDto filterDto = request.getFilter();
+        if (filterDto.isEmpty()) {
+            throw new ConstraintViolationException(EMPTY_FILTER, Set.of());
+        }
+
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .ids(filterDto.getIds())
+                .departmentId(filterDto.getDepartmentId())
+                .minSalary(filterDto.getMinSalary())
+                .maxSalary(filterDto.getMaxSalary())
+                .build();
+
+        List<Integer> ids = switch (request.getOperation()) {
+            case ADJUST_SALARY_PERCENT -> employeeRepository.adjustSalaries(filter, 1 + required(request.getValue(), "value") / 100, 0);
+            case ADJUST_SALARY -> employeeRepository.adjustSalaries(filter, 1, required(request.getValue(), "value"));
+            case REASSIGN -> reassign(filter, required(request.getDepartmentId(), "department_id"));
+            case DELETE -> {
+                List<Integer> deleted = employeeRepository.deleteMatching(filter);
+                unitOfWorkManager.afterCommit(() -> deleted.forEach(employeeSearchIndex::delete));
+                yield deleted;
+            }
+        };
+
+        return EmployeeBulkResultDto.builder()
+                .operation(request.getOperation())
+                .affected(ids.size())
+                .build();
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new ConstraintViolationException(INVALID_FIELD.formatted(field, null), Set.of());
+        }
+        return value;
+    }
+
+    private List<Integer> reassign(EmployeeFilter filter, Integer departmentId) {
+        Department department = departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new ResourceNotFoundException(DepartmentService.NOT_FOUND.formatted(departmentId)));
+
+        List<Integer> ids = employeeRepository.reassign(filter, departmentId);
+        if (!ids.isEmpty()) {
+            unitOfWorkManager.afterCommit(() -> employeeSearchIndex.upsertDepartment(department));
+        }
+        return ids;
+    }
+
+    List<BatchItemResultDto> processChunk(List<EmployeeDto> chunk, int offset) {
+        BatchItemResultDto[] results = new BatchItemResultDto[chunk.size()];
+
+        Set<String> takenEmails = new HashSet<>(employeeRepository.findExistingEmails(chunk.stream()
+                .map(EmployeeDto::getEmail).filter(Objects::nonNull)
+                .filter(employeeUniquenessIndex::mightContainEmail).collect(Collectors.toSet())));
+        Set<String> takenPhoneNumbers = new HashSet<>(employeeRepository.findExistingPhoneNumbers(chunk.stream()
+                .map(EmployeeDto::getPhoneNumber).filter(Objects::nonNull)
+                .filter(employeeUniquenessIndex::mightContainPhoneNumber).collect(Collectors.toSet())));
+        Set<Integer> departments = departmentRepository.findExistingIds(chunk.stream()
+                .map(EmployeeDto::getDepartmentId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        List<Employee> employees = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            EmployeeDto employeeDto = chunk.get(i);
+            int index = offset + i;
+
+            Set<ConstraintViolation<EmployeeDto>> violations = validator.validate(employeeDto);
+            if (!violations.isEmpty()) {
+                results[i] = item(index, INVALID, makeErrorMessage(violations));
+            } else if (employeeDto.getDepartmentId() != null && !departments.contains(employeeDto.getDepartmentId())) {
+                results[i] = item(index, INVALID, DepartmentService.NOT_FOUND.formatted(employeeDto.getDepartmentId()));
+            } else if (takenEmails.contains(employeeDto.getEmail())) {
+                results[i] = item(index, DUPLICATE, EmployeeService.DUPLICATE_EMAIL.formatted(employeeDto.getEmail()));
+            } else if (takenPhoneNumbers.contains(employeeDto.getPhoneNumber())) {
+                results[i] = item(index, DUPLICATE, EmployeeService.DUPLICATE_PHONE.formatted(employeeDto.getPhoneNumber()));
+            } else {
+                takenEmails.add(employeeDto.getEmail());
+                takenPhoneNumbers.add(employeeDto.getPhoneNumber());
+                employees.add(employeeMapper.toEntity(employeeDto));
+                positions.add(i);
+            }
+        }
+
+        if (!employees.isEmpty()) {
+            insert(employees, positions, offset, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Inserts the chunk as one batch. If the batch fails, a single row is to blame but PostgreSQL has rolled back all
+     * of it, so the rows are inserted again one at a time and each gets the outcome of its own insert.
+     */
+    private void insert(List<Employee> employees, List<Integer> positions, int offset, BatchItemResultDto[] results) {
+        List<Integer> ids;
+        try {
+            ids = employeeRepository.saveAll(employees);
+        } catch (RuntimeException e) {
+            insertEach(employees, positions, offset, results);
+            return;
+        }
+
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setId(ids.get(i));
+            results[positions.get(i)] = created(offset + positions.get(i), ids.get(i));
+        }
+        indexAfterCommit(employees);
+    }
+
+    private void insertEach(List<Employee> employees, List<Integer> positions, int offset, BatchItemResultDto[] results) {
+        List<Employee> inserted = new ArrayList<>(employees.size());
+
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            int index = offset + positions.get(i);
+
+            try {
+                employeeRepository.save(employee);
+                inserted.add(employee);
+                results[positions.get(i)] = created(index, employee.getId());
+            } catch (DuplicateResourceException e) {
+                results[positions.get(i)] = item(index, DUPLICATE, e.getMessage());
+            } catch (ResourceNotFoundException | ConstraintViolationException e) {
+                results[positions.get(i)] = item(index, INVALID, e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Failed to insert employee at index {}", index, e);
+                results[positions.get(i)] = item(index, FAILED, INSERT_FAILED);
+            }
+        }
+
+        if (!inserted.isEmpty()) {
+            indexAfterCommit(inserted);
+        }
+    }
+
+    private void indexAfterCommit(List<Employee> employees) {
+        unitOfWorkManager.afterCommit(() -> {
+            employees.forEach(employee -> employeeUniquenessIndex.add(employee.getEmail(), employee.getPhoneNumber()));
+            employeeSearchIndex.upsertAll(employees);
+        });
+    }
+}
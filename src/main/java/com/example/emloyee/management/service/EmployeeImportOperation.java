@@ -0,0 +1,81 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.model.dto.BatchItemResultDto;
+import com.example.emloyee.management.model.dto.BatchItemStatus;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.repository.JobItemRepository;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts {@code items} through {@link EmployeeBatchService}. The items are staged in {@code job_items} on submit
+ * and read back one chunk at a time, so the stored parameters stay small. Repeating a chunk is harmless: rows that
+ * already made it in are reported as duplicates by the uniqueness checks.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeImportOperation implements BulkOperation<EmployeeImportOperation.Parameters> {
+
+    private final EmployeeBatchService employeeBatchService;
+
+    private final JobItemRepository jobItemRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public JobType type() {
+        return JobType.EMPLOYEE_IMPORT;
+    }
+
+    @Override
+    public Parameters parse(JsonNode parameters) throws JsonProcessingException {
+        return objectMapper.treeToValue(parameters, Parameters.class);
+    }
+
+    @Override
+    public long total(Parameters parameters) {
+        return parameters.items().size();
+    }
+
+    @Override
+    public Parameters stored(Parameters parameters) {
+        return new Parameters(List.of());
+    }
+
+    @Override
+    public void stage(Integer jobId, Parameters parameters) throws JsonProcessingException {
+        List<String> payloads = new ArrayList<>(parameters.items().size());
+        for (EmployeeDto item : parameters.items()) {
+            payloads.add(objectMapper.writeValueAsString(item));
+        }
+        jobItemRepository.insertAll(jobId, payloads);
+    }
+
+    @Override
+    public Chunk process(Integer jobId, Parameters parameters, long position, int size) throws JsonProcessingException {
+        List<EmployeeDto> items = new ArrayList<>(size);
+        for (String payload : jobItemRepository.findPayloads(jobId, position, size)) {
+            items.add(objectMapper.readValue(payload, EmployeeDto.class));
+        }
+
+        if (items.isEmpty()) {
+            return new Chunk(position, 0, 0, true);
+        }
+
+        List<BatchItemResultDto> results = employeeBatchService.processChunk(items, (int) position);
+        int failed = (int) results.stream().filter(result -> result.getStatus() != BatchItemStatus.CREATED).count();
+
+        return new Chunk(position + items.size(), items.size(), failed, items.size() < size);
+    }
+
+    public record Parameters(@JsonProperty(required = true) List<EmployeeDto> items) {
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeeSearchHitDto;
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.DepartmentRepository;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * On-disk Lucene index of employees and their department, for partial, fuzzy and fragment lookups that SQL could
+ * only answer with a sequential scan. Writes are applied as soon as the database write returns and become visible
+ * to searches at the next refresh ({@code app.search.refresh-interval}). A rebuild streams the table into the same
+ * writer; searches keep the previous snapshot until it finishes, and writes that arrive meanwhile are replayed on
+ * top of it.
+ */
+@Slf4j
+@Component
+public class EmployeeSearchIndex implements InitializingBean, DisposableBean {
+
+    static final String ID = "id";
+    static final String FIRST_NAME = "first_name";
+    static final String LAST_NAME = "last_name";
+    static final String EMAIL = "email";
+    static final String EMAIL_GRAMS = "email_grams";
+    static final String PHONE_NUMBER = "phone_number";
+    static final String DEPARTMENT_ID = "department_id";
+    static final String DEPARTMENT_NAME = "department_name";
+    static final String DEPARTMENT_LOCATION = "department_location";
+
+    private static final String[] TEXT_FIELDS = {FIRST_NAME, LAST_NAME, DEPARTMENT_NAME, DEPARTMENT_LOCATION};
+
+    private static final int GRAM = 3;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final Timer queryTimer;
+
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private final Analyzer analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), Map.of(EMAIL_GRAMS, new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            NGramTokenizer tokenizer = new NGramTokenizer(GRAM, GRAM);
+            return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+        }
+    }));
+
+    @Value("${app.search.directory}")
+    private Path path;
+
+    @Value("${app.export.fetch-size}")
+    private int fetchSize;
+
+    private Directory directory;
+
+    private volatile IndexWriter writer;
+
+    private volatile SearcherManager searcherManager;
+
+    private volatile Queue<Object> pendingWrites;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                               MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.queryTimer = Timer.builder("app.search.query")
+                .description("Employee search latency")
+                .register(meterRegistry);
+        Gauge.builder("app.search.index.documents", this, EmployeeSearchIndex::documents)
+                .description("Employees in the search index")
+                .register(meterRegistry);
+        Gauge.builder("app.search.index.size", this, EmployeeSearchIndex::sizeBytes)
+                .description("On-disk size of the employee search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static Set<String> grams(String fragment) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= fragment.length(); i++) {
+            grams.add(fragment.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static EmployeeSearchHitDto toHit(Document document, float score) {
+        return EmployeeSearchHitDto.builder()
+                .id(Integer.valueOf(document.get(ID)))
+                .firstName(document.get(FIRST_NAME))
+                .lastName(document.get(LAST_NAME))
+                .email(document.get(EMAIL))
+                .phoneNumber(document.get(PHONE_NUMBER))
+                .departmentId(document.getField(DEPARTMENT_ID) == null ? null : document.getField(DEPARTMENT_ID).numericValue().intValue())
+                .departmentName(document.get(DEPARTMENT_NAME))
+                .departmentLocation(document.get(DEPARTMENT_LOCATION))
+                .score(score)
+                .build();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        directory = FSDirectory.open(path);
+        open();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Ranks employees by how well each whitespace-separated part of {@code text} matches: exactly, as a prefix or
+     * within a small edit distance of a first name, last name, department name or location, or as a fragment of the
+     * email. Every part must match somewhere.
+     */
+    public List<EmployeeSearchHitDto> search(String text, int limit) {
+        Query query = query(text);
+        if (query == null) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                List<EmployeeSearchHitDto> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    hits.add(toHit(searcher.storedFields().document(scoreDoc.doc), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void upsert(Employee employee) {
+        upsertAll(List.of(employee));
+    }
+
+    public void upsertAll(Collection<Employee> employees) {
+        Map<Integer, Department> departments = new HashMap<>();
+        for (Employee employee : employees) {
+            Integer departmentId = employee.getDepartmentId();
+            if (departmentId != null && !departments.containsKey(departmentId)) {
+                departments.put(departmentId, departmentRepository.findById(departmentId).orElse(null));
+            }
+        }
+
+        for (Employee employee : employees) {
+            write(document(employee, employee.getDepartmentId() == null ? null : departments.get(employee.getDepartmentId())));
+        }
+    }
+
+    /**
+     * Re-indexes the employees of {@code department} after its name or location changed.
+     */
+    public void upsertDepartment(Department department) {
+        EmployeeFilter filter = EmployeeFilter.builder().departmentId(department.getId()).build();
+        Integer after = null;
+        List<Employee> employees;
+
+        do {
+            employees = employeeRepository.findAll(filter, after, fetchSize);
+            for (Employee employee : employees) {
+                write(document(employee, department));
+            }
+            after = employees.isEmpty() ? null : employees.get(employees.size() - 1).getId();
+        } while (employees.size() == fetchSize);
+    }
+
+    public void delete(Integer id) {
+        write(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval}")
+    public void refresh() {
+        if (rebuildLock.tryLock()) {
+            try {
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.warn("Search index refresh failed: {}", e.getMessage());
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval}")
+    public void commit() {
+        if (rebuildLock.tryLock()) {
+            try {
+                if (writer.hasUncommittedChanges()) {
+                    writer.commit();
+                }
+            } catch (IOException e) {
+                log.warn("Search index commit failed: {}", e.getMessage());
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Replaces the index contents with the current tables and returns the number of indexed employees, or
+     * {@code -1} when the rebuild failed and the last committed index was restored.
+     */
+    public int rebuild() {
+        rebuildLock.lock();
+        Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        try {
+            writer.commit();
+            pendingWrites = pending;
+
+            Map<Integer, Department> departments = new HashMap<>();
+            for (Department department : departmentRepository.findAll()) {
+                departments.put(department.getId(), department);
+            }
+
+            int[] count = {0};
+            writer.deleteAll();
+            employeeRepository.streamAll(fetchSize, employee -> {
+                try {
+                    apply(document(employee, employee.getDepartmentId() == null ? null : departments.get(employee.getDepartmentId())));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+
+            drain(pending);
+            pendingWrites = null;
+            drain(pending);
+
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Search index rebuilt with {} employees, {} bytes", count[0], sizeBytes());
+            return count[0];
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index rebuild failed: {}", e.getMessage());
+            restore(pending);
+            pendingWrites = null;
+            drain(pending);
+            return -1;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public int documents() {
+        IndexWriter indexWriter = writer;
+        return indexWriter == null ? 0 : indexWriter.getDocStats().numDocs;
+    }
+
+    public long sizeBytes() {
+        try {
+            long size = 0;
+            for (String file : directory.listAll()) {
+                size += directory.fileLength(file);
+            }
+            return size;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void open() throws IOException {
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Drops the uncommitted part of a failed rebuild and replays the writes that were queued during it. Rolling back
+     * closes the writer, so it is reopened on the last commit, which the rebuild made just before it started.
+     */
+    private void restore(Queue<Object> pending) {
+        try {
+            searcherManager.close();
+            writer.rollback();
+            open();
+            drain(pending);
+        } catch (IOException e) {
+            log.error("Search index could not be reopened: {}", e.getMessage());
+        }
+    }
+
+    private Document document(Employee employee, Department department) {
+        Document document = new Document();
+        document.add(new StringField(ID, employee.getId().toString(), Field.Store.YES));
+        addText(document, FIRST_NAME, employee.getFirstName());
+        addText(document, LAST_NAME, employee.getLastName());
+
+        if (employee.getEmail() != null) {
+            document.add(new StoredField(EMAIL, employee.getEmail()));
+            document.add(new TextField(EMAIL_GRAMS, employee.getEmail(), Field.Store.NO));
+        }
+
+        if (employee.getPhoneNumber() != null) {
+            document.add(new StoredField(PHONE_NUMBER, employee.getPhoneNumber()));
+        }
+
+        if (employee.getDepartmentId() != null) {
+            document.add(new StoredField(DEPARTMENT_ID, employee.getDepartmentId()));
+        }
+
+        if (department != null) {
+            addText(document, DEPARTMENT_NAME, department.getName());
+            addText(document, DEPARTMENT_LOCATION, department.getLocation());
+        }
+        return document;
+    }
+
+    /**
+     * Applies a document upsert or an id deletion now, or queues it while a rebuild is streaming the table. The
+     * {@link IndexWriter} is thread-safe, so writes take no lock; a change queued just as the rebuild finished is
+     * drained by the writer that queued it.
+     */
+    private void write(Object change) {
+        Queue<Object> pending = pendingWrites;
+        if (pending == null) {
+            applyQuietly(change);
+            return;
+        }
+
+        pending.add(change);
+        if (pendingWrites != pending) {
+            drain(pending);
+        }
+    }
+
+    private void drain(Queue<Object> pending) {
+        Object change;
+        while ((change = pending.poll()) != null) {
+            applyQuietly(change);
+        }
+    }
+
+    private void applyQuietly(Object change) {
+        try {
+            apply(change);
+        } catch (IOException e) {
+            log.warn("Search index write failed: {}", e.getMessage());
+        }
+    }
+
+    private void apply(Object change) throws IOException {
+        if (change instanceof Document document) {
+            writer.updateDocument(new Term(ID, document.get(ID)), document);
+        } else {
+            writer.deleteDocuments(new Term(ID, change.toString()));
+        }
+    }
+
+    private Query query(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String part : text.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            BooleanQuery.Builder partQuery = new BooleanQuery.Builder();
+
+            for (String token : tokens(part)) {
+                for (String field : TEXT_FIELDS) {
+                    Term term = new Term(field, token);
+                    partQuery.add(new BoostQuery(new TermQuery(term), 3), BooleanClause.Occur.SHOULD);
+                    partQuery.add(new BoostQuery(new PrefixQuery(term), 2), BooleanClause.Occur.SHOULD);
+                    if (token.length() >= GRAM) {
+                        partQuery.add(new FuzzyQuery(term, token.length() >= 6 ? 2 : 1), BooleanClause.Occur.SHOULD);
+                    }
+                }
+            }
+
+            Set<String> grams = grams(part);
+            if (!grams.isEmpty()) {
+                BooleanQuery.Builder fragment = new BooleanQuery.Builder();
+                for (String gram : grams) {
+                    fragment.add(new TermQuery(new Term(EMAIL_GRAMS, gram)), BooleanClause.Occur.MUST);
+                }
+                partQuery.add(new BoostQuery(fragment.build(), 2), BooleanClause.Occur.SHOULD);
+            }
+
+            query.add(partQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> tokens(String part) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIRST_NAME, part)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+}
@@ -1,19 +1,34 @@
 package com.example.emloyee.management.service;
 
+import com.example.emloyee.management.config.UnitOfWork;
+import com.example.emloyee.management.config.UnitOfWorkManager;
 import com.example.emloyee.management.exception.DuplicateResourceException;
 import com.example.emloyee.management.exception.NoUpdateException;
 import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.EmployeeMapper;
 import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeeSearchHitDto;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
 import com.example.emloyee.management.model.entity.Employee;
 import com.example.emloyee.management.repository.EmployeeRepository;
-import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.example.emloyee.management.repository.TableVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class EmployeeService {
 
     public static final String NOT_FOUND = "Employee with id = [%d] not found";
@@ -23,7 +38,26 @@ public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
 
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+
+    private final TableVersionRepository tableVersionRepository;
+
+    private final EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    private final ObjectMapper objectMapper;
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    @Value("${app.write.mode}")
+    private WriteMode writeMode = WriteMode.CHECKED;
+
+    @Value("${app.export.fetch-size}")
+    private int exportFetchSize;
+
+    @Value("${app.export.flush-rows}")
+    private int exportFlushRows;
 
     private static void checkForEmployeeUpdates(EmployeeDto employeeDto, Integer id, Employee employee) {
         boolean isDifferent = !employee.getFirstName().equals(employeeDto.getFirstName()) ||
@@ -38,56 +72,118 @@ public class EmployeeService {
         }
     }
 
-    public List<EmployeeDto> getAllEmployees() {
-        List<Employee> employees = employeeRepository.findAll();
+    @UnitOfWork(readOnly = true)
+    public Versioned<PageDto<EmployeeDto>> getAllEmployees(EmployeeFilter filter, Integer after, int limit,
+                                                           Predicate<Map<String, Long>> current) {
+        return Versioned.read(tableVersionRepository.getVersions(TableVersionRepository.EMPLOYEES), current, () -> {
+            List<Employee> employees = employeeRepository.findAll(filter, after, limit + 1);
+
+            return PageDto.of(employees, limit, Employee::getId,
+                    employeeMapper::toDto);
+        });
+    }
 
-        return employees.stream()
-                .map(employee -> modelMapper.map(employee, EmployeeDto.class))
-                .toList();
+    public void exportEmployees(OutputStream outputStream) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream, exportFlushRows)) {
+            employeeRepository.streamAll(exportFetchSize, employee -> writer.write(employeeMapper.toDto(employee)));
+        }
     }
 
+    public void exportEmployeesCsv(OutputStream outputStream) throws IOException {
+        employeeRepository.copyOut(outputStream);
+    }
+
+    public ImportResultDto importEmployeesCsv(InputStream inputStream) throws IOException {
+        ImportResultDto result = employeeRepository.copyIn(inputStream);
+        employeeUniquenessIndex.rebuild();
+        employeeSearchIndex.rebuild();
+        return result;
+    }
+
+    @UnitOfWork(readOnly = true)
+    public Optional<Long> getEmployeeVersion(Integer id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    public List<EmployeeSearchHitDto> searchEmployees(String text, int limit) {
+        return employeeSearchIndex.search(text, limit);
+    }
+
+    @UnitOfWork(readOnly = true)
     public EmployeeDto getEmployeeById(Integer id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
 
-        return modelMapper.map(employee, EmployeeDto.class);
+        return employeeMapper.toDto(employee);
     }
 
+    @UnitOfWork
     public EmployeeDto addEmployee(EmployeeDto employeeDto) {
+        if (writeMode == WriteMode.RETURNING) {
+            Employee employee = employeeRepository.insert(employeeMapper.toEntity(employeeDto));
+            indexAfterCommit(employee);
+            return employeeMapper.toDto(employee);
+        }
+
         checkForDuplications(employeeDto);
 
-        Employee employee = modelMapper.map(employeeDto, Employee.class);
+        Employee employee = employeeMapper.toEntity(employeeDto);
         employeeRepository.save(employee);
+        indexAfterCommit(employee);
 
-        return employeeDto;
+        return employeeMapper.toDto(employee);
     }
 
+    @UnitOfWork
     public EmployeeDto updateEmployee(EmployeeDto employeeDto, Integer id) {
-        Employee employee = employeeRepository.findById(id)
+        if (writeMode == WriteMode.RETURNING) {
+            Employee employee = employeeRepository.updateReturning(employeeMapper.toEntity(employeeDto), id)
+                    .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
+            indexAfterCommit(employee);
+            return employeeMapper.toDto(employee);
+        }
+
+        Employee employee = employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
 
         checkForDuplications(employeeDto);
 
         checkForEmployeeUpdates(employeeDto, id, employee);
 
-        Employee employeeUpdateRequest = modelMapper.map(employeeDto, Employee.class);
+        Employee employeeUpdateRequest = employeeMapper.toEntity(employeeDto);
         employeeRepository.update(employeeUpdateRequest, id);
-        return modelMapper.map(getEmployeeById(id), EmployeeDto.class);
+
+        EmployeeDto updatedEmployee = getEmployeeById(id);
+        Employee updated = employeeMapper.toEntity(updatedEmployee);
+        unitOfWorkManager.afterCommit(() -> {
+            employeeUniquenessIndex.add(employeeUpdateRequest.getEmail(), employeeUpdateRequest.getPhoneNumber());
+            employeeSearchIndex.upsert(updated);
+        });
+        return updatedEmployee;
     }
 
+    @UnitOfWork
     public void deleteEmployeeById(Integer id) {
-        employeeRepository.findById(id)
+        employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
 
         employeeRepository.deleteById(id);
+        unitOfWorkManager.afterCommit(() -> employeeSearchIndex.delete(id));
+    }
+
+    private void indexAfterCommit(Employee employee) {
+        unitOfWorkManager.afterCommit(() -> {
+            employeeUniquenessIndex.add(employee.getEmail(), employee.getPhoneNumber());
+            employeeSearchIndex.upsert(employee);
+        });
     }
 
     private void checkForDuplications(EmployeeDto employeeDto) {
-        if (employeeRepository.existsByEmail(employeeDto.getEmail())) {
+        if (employeeUniquenessIndex.isEmailTaken(employeeDto.getEmail())) {
             throw new DuplicateResourceException(DUPLICATE_EMAIL.formatted(employeeDto.getEmail()));
         }
 
-        if (employeeRepository.existsByPhoneNumber(employeeDto.getPhoneNumber())) {
+        if (employeeUniquenessIndex.isPhoneNumberTaken(employeeDto.getPhoneNumber())) {
             throw new DuplicateResourceException(DUPLICATE_PHONE.formatted(employeeDto.getPhoneNumber()));
         }
     }
@@ -0,0 +1,136 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.index.UniquenessIndex;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process index of employee emails and phone numbers that answers most uniqueness checks without a query.
+ * Only values the index reports as possibly taken are confirmed with an {@code EXISTS} query. Until the first
+ * rebuild from the table completes every value counts as possibly taken, so checks fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeUniquenessIndex implements MeterBinder {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Lock rebuildLock = new ReentrantLock();
+
+    @Value("${app.export.fetch-size}")
+    private int fetchSize;
+
+    private volatile UniquenessIndex emails;
+
+    private volatile UniquenessIndex phoneNumbers;
+
+    private List<String[]> pendingAdds;
+
+    public boolean isEmailTaken(String email) {
+        UniquenessIndex index = emails;
+        if (index != null && !index.mightContain(email)) {
+            return false;
+        }
+        return employeeRepository.existsByEmail(email);
+    }
+
+    public boolean isPhoneNumberTaken(String phoneNumber) {
+        UniquenessIndex index = phoneNumbers;
+        if (index != null && !index.mightContain(phoneNumber)) {
+            return false;
+        }
+        return employeeRepository.existsByPhoneNumber(phoneNumber);
+    }
+
+    public boolean mightContainEmail(String email) {
+        UniquenessIndex index = emails;
+        return index == null || index.mightContain(email);
+    }
+
+    public boolean mightContainPhoneNumber(String phoneNumber) {
+        UniquenessIndex index = phoneNumbers;
+        return index == null || index.mightContain(phoneNumber);
+    }
+
+    public synchronized void add(String email, String phoneNumber) {
+        if (emails != null) {
+            emails.add(email);
+            phoneNumbers.add(phoneNumber);
+        }
+
+        if (pendingAdds != null) {
+            pendingAdds.add(new String[]{email, phoneNumber});
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (this) {
+                pendingAdds = new ArrayList<>();
+            }
+
+            int expectedSize = Math.max(1024, employeeRepository.count() * 2);
+            UniquenessIndex rebuiltEmails = new UniquenessIndex(expectedSize);
+            UniquenessIndex rebuiltPhoneNumbers = new UniquenessIndex(expectedSize);
+
+            employeeRepository.streamUniqueKeys(fetchSize, (email, phoneNumber) -> {
+                rebuiltEmails.add(email);
+                rebuiltPhoneNumbers.add(phoneNumber);
+            });
+
+            synchronized (this) {
+                for (String[] pending : pendingAdds) {
+                    rebuiltEmails.add(pending[0]);
+                    rebuiltPhoneNumbers.add(pending[1]);
+                }
+                emails = rebuiltEmails;
+                phoneNumbers = rebuiltPhoneNumbers;
+            }
+
+            log.info("Uniqueness index rebuilt with {} employees, {} bytes", rebuiltEmails.size(), memoryBytes());
+
+        } catch (RuntimeException e) {
+            log.warn("Uniqueness index rebuild failed: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                pendingAdds = null;
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    public long memoryBytes() {
+        UniquenessIndex emailIndex = emails;
+        UniquenessIndex phoneNumberIndex = phoneNumbers;
+        return emailIndex == null ? 0 : emailIndex.memoryBytes() + phoneNumberIndex.memoryBytes();
+    }
+
+    public int size() {
+        UniquenessIndex index = emails;
+        return index == null ? 0 : index.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.uniqueness.index.memory", this, EmployeeUniquenessIndex::memoryBytes)
+                .description("Memory held by the employee email and phone number uniqueness index")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("app.uniqueness.index.size", this, EmployeeUniquenessIndex::size)
+                .description("Distinct emails tracked by the uniqueness index")
+                .register(registry);
+    }
+}
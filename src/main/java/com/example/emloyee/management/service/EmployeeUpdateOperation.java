@@ -0,0 +1,74 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies {@code changes} to every employee, or to those of {@code department_id}, walking the matching rows in id
+ * order. The department filter is part of the query, so the total and progress count matching rows only; rows that
+ * already hold the values are not failures.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeUpdateOperation implements BulkOperation<EmployeeUpdateOperation.Parameters> {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EmployeeService employeeService;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public JobType type() {
+        return JobType.EMPLOYEE_UPDATE;
+    }
+
+    @Override
+    public Parameters parse(JsonNode parameters) throws JsonProcessingException {
+        return objectMapper.treeToValue(parameters, Parameters.class);
+    }
+
+    @Override
+    public long total(Parameters parameters) {
+        return employeeRepository.count(filter(parameters));
+    }
+
+    @Override
+    public Chunk process(Integer jobId, Parameters parameters, long position, int size) {
+        List<Employee> employees = employeeRepository.findAll(filter(parameters), (int) position, size);
+        int failed = 0;
+
+        for (Employee employee : employees) {
+            try {
+                employeeService.updateEmployee(parameters.changes(), employee.getId());
+            } catch (NoUpdateException e) {
+                // already up to date
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+
+        long next = employees.isEmpty() ? position : employees.get(employees.size() - 1).getId();
+        return new Chunk(next, employees.size(), failed, employees.size() < size);
+    }
+
+    private static EmployeeFilter filter(Parameters parameters) {
+        return EmployeeFilter.builder().departmentId(parameters.departmentId()).build();
+    }
+
+    public record Parameters(@JsonProperty(required = true) EmployeeDto changes,
+                             @JsonProperty("department_id") Integer departmentId) {
+    }
+}
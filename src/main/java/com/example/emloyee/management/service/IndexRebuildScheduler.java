@@ -0,0 +1,63 @@
+package com.example.emloyee.management.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the periodic full rebuilds of {@link EmployeeUniquenessIndex} and {@link EmployeeSearchIndex} on a thread of
+ * their own, starting right after startup. A rebuild streams the whole employees table, so on the shared
+ * {@code @Scheduled} pool it would hold up the replica lag checks and search refreshes for its whole length.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexRebuildScheduler implements SmartLifecycle {
+
+    private final EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    @Value("${app.uniqueness-index.rebuild-interval}")
+    private long uniquenessRebuildInterval;
+
+    @Value("${app.search.rebuild-interval}")
+    private long searchRebuildInterval;
+
+    private volatile ScheduledExecutorService executor;
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("index-rebuild-"));
+        schedule(employeeUniquenessIndex::rebuild, uniquenessRebuildInterval);
+        schedule(employeeSearchIndex::rebuild, searchRebuildInterval);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void schedule(Runnable rebuild, long interval) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                rebuild.run();
+            } catch (RuntimeException e) {
+                log.warn("Index rebuild failed: {}", e.getMessage());
+            }
+        }, 0, interval, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.config.UnitOfWork;
+import com.example.emloyee.management.config.UnitOfWorkManager;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.JobDto;
+import com.example.emloyee.management.model.dto.JobRequestDto;
+import com.example.emloyee.management.model.dto.JobStatus;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.model.entity.Job;
+import com.example.emloyee.management.repository.JobItemRepository;
+import com.example.emloyee.management.repository.JobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs bulk operations on a fixed pool of {@code app.jobs.workers} threads, separate from request threads. After
+ * each chunk of {@code app.jobs.chunk-size} rows the position and counters are committed to {@code jobs}; a
+ * cancelled job stops at the next chunk boundary.
+ * <p>
+ * Each instance leases the jobs it runs and renews the lease every {@code app.jobs.heartbeat-interval} ms. A job
+ * whose lease is older than {@code app.jobs.lease} ms, because its instance stopped, is requeued by whichever
+ * instance notices first and resumes from its last checkpoint.
+ */
+@Slf4j
+@Service
+public class JobService implements InitializingBean, DisposableBean {
+
+    public static final String NOT_FOUND = "Job with id = [%d] not found";
+
+    private final JobRepository jobRepository;
+
+    private final JobItemRepository jobItemRepository;
+
+    private final Map<JobType, BulkOperation<?>> operations;
+
+    private final ObjectMapper objectMapper;
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    @Value("${app.jobs.workers}")
+    private int workers;
+
+    @Value("${app.jobs.chunk-size}")
+    private int chunkSize;
+
+    @Value("${app.jobs.lease}")
+    private long lease;
+
+    private ExecutorService executor;
+
+    public JobService(JobRepository jobRepository, JobItemRepository jobItemRepository,
+                      List<BulkOperation<?>> operations, ObjectMapper objectMapper, UnitOfWorkManager unitOfWorkManager) {
+        this.jobRepository = jobRepository;
+        this.jobItemRepository = jobItemRepository;
+        this.operations = operations.stream().collect(Collectors.toMap(BulkOperation::type, Function.identity()));
+        this.objectMapper = objectMapper;
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    static JobDto toDto(Job job, Instant now) {
+        JobDto jobDto = JobDto.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .failed(job.getFailed())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+
+        if (job.getStartedAt() != null) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            double rowsPerSecond = (job.getProcessed() - job.getStartedProcessed()) * 1000.0 / millis;
+            jobDto.setRowsPerSecond(rowsPerSecond);
+
+            if (job.getStatus() == JobStatus.RUNNING && rowsPerSecond > 0) {
+                jobDto.setEtaSeconds((long) Math.ceil(Math.max(0, job.getTotal() - job.getProcessed()) / rowsPerSecond));
+            }
+        }
+
+        return jobDto;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), new CustomizableThreadFactory("job-"));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() {
+        try {
+            List<Integer> interrupted = jobRepository.requeueExpired(Instant.now().minusMillis(lease));
+            List<Integer> queued = jobRepository.findIdsByStatus(JobStatus.QUEUED);
+            if (!queued.isEmpty()) {
+                log.info("Resuming {} queued jobs ({} interrupted)", queued.size(), interrupted.size());
+            }
+            queued.forEach(this::dispatch);
+        } catch (RuntimeException e) {
+            log.warn("Could not resume jobs", e);
+        }
+    }
+
+    /**
+     * Renews the leases of the jobs this instance runs and takes over jobs whose lease has expired.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval}")
+    public void heartbeat() {
+        try {
+            Instant now = Instant.now();
+            jobRepository.heartbeat(owner, now);
+
+            List<Integer> expired = jobRepository.requeueExpired(now.minusMillis(lease));
+            if (!expired.isEmpty()) {
+                log.info("Taking over {} jobs with expired leases", expired.size());
+            }
+            expired.forEach(this::dispatch);
+        } catch (RuntimeException e) {
+            log.warn("Job heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @UnitOfWork
+    public JobDto submitJob(JobRequestDto jobRequestDto) throws JsonProcessingException {
+        Job queued = submit(operations.get(jobRequestDto.getType()), jobRequestDto);
+        unitOfWorkManager.afterCommit(() -> dispatch(queued.getId()));
+        return toDto(queued, Instant.now());
+    }
+
+    public JobDto getJob(Integer id) {
+        return jobRepository.findById(id)
+                .map(job -> toDto(job, Instant.now()))
+                .orElseThrow(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id)));
+    }
+
+    /**
+     * Cancels a queued or running job. A running job finishes its current chunk first; finished jobs are returned
+     * unchanged.
+     */
+    public JobDto cancelJob(Integer id) {
+        if (jobRepository.cancel(id, Instant.now())) {
+            jobItemRepository.deleteByJobId(id);
+        }
+        return getJob(id);
+    }
+
+    void run(Integer id) {
+        try {
+            if (!jobRepository.claim(id, owner, Instant.now())) {
+                return;
+            }
+
+            Job job = jobRepository.findById(id).orElseThrow();
+            execute(operations.get(job.getType()), job);
+        } catch (Exception e) {
+            log.warn("Job {} failed", id, e);
+            finish(id, JobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private <P> Job submit(BulkOperation<P> operation, JobRequestDto jobRequestDto) throws JsonProcessingException {
+        P parameters = operation.parse(jobRequestDto.getParameters());
+        Job job = Job.builder()
+                .type(jobRequestDto.getType())
+                .parameters(objectMapper.writeValueAsString(operation.stored(parameters)))
+                .total(operation.total(parameters))
+                .createdAt(Instant.now())
+                .build();
+
+        Job queued = jobRepository.insert(job);
+        operation.stage(queued.getId(), parameters);
+        return queued;
+    }
+
+    private <P> void execute(BulkOperation<P> operation, Job job) throws JsonProcessingException {
+        P parameters = operation.parse(objectMapper.readTree(job.getParameters()));
+        long position = job.getPosition();
+        long processed = job.getProcessed();
+        long failed = job.getFailed();
+
+        while (true) {
+            BulkOperation.Chunk chunk = operation.process(job.getId(), parameters, position, chunkSize);
+            position = chunk.position();
+            processed += chunk.processed();
+            failed += chunk.failed();
+
+            if (!jobRepository.checkpoint(job.getId(), owner, position, processed, failed, Instant.now())) {
+                log.info("Job {} stopped after {} rows", job.getId(), processed);
+                return;
+            }
+            if (chunk.last()) {
+                finish(job.getId(), JobStatus.COMPLETED, null);
+                return;
+            }
+        }
+    }
+
+    private void finish(Integer id, JobStatus status, String error) {
+        if (jobRepository.finish(id, owner, status, error, Instant.now())) {
+            jobItemRepository.deleteByJobId(id);
+        }
+    }
+
+    private void dispatch(Integer id) {
+        executor.execute(() -> run(id));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.emloyee.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one JSON document per line and flushes every {@code flushRows} rows, so a client
+ * receives data while the export is still running. A failed write (usually a disconnected
+ * client) surfaces as an {@link UncheckedIOException}, which aborts the repository scan.
+ */
+public class NdjsonWriter implements Closeable {
+
+    private final JsonGenerator generator;
+
+    private final int flushRows;
+
+    private long rows;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream, int flushRows) throws IOException {
+        this.generator = objectMapper.createGenerator(outputStream);
+        this.generator.setRootValueSeparator(null);
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    public void write(Object value) {
+        try {
+            generator.writeObject(value);
+            generator.writeRaw('\n');
+
+            if (++rows % flushRows == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
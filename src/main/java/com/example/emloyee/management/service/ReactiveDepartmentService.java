@@ -0,0 +1,54 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.DepartmentMapper;
+import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.repository.ReactiveDepartmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static com.example.emloyee.management.service.DepartmentService.NOT_FOUND;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveDepartmentService {
+
+    private final ReactiveDepartmentRepository departmentRepository;
+
+    private final DepartmentMapper departmentMapper;
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    public Flux<DepartmentDto> getAllDepartments(Integer after, Integer limit) {
+        return (limit == null ? departmentRepository.findAll() : departmentRepository.findAll(after, limit))
+                .map(departmentMapper::toDto);
+    }
+
+    public Mono<DepartmentDto> getDepartmentById(Integer id) {
+        return departmentRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id))))
+                .map(departmentMapper::toDto);
+    }
+
+    public Mono<DepartmentDto> addDepartment(DepartmentDto departmentDto) {
+        return departmentRepository.save(departmentMapper.toEntity(departmentDto))
+                .map(departmentMapper::toDto);
+    }
+
+    public Mono<DepartmentDto> updateDepartment(DepartmentDto departmentDto, Integer id) {
+        return departmentRepository.update(departmentMapper.toEntity(departmentDto), id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id))))
+                .flatMap(department -> Mono.fromRunnable(() -> employeeSearchIndex.upsertDepartment(department))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(department))
+                .map(departmentMapper::toDto);
+    }
+
+    public Mono<Void> deleteDepartmentById(Integer id) {
+        return departmentRepository.deleteById(id)
+                .flatMap(deleted -> deleted ? Mono.empty() : Mono.error(new ResourceNotFoundException(NOT_FOUND.formatted(id))));
+    }
+}
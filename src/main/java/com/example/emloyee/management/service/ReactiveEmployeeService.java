@@ -0,0 +1,69 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.EmployeeMapper;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.ReactiveEmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static com.example.emloyee.management.service.EmployeeService.NOT_FOUND;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    private final EmployeeMapper employeeMapper;
+
+    private final EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    public Flux<EmployeeDto> getAllEmployees(Integer after, Integer limit) {
+        return (limit == null ? employeeRepository.findAll() : employeeRepository.findAll(after, limit))
+                .map(employeeMapper::toDto);
+    }
+
+    public Mono<EmployeeDto> getEmployeeById(Integer id) {
+        return employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id))))
+                .map(employeeMapper::toDto);
+    }
+
+    public Mono<EmployeeDto> addEmployee(EmployeeDto employeeDto) {
+        return employeeRepository.save(employeeMapper.toEntity(employeeDto))
+                .flatMap(employee -> index(employee).thenReturn(employee))
+                .map(employeeMapper::toDto);
+    }
+
+    public Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, Integer id) {
+        return employeeRepository.update(employeeMapper.toEntity(employeeDto), id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(NOT_FOUND.formatted(id))))
+                .flatMap(employee -> index(employee).thenReturn(employee))
+                .map(employeeMapper::toDto);
+    }
+
+    public Mono<Void> deleteEmployeeById(Integer id) {
+        return employeeRepository.deleteById(id)
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>fromRunnable(() -> employeeSearchIndex.delete(id)).subscribeOn(Schedulers.boundedElastic())
+                        : Mono.error(new ResourceNotFoundException(NOT_FOUND.formatted(id))));
+    }
+
+    /**
+     * Updates both indexes off the event loop: the search index reads the employee's department over JDBC.
+     */
+    private Mono<Void> index(Employee employee) {
+        return Mono.<Void>fromRunnable(() -> {
+                    employeeUniquenessIndex.add(employee.getEmail(), employee.getPhoneNumber());
+                    employeeSearchIndex.upsert(employee);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.emloyee.management.service;
+
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A result together with the versions of the tables it was read from, keyed by table name in tag order. Both are read
+ * in one unit of work, on one connection, versions first, so the result is never older than the versions that tag
+ * it. {@code value} is {@code null} when the caller already holds these versions and the read was skipped.
+ */
+public record Versioned<T>(Map<String, Long> versions, T value) {
+
+    static <T> Versioned<T> read(Map<String, Long> versions, Predicate<Map<String, Long>> current, Supplier<T> reader) {
+        return new Versioned<>(versions, current.test(versions) ? null : reader.get());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.emloyee.management.service;
+
+/**
+ * CHECKED validates with reads before writing, RETURNING writes in a single
+ * statement and relies on table constraints.
+ */
+public enum WriteMode {
+    CHECKED,
+    RETURNING
+}
@@ -0,0 +1,33 @@
+ALTER TABLE departments ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+
+CREATE TABLE table_versions(
+table_name VARCHAR PRIMARY KEY,
+version BIGINT NOT NULL);
+
+INSERT INTO table_versions(table_name, version) VALUES ('departments', 1);
+INSERT INTO table_versions(table_name, version) VALUES ('employees', 1);
+
+CREATE FUNCTION increment_row_version() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.version := OLD.version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION increment_table_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER departments_row_version BEFORE UPDATE ON departments
+    FOR EACH ROW EXECUTE FUNCTION increment_row_version();
+CREATE TRIGGER departments_table_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON departments
+    FOR EACH STATEMENT EXECUTE FUNCTION increment_table_version();
+
+CREATE TRIGGER employees_row_version BEFORE UPDATE ON employees
+    FOR EACH ROW EXECUTE FUNCTION increment_row_version();
+CREATE TRIGGER employees_table_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION increment_table_version();
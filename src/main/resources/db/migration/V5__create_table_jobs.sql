@@ -0,0 +1,16 @@
+CREATE TABLE jobs(
+id SERIAL PRIMARY KEY,
+type VARCHAR NOT NULL,
+status VARCHAR NOT NULL,
+parameters TEXT NOT NULL,
+total BIGINT NOT NULL DEFAULT 0,
+processed BIGINT NOT NULL DEFAULT 0,
+failed BIGINT NOT NULL DEFAULT 0,
+position BIGINT NOT NULL DEFAULT 0,
+error VARCHAR,
+created_at TIMESTAMPTZ NOT NULL,
+started_at TIMESTAMPTZ,
+started_processed BIGINT NOT NULL DEFAULT 0,
+finished_at TIMESTAMPTZ);
+
+CREATE INDEX jobs_status_idx ON jobs(status);
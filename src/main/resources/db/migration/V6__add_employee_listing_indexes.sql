@@ -0,0 +1,7 @@
+CREATE INDEX employees_department_salary_idx ON employees (department_id, salary, id);
+CREATE INDEX employees_salary_idx ON employees (salary, id);
+CREATE INDEX employees_first_name_idx ON employees (first_name, id);
+CREATE INDEX employees_last_name_idx ON employees (last_name, id);
+
+CREATE INDEX employees_first_name_prefix_idx ON employees (lower(first_name) text_pattern_ops);
+CREATE INDEX employees_last_name_prefix_idx ON employees (lower(last_name) text_pattern_ops);
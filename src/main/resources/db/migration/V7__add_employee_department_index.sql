@@ -0,0 +1 @@
+CREATE INDEX employees_department_id_idx ON employees (department_id, id);
@@ -0,0 +1,19 @@
+CREATE TABLE table_version_shards(
+table_name VARCHAR NOT NULL,
+shard INT NOT NULL,
+version BIGINT NOT NULL,
+PRIMARY KEY (table_name, shard));
+
+INSERT INTO table_version_shards(table_name, shard, version)
+SELECT table_name, shard, CASE WHEN shard = 0 THEN version ELSE 0 END
+FROM table_versions CROSS JOIN generate_series(0, 15) AS shard;
+
+CREATE OR REPLACE FUNCTION increment_table_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE table_version_shards SET version = version + 1
+    WHERE table_name = TG_TABLE_NAME AND shard = pg_backend_pid() % 16;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TABLE table_versions;
@@ -0,0 +1,8 @@
+ALTER TABLE jobs ADD COLUMN owner VARCHAR;
+ALTER TABLE jobs ADD COLUMN heartbeat_at TIMESTAMPTZ;
+
+CREATE TABLE job_items(
+job_id INT NOT NULL REFERENCES jobs(id) ON DELETE CASCADE,
+position INT NOT NULL,
+payload TEXT NOT NULL,
+PRIMARY KEY (job_id, position));
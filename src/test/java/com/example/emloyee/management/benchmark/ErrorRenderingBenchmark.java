@@ -0,0 +1,81 @@
+package com.example.emloyee.management.benchmark;
+
+import com.example.emloyee.management.controller.EmployeeController;
+import com.example.emloyee.management.exception.ApiExceptionHandler;
+import com.example.emloyee.management.exception.ErrorResponse;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ApiExceptionHandler} building an {@link ErrorResponse} and Jackson rendering it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorRenderingBenchmark {
+
+    private final ApiExceptionHandler apiExceptionHandler = new ApiExceptionHandler();
+
+    private ObjectMapper objectMapper;
+
+    private MockHttpServletRequest request;
+
+    private ResourceNotFoundException notFound;
+
+    private MethodArgumentNotValidException notValid;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = new MockHttpServletRequest("POST", "/employees");
+        request.setServletPath("/employees");
+        notFound = new ResourceNotFoundException("Employee with id = [10] not found");
+
+        EmployeeDto employeeDto = new EmployeeDto(null, " ", "", 1, "mail", "123", 0.0, null);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(employeeDto, "employeeDto");
+        bindingResult.rejectValue("firstName", "NotBlank");
+        bindingResult.rejectValue("lastName", "NotEmpty");
+        bindingResult.rejectValue("email", "Email");
+        bindingResult.rejectValue("phoneNumber", "Pattern");
+        bindingResult.rejectValue("salary", "Min");
+
+        MethodParameter parameter = new MethodParameter(
+                EmployeeController.class.getMethod("addEmployee", EmployeeDto.class), 0);
+        notValid = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public byte[] renderNotFound() throws JsonProcessingException {
+        ResponseEntity<ErrorResponse> response = apiExceptionHandler.onResourceNotFound(request, notFound);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] renderNotValid() throws JsonProcessingException {
+        ResponseEntity<ErrorResponse> response = apiExceptionHandler.onMethodArgumentNotValid(request, notValid);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.emloyee.management.benchmark;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC stand-in backed by a list of rows, so benchmarks measure the repository code rather than the driver.
+ * Every statement returns the same rows; updates report one affected row.
+ */
+final class InMemoryJdbc {
+
+    private InMemoryJdbc() {
+    }
+
+    static DataSource dataSource(String[] columns, List<Object[]> rows) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            indexes.put(columns[i], i);
+        }
+
+        InvocationHandler statement = (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> resultSet(indexes, rows);
+            case "executeUpdate" -> 1;
+            default -> defaultValue(method.getReturnType());
+        };
+        Object preparedStatement = proxy(PreparedStatement.class, statement);
+
+        InvocationHandler connection = (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement", "createStatement" -> preparedStatement;
+            case "getAutoCommit" -> true;
+            default -> defaultValue(method.getReturnType());
+        };
+        Object connectionProxy = proxy(Connection.class, connection);
+
+        return proxy(DataSource.class, (proxy, method, args) ->
+                method.getName().equals("getConnection") ? connectionProxy : defaultValue(method.getReturnType()));
+    }
+
+    private static ResultSet resultSet(Map<String, Integer> indexes, List<Object[]> rows) {
+        int[] cursor = {-1};
+        Object[] last = {null};
+
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> ++cursor[0] < rows.size();
+            case "wasNull" -> last[0] == null;
+            case "getObject", "getString", "getInt", "getDouble" -> {
+                Object[] row = rows.get(cursor[0]);
+                Object value = args[0] instanceof String column ? row[indexes.get(column)] : row[(Integer) args[0] - 1];
+                last[0] = value;
+                yield value == null ? defaultValue(method.getReturnType()) : value;
+            }
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryJdbc.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+}
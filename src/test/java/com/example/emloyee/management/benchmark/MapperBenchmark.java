@@ -0,0 +1,96 @@
+package com.example.emloyee.management.benchmark;
+
+import com.example.emloyee.management.mapper.DepartmentMapper;
+import com.example.emloyee.management.mapper.EmployeeMapper;
+import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written mappers with the ModelMapper path they replaced.
+ * Run with {@code mvn -Pbenchmark -DskipTests -Djmh.include=MapperBenchmark integration-test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private final DepartmentMapper departmentMapper = new DepartmentMapper();
+
+    private Employee employee;
+
+    private EmployeeDto employeeDto;
+
+    private Department department;
+
+    private DepartmentDto departmentDto;
+
+    @Setup
+    public void setUp() {
+        employee = new Employee(1, "John", "Smith", 1, "john@mail.com", "098765432", 1500.0, 1L);
+        employeeDto = new EmployeeDto(null, "John", "Smith", 1, "john@mail.com", "098765432", 1500.0, null);
+        department = new Department(1, "IT", "Chisinau", 1L);
+        departmentDto = new DepartmentDto(null, "IT", "Chisinau", null, null, null);
+    }
+
+    @Benchmark
+    public EmployeeDto employeeToDtoModelMapper() {
+        return modelMapper.map(employee, EmployeeDto.class);
+    }
+
+    @Benchmark
+    public EmployeeDto employeeToDtoMapper() {
+        return employeeMapper.toDto(employee);
+    }
+
+    @Benchmark
+    public Employee employeeToEntityModelMapper() {
+        return modelMapper.map(employeeDto, Employee.class);
+    }
+
+    @Benchmark
+    public Employee employeeToEntityMapper() {
+        return employeeMapper.toEntity(employeeDto);
+    }
+
+    @Benchmark
+    public DepartmentDto departmentToDtoModelMapper() {
+        return modelMapper.map(department, DepartmentDto.class);
+    }
+
+    @Benchmark
+    public DepartmentDto departmentToDtoMapper() {
+        return departmentMapper.toDto(department);
+    }
+
+    @Benchmark
+    public Department departmentToEntityModelMapper() {
+        return modelMapper.map(departmentDto, Department.class);
+    }
+
+    @Benchmark
+    public Department departmentToEntityMapper() {
+        return departmentMapper.toEntity(departmentDto);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.emloyee.management.benchmark;
+
+import com.example.emloyee.management.config.MetricsConfig;
+import com.example.emloyee.management.config.OperationMetricsInterceptor;
+import com.example.emloyee.management.mapper.EmployeeMapper;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.entity.Employee;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link OperationMetricsInterceptor} adds to a call, on the cheapest instrumented method: a mapper.
+ * The registry publishes the same histogram as {@code application.properties}; {@code sampled} times one call in
+ * {@value #SAMPLE_RATE}, like the mapper advisor does by default.
+ * Run with {@code mvn -Pbenchmark -DskipTests -Djmh.include=OperationMetricsBenchmark integration-test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationMetricsBenchmark {
+
+    private static final int SAMPLE_RATE = 64;
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private EmployeeMapper proxiedMapper;
+
+    private EmployeeMapper instrumentedMapper;
+
+    private EmployeeMapper sampledMapper;
+
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        employee = new Employee(1, "John", "Smith", 1, "john@mail.com", "098765432", 1500.0, 1L);
+
+        ProxyFactory plain = new ProxyFactory(new EmployeeMapper());
+        plain.setProxyTargetClass(true);
+        proxiedMapper = (EmployeeMapper) plain.getProxy();
+
+        MeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofNanos(100).toNanos())
+                        .maximumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        instrumentedMapper = instrument(1, beanFactory.getBeanProvider(MeterRegistry.class));
+        sampledMapper = instrument(SAMPLE_RATE, beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    private static EmployeeMapper instrument(int sampleRate, ObjectProvider<MeterRegistry> meterRegistry) {
+        ProxyFactory factory = new ProxyFactory(new EmployeeMapper());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(MetricsConfig.mapperMetricsAdvisor(sampleRate, meterRegistry));
+        return (EmployeeMapper) factory.getProxy();
+    }
+
+    @Benchmark
+    public EmployeeDto direct() {
+        return employeeMapper.toDto(employee);
+    }
+
+    @Benchmark
+    public EmployeeDto proxied() {
+        return proxiedMapper.toDto(employee);
+    }
+
+    @Benchmark
+    public EmployeeDto instrumented() {
+        return instrumentedMapper.toDto(employee);
+    }
+
+    @Benchmark
+    public EmployeeDto sampled() {
+        return sampledMapper.toDto(employee);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.emloyee.management.benchmark;
+
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EmployeeRepository} row mapping and dynamic UPDATE building over {@link InMemoryJdbc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final String[] COLUMNS = {
+            "id", "first_name", "last_name", "department_id", "email", "phone_number", "salary", "version"
+    };
+
+    @Param({"1", "100", "1000"})
+    private int rows;
+
+    private EmployeeRepository employeeRepository;
+
+    private Employee fullUpdate;
+
+    private Employee partialUpdate;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> data = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            data.add(new Object[]{i, "John", "Smith", 1, "john" + i + "@mail.com", "%09d".formatted(i), 1500.0, 1L});
+        }
+
+        DataSource dataSource = InMemoryJdbc.dataSource(COLUMNS, data);
+        employeeRepository = new EmployeeRepository();
+        ReflectionTestUtils.setField(employeeRepository, "dataSource", dataSource);
+        ReflectionTestUtils.setField(employeeRepository, "readDataSource", dataSource);
+
+        fullUpdate = new Employee(null, "John", "Smith", 1, "john@mail.com", "098765432", 1500.0, null);
+        partialUpdate = Employee.builder().email("john@mail.com").build();
+    }
+
+    @Benchmark
+    public List<Employee> findAll() {
+        return employeeRepository.findAll(null, rows);
+    }
+
+    @Benchmark
+    public void updateAllFields() {
+        employeeRepository.update(fullUpdate, 1);
+    }
+
+    @Benchmark
+    public void updateOneField() {
+        employeeRepository.update(partialUpdate, 1);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.emloyee.management.benchmark;
+
+import com.example.emloyee.management.EmployeeManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop HTTP load comparing platform-thread and virtual-thread request handling. The application is started
+ * once per mode on a random port against the database from {@code application.properties}, warmed up, and then
+ * driven by {@code clients} concurrent clients for {@code seconds}. Needs Java 21 (the {@code java21} profile).
+ * <p>
+ * Arguments: {@code [clients=1000] [seconds=30] [path=/employees?limit=20] [application args...]}
+ */
+public final class ThreadModeComparison {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private ThreadModeComparison() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        String path = args.length > 2 ? args[2] : "/employees?limit=20";
+        String[] applicationArgs = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : new String[0];
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            report.add(run(virtual, clients, Duration.ofSeconds(seconds), path, applicationArgs));
+        }
+
+        System.out.printf("%n%-9s %8s %12s %9s %9s %9s %7s%n", "mode", "clients", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        report.forEach(System.out::println);
+    }
+
+    private static String run(boolean virtual, int clients, Duration duration, String path, String[] applicationArgs)
+            throws InterruptedException {
+        String[] args = Stream.concat(Stream.of("--server.port=0", "--app.reactive.port=0",
+                "--app.threads.virtual=" + virtual, "--logging.level.root=WARN"), Arrays.stream(applicationArgs)).toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(EmployeeManagementApplication.class, args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+
+            load(request, clients, WARMUP);
+            Result result = load(request, clients, duration);
+
+            return "%-9s %8d %12.0f %9.1f %9.1f %9.1f %7d".formatted(virtual ? "virtual" : "platform", clients,
+                    result.count() / (duration.toNanos() / 1e9), result.percentile(0.50), result.percentile(0.99),
+                    result.percentile(1.0), result.errors());
+        }
+    }
+
+    private static Result load(HttpRequest request, int clients, Duration duration) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+        LongAdder errors = new LongAdder();
+        List<List<Long>> latencies = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            List<Long> clientLatencies = new ArrayList<>();
+            latencies.add(clientLatencies);
+            send(httpClient, request, deadline, clientLatencies, errors, done);
+        }
+        done.await();
+
+        long[] sorted = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted, errors.sum());
+    }
+
+    private static void send(HttpClient httpClient, HttpRequest request, long deadline, List<Long> latencies,
+                             LongAdder errors, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() != 200) {
+                errors.increment();
+            } else {
+                latencies.add(System.nanoTime() - start);
+            }
+            send(httpClient, request, deadline, latencies, errors, done);
+        });
+    }
+
+    private record Result(long[] latencies, long errors) {
+
+        long count() {
+            return latencies.length;
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
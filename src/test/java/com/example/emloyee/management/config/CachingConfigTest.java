@@ -0,0 +1,182 @@
+package com.example.emloyee.management.config;
+
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Isolation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.Optional;
+
+import static com.example.emloyee.management.config.CachingConfig.EMPLOYEES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {CachingConfig.class, EmployeeRepository.class, CachingConfigTest.UnitOfWorkConfig.class})
+@TestPropertySource(properties = {"app.cache.max-weight=1048576", "app.cache.ttl=1m"})
+class CachingConfigTest {
+
+    private static final int ID = 1;
+
+    private static final long WINDOW = 5000;
+
+    @TestConfiguration
+    static class UnitOfWorkConfig {
+
+        @Bean
+        UnitOfWorkManager unitOfWorkManager(@Qualifier("dataSource") DataSource dataSource) {
+            return new UnitOfWorkManager(dataSource, dataSource, Isolation.DEFAULT);
+        }
+
+        @Bean
+        ReadYourWrites readYourWrites() {
+            return new ReadYourWrites(WINDOW, Clock.systemUTC());
+        }
+    }
+
+    @MockBean(name = "dataSource")
+    private DataSource dataSource;
+
+    @MockBean(name = "readDataSource")
+    private DataSource readDataSource;
+
+    @MockBean(name = "replicaRoutingDataSource")
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @MockBean(name = "bulkDataSource")
+    private DataSource bulkDataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private ResultSet resultSet;
+
+    @AfterEach
+    void tearDown() {
+        readYourWrites.end();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        cacheManager.getCache(EMPLOYEES).clear();
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getString("first_name")).thenReturn("John");
+    }
+
+    @Test
+    void itShouldServeRepeatedFindByIdFromCache() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+
+        Optional<Employee> first = employeeRepository.findById(ID);
+        Optional<Employee> second = employeeRepository.findById(ID);
+
+        assertThat(second).isEqualTo(first).isPresent();
+        verify(readDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void itShouldNotCacheMissingEntity() throws SQLException {
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(employeeRepository.findById(ID)).isEmpty();
+        assertThat(employeeRepository.findById(ID)).isEmpty();
+
+        verify(readDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void itShouldNotCacheEntity_ReadFromReplica() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(replicaRoutingDataSource.isRoutedToReplica()).thenReturn(true);
+
+        employeeRepository.findById(ID);
+        employeeRepository.findById(ID);
+
+        verify(readDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void itShouldBypassCache_WhenPinnedToPrimary() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        employeeRepository.findById(ID);
+
+        readYourWrites.begin("client", true);
+        employeeRepository.findById(ID);
+
+        verify(readDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void itShouldEvictEntity_WhenUpdated() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+
+        employeeRepository.findById(ID);
+        employeeRepository.update(Employee.builder().firstName("Jane").build(), ID);
+        employeeRepository.findById(ID);
+
+        verify(readDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void itShouldEvictEntity_WhenDeleted() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+
+        employeeRepository.findById(ID);
+        employeeRepository.deleteById(ID);
+
+        assertThat(cacheManager.getCache(EMPLOYEES).get(ID)).isNull();
+    }
+
+    @Test
+    void itShouldEvictAllEntities_WhenAllDeleted() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+
+        employeeRepository.findById(ID);
+        employeeRepository.findById(ID + 1);
+        employeeRepository.deleteAll();
+
+        assertThat(cacheManager.getCache(EMPLOYEES).get(ID)).isNull();
+        assertThat(cacheManager.getCache(EMPLOYEES).get(ID + 1)).isNull();
+    }
+
+    @Test
+    void itShouldWeighEntitiesBySize() {
+        Employee small = Employee.builder().firstName("A").build();
+        Employee large = Employee.builder().firstName("A".repeat(100)).email("a@mail.com").build();
+
+        assertThat(CachingConfig.weigh(large)).isGreaterThan(CachingConfig.weigh(small));
+    }
+}
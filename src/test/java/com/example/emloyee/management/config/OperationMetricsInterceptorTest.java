@@ -0,0 +1,127 @@
+package com.example.emloyee.management.config;
+
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.DepartmentMapper;
+import com.example.emloyee.management.model.entity.Department;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static com.example.emloyee.management.config.OperationMetricsInterceptor.MAPPER;
+import static com.example.emloyee.management.config.OperationMetricsInterceptor.REPOSITORY;
+import static com.example.emloyee.management.config.OperationMetricsInterceptor.ROWS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperationMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Repository
+    static class NumberRepository {
+
+        public List<Integer> findAll(int count) {
+            return IntStream.range(0, count).boxed().toList();
+        }
+
+        public Optional<Integer> findById(Integer id) {
+            throw new ResourceNotFoundException("Number with id = [%d] not found".formatted(id));
+        }
+
+        public Mono<Integer> findOne() {
+            return Mono.just(1);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        meterRegistryProvider = beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target, Advisor advisor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(advisor);
+        return (T) factory.getProxy();
+    }
+
+    private NumberRepository numberRepository() {
+        return proxy(new NumberRepository(), MetricsConfig.repositoryMetricsAdvisor(meterRegistryProvider));
+    }
+
+    @Test
+    void itShouldTimeRepositoryCalls_AndRecordRowsReturned() {
+        NumberRepository repository = numberRepository();
+
+        repository.findAll(3);
+        repository.findAll(5);
+
+        assertThat(meterRegistry.get(REPOSITORY)
+                .tags("class", "NumberRepository", "method", "findAll", "exception", "none")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ROWS).tags("method", "findAll").summary().totalAmount()).isEqualTo(8);
+    }
+
+    @Test
+    void itShouldTagFailuresWithExceptionType() {
+        NumberRepository repository = numberRepository();
+
+        assertThatThrownBy(() -> repository.findById(7)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> repository.findById(8)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(meterRegistry.get(REPOSITORY)
+                .tags("method", "findById", "exception", "ResourceNotFoundException")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(REPOSITORY).tags("method", "findById", "exception", "none").timer().count())
+                .isZero();
+        assertThat(meterRegistry.find(ROWS).tags("method", "findById").summary()).isNull();
+    }
+
+    @Test
+    void itShouldNotTimeReactiveMethods() {
+        NumberRepository repository = numberRepository();
+
+        assertThat(repository.findOne().block()).isEqualTo(1);
+
+        assertThat(meterRegistry.find(REPOSITORY).tags("method", "findOne").timer()).isNull();
+    }
+
+    @Test
+    void itShouldTimeMappers() {
+        DepartmentMapper departmentMapper = proxy(new DepartmentMapper(), MetricsConfig.mapperMetricsAdvisor(1, meterRegistryProvider));
+
+        departmentMapper.toDto(new Department(1, "IT", "Chisinau", 1L));
+
+        assertThat(meterRegistry.get(MAPPER).tags("class", "DepartmentMapper", "method", "toDto").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void itShouldTimeOneCallInSampleRate() {
+        DepartmentMapper departmentMapper = proxy(new DepartmentMapper(), MetricsConfig.mapperMetricsAdvisor(1000, meterRegistryProvider));
+        Department department = new Department(1, "IT", "Chisinau", 1L);
+
+        for (int i = 0; i < 10_000; i++) {
+            departmentMapper.toDto(department);
+        }
+
+        assertThat(meterRegistry.get(MAPPER).tags("method", "toDto").timer().count()).isBetween(1L, 100L);
+    }
+}
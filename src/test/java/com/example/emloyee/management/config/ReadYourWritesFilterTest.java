@@ -0,0 +1,60 @@
+package com.example.emloyee.management.config;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private static final String HEADER = "X-Client-Id";
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(5000, Clock.systemUTC());
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(readYourWrites, HEADER);
+
+    @Test
+    void itShouldPinWriteRequestAndFollowingReadsOfSameClient() throws ServletException, IOException {
+        assertThat(pinnedDuring(request("POST", "a"))).isTrue();
+        assertThat(pinnedDuring(request("GET", "a"))).isTrue();
+        assertThat(pinnedDuring(request("GET", "b"))).isFalse();
+        assertThat(readYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void itShouldIdentifyClientByRemoteAddress_WhenHeaderMissing() throws ServletException, IOException {
+        MockHttpServletRequest write = request("DELETE", null);
+        write.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest read = request("GET", null);
+        read.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest otherRead = request("GET", null);
+        otherRead.setRemoteAddr("10.0.0.2");
+
+        pinnedDuring(write);
+
+        assertThat(pinnedDuring(read)).isTrue();
+        assertThat(pinnedDuring(otherRead)).isFalse();
+    }
+
+    private MockHttpServletRequest request(String method, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/employees");
+        if (client != null) {
+            request.addHeader(HEADER, client);
+        }
+        return request;
+    }
+
+    private boolean pinnedDuring(MockHttpServletRequest request) throws ServletException, IOException {
+        List<Boolean> pinned = new ArrayList<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> pinned.add(readYourWrites.isPinnedToPrimary()));
+        return pinned.get(0);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.emloyee.management.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.example.emloyee.management.config.ReplicaRoutingDataSource.LAG_QUERY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG = 1000;
+
+    private static final long WINDOW = 5000;
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    private final MutableClock clock = new MutableClock();
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(WINDOW, clock);
+
+    @AfterEach
+    void tearDown() {
+        readYourWrites.end();
+    }
+
+    @Test
+    void itShouldReadFromPrimary_WhenNoReplicasConfigured() throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of());
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void itShouldSpreadReadsOverReplicas() throws SQLException {
+        Connection first = replicaWithLag(replica, 0);
+        Connection second = replicaWithLag(secondReplica, 0);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica, secondReplica));
+
+        assertThat(routingDataSource.getConnection()).isSameAs(first);
+        assertThat(routingDataSource.getConnection()).isSameAs(second);
+        assertThat(routingDataSource.getConnection()).isSameAs(first);
+    }
+
+    @Test
+    void itShouldSkipReplica_WhenLagExceedsThreshold() throws SQLException {
+        replicaWithLag(replica, MAX_LAG + 1);
+        Connection second = replicaWithLag(secondReplica, MAX_LAG);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica, secondReplica));
+
+        assertThat(routingDataSource.getConnection()).isSameAs(second);
+        assertThat(routingDataSource.getConnection()).isSameAs(second);
+    }
+
+    @Test
+    void itShouldTellWhetherLastConnectionCameFromReplica() throws SQLException {
+        replicaWithLag(replica, 0);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        routingDataSource.getConnection();
+        assertThat(routingDataSource.isRoutedToReplica()).isTrue();
+
+        readYourWrites.begin("client", true);
+        routingDataSource.getConnection();
+        assertThat(routingDataSource.isRoutedToReplica()).isFalse();
+    }
+
+    @Test
+    void itShouldFallBackToPrimary_WhenAllReplicasLag() throws SQLException {
+        replicaWithLag(replica, MAX_LAG + 1);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void itShouldFallBackToPrimary_WhenLagCheckFails() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica));
+
+        assertThat(routingDataSource.getLag(0)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void itShouldReadFromPrimary_DuringWriteRequest() throws SQLException {
+        replicaWithLag(replica, 0);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        readYourWrites.begin("client", true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void itShouldPinClientToPrimary_WithinWindowAfterWrite() throws SQLException {
+        Connection replicaConnection = replicaWithLag(replica, 0);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(List.of(replica));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        readYourWrites.begin("client", true);
+        readYourWrites.end();
+
+        readYourWrites.begin("client", false);
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        readYourWrites.end();
+
+        readYourWrites.begin("other", false);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        readYourWrites.end();
+
+        clock.advance(WINDOW + 1);
+        readYourWrites.begin("client", false);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(List<DataSource> replicas) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas, readYourWrites, MAX_LAG);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    private Connection replicaWithLag(DataSource dataSource, long lag) throws SQLException {
+        Connection lagConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        Connection connection = mock(Connection.class);
+
+        when(dataSource.getConnection()).thenReturn(lagConnection, connection);
+        when(lagConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lag);
+
+        return connection;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void advance(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.emloyee.management.config;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingFilterTest {
+
+    private final RequestTiming requestTiming = new RequestTiming(1);
+
+    private final RequestTimingFilter filter = new RequestTimingFilter(requestTiming);
+
+    @Test
+    void itShouldAddServerTiming_BeforeTheBodyIsWritten() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/employees"), response, (request, servletResponse) -> {
+            requestTiming.record(RequestTiming.Phase.POOL, 1_000_000);
+            requestTiming.statement(2_000_000);
+            requestTiming.statement(1_000_000);
+            assertThat(requestTiming.enter(RequestTiming.Phase.REPOSITORY)).isTrue();
+            assertThat(requestTiming.enter(RequestTiming.Phase.REPOSITORY)).isFalse();
+            requestTiming.exit(RequestTiming.Phase.REPOSITORY, 5_500_000);
+            requestTiming.record(RequestTiming.Phase.JSON, 250_000);
+
+            servletResponse.getOutputStream().write('[');
+            requestTiming.record(RequestTiming.Phase.MAPPER, 1_000_000);
+        });
+
+        assertThat(response.getHeader(RequestTiming.HEADER))
+                .startsWith("pool;dur=1.00, sql;dur=3.00;desc=\"2 statements\", rows;dur=1.50, mapper;dur=0.00, "
+                        + "json;dur=0.25, total;dur=");
+        assertThat(requestTiming.isActive()).isFalse();
+    }
+
+    @Test
+    void itShouldAddServerTiming_ToResponsesWithoutBody() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/employees"), response,
+                (request, servletResponse) -> requestTiming.statement(1_000_000));
+
+        assertThat(response.getHeader(RequestTiming.HEADER)).contains("sql;dur=1.00;desc=\"1 statements\"");
+    }
+
+    @Test
+    void itShouldNotTimeRequests_OutsideTheFilter() {
+        requestTiming.statement(1_000_000);
+
+        assertThat(requestTiming.isActive()).isFalse();
+        assertThat(requestTiming.serverTiming()).isNull();
+        assertThat(requestTiming.enter(RequestTiming.Phase.MAPPER)).isFalse();
+    }
+}
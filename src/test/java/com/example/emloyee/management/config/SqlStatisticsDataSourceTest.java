@@ -0,0 +1,145 @@
+package com.example.emloyee.management.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SqlStatisticsDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SqlStatistics sqlStatistics;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        sqlStatistics = new SqlStatistics(100, Duration.ofSeconds(1), Clock.systemUTC());
+        dataSource = new SqlStatisticsDataSource(pool, sqlStatistics);
+        when(pool.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void itShouldRecordQueries_WithTheRowsRead() throws SQLException {
+        when(connection.prepareStatement("SELECT * FROM employees WHERE department_id = ?")).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        try (Connection tracked = dataSource.getConnection();
+             PreparedStatement statement = tracked.prepareStatement("SELECT * FROM employees WHERE department_id = ?")) {
+            statement.setInt(1, 7);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    rows.getInt(1);
+                }
+            }
+        }
+
+        verify(preparedStatement).setInt(1, 7);
+        verify(resultSet, times(2)).getInt(1);
+        assertThat(sqlStatistics.statements()).singleElement().satisfies(statement -> {
+            assertThat(statement.query()).isEqualTo("SELECT * FROM employees WHERE department_id = ?");
+            assertThat(statement.calls()).isEqualTo(1);
+            assertThat(statement.rows()).isEqualTo(2);
+            assertThat(statement.errors()).isZero();
+        });
+    }
+
+    @Test
+    void itShouldRecordUpdateAndBatchCounts() throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeUpdate("DELETE FROM employees WHERE salary < 100")).thenReturn(3);
+        when(connection.prepareStatement("UPDATE employees SET salary = ? WHERE id = ?")).thenReturn(preparedStatement);
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 1, Statement.SUCCESS_NO_INFO});
+
+        try (Connection tracked = dataSource.getConnection()) {
+            tracked.createStatement().executeUpdate("DELETE FROM employees WHERE salary < 100");
+            PreparedStatement batch = tracked.prepareStatement("UPDATE employees SET salary = ? WHERE id = ?");
+            batch.addBatch();
+            batch.executeBatch();
+        }
+
+        assertThat(sqlStatistics.statements())
+                .extracting(SqlStatistics.Statement::query, SqlStatistics.Statement::rows)
+                .containsExactlyInAnyOrder(
+                        tuple("DELETE FROM employees WHERE salary < ?", 3L),
+                        tuple("UPDATE employees SET salary = ? WHERE id = ?", 2L));
+    }
+
+    @Test
+    void itShouldCountErrors_AndRethrow() throws SQLException {
+        SQLException failure = new SQLException("duplicate key");
+        when(connection.prepareStatement("INSERT INTO departments (name) VALUES (?)")).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenThrow(failure);
+
+        try (Connection tracked = dataSource.getConnection()) {
+            PreparedStatement statement = tracked.prepareStatement("INSERT INTO departments (name) VALUES (?)");
+            assertThatThrownBy(statement::executeUpdate).isSameAs(failure);
+        }
+
+        assertThat(sqlStatistics.statements()).singleElement().satisfies(statement -> {
+            assertThat(statement.calls()).isEqualTo(1);
+            assertThat(statement.errors()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void itShouldAddStatements_ToTheTimedRequest() throws SQLException {
+        RequestTiming requestTiming = new RequestTiming(1);
+        dataSource = new SqlStatisticsDataSource(pool, sqlStatistics, requestTiming);
+        when(connection.prepareStatement("DELETE FROM employees WHERE id = ?")).thenReturn(preparedStatement);
+
+        requestTiming.begin();
+        try (Connection tracked = dataSource.getConnection()) {
+            tracked.prepareStatement("DELETE FROM employees WHERE id = ?").executeUpdate();
+            tracked.prepareStatement("DELETE FROM employees WHERE id = ?").executeUpdate();
+            assertThat(requestTiming.serverTiming()).contains("desc=\"2 statements\"");
+        } finally {
+            requestTiming.end();
+        }
+    }
+
+    @Test
+    void itShouldUnwrapToTheDriverConnection() throws SQLException {
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+
+        try (Connection tracked = dataSource.getConnection()) {
+            assertThat(tracked.unwrap(PGConnection.class)).isSameAs(pgConnection);
+        }
+
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.emloyee.management.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SqlStatisticsTest {
+
+    private SqlStatistics sqlStatistics;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatistics = new SqlStatistics(2, Duration.ofSeconds(1),
+                Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void itShouldNormalizeLiteralsPlaceholderListsAndWhitespace() {
+        assertThat(SqlStatistics.normalize("SELECT *  FROM employees\n WHERE id IN (1, 2, 3) AND email = 'o''neil@mail.com'"))
+                .isEqualTo("SELECT * FROM employees WHERE id IN (?, ...) AND email = ?");
+        assertThat(SqlStatistics.normalize("UPDATE employees SET salary = ?, version = version + 1 WHERE id = ?"))
+                .isEqualTo("UPDATE employees SET salary = ?, version = version + ? WHERE id = ?");
+        assertThat(SqlStatistics.normalize("SELECT e1.id FROM employees e1 LIMIT 50"))
+                .isEqualTo("SELECT e1.id FROM employees e1 LIMIT ?");
+    }
+
+    @Test
+    void itShouldGroupExecutions_ByNormalizedStatement() {
+        sqlStatistics.record(sqlStatistics.entry("DELETE FROM employees WHERE id = 1"), 2_000_000, 1, false, null);
+        sqlStatistics.record(sqlStatistics.entry("DELETE FROM employees WHERE id = 2"), 4_000_000, 0, true, null);
+
+        List<SqlStatistics.Statement> statements = sqlStatistics.statements();
+
+        assertThat(statements).containsExactly(new SqlStatistics.Statement(
+                "DELETE FROM employees WHERE id = ?", 2, 6.0, 3.0, 4.0, 1, 1));
+    }
+
+    @Test
+    void itShouldOrderStatements_ByTotalTime() {
+        sqlStatistics.record(sqlStatistics.entry("SELECT 1"), 1_000_000, 1, false, null);
+        sqlStatistics.record(sqlStatistics.entry("SELECT * FROM departments"), 5_000_000, 3, false, null);
+
+        assertThat(sqlStatistics.statements())
+                .extracting(SqlStatistics.Statement::query)
+                .containsExactly("SELECT * FROM departments", "SELECT ?");
+    }
+
+    @Test
+    void itShouldAddUpNewStatements_UnderOther_OnceFull() {
+        sqlStatistics.record(sqlStatistics.entry("SELECT * FROM employees"), 1_000_000, 0, false, null);
+        sqlStatistics.record(sqlStatistics.entry("SELECT * FROM departments"), 1_000_000, 0, false, null);
+        sqlStatistics.record(sqlStatistics.entry("SELECT * FROM jobs"), 1_000_000, 0, false, null);
+        sqlStatistics.record(sqlStatistics.entry("SELECT * FROM employees"), 1_000_000, 0, false, null);
+
+        assertThat(sqlStatistics.statements())
+                .extracting(SqlStatistics.Statement::query, SqlStatistics.Statement::calls)
+                .containsExactlyInAnyOrder(
+                        tuple("SELECT * FROM employees", 2L),
+                        tuple("SELECT * FROM departments", 1L),
+                        tuple(SqlStatistics.OTHER, 1L));
+    }
+
+    @Test
+    void itShouldClearStatements_OnReset() {
+        sqlStatistics.record(sqlStatistics.entry("SELECT 1"), 1_000_000, 1, false, null);
+
+        sqlStatistics.reset();
+
+        assertThat(sqlStatistics.statements()).isEmpty();
+        sqlStatistics.record(sqlStatistics.entry("SELECT 1"), 1_000_000, 1, false, null);
+        assertThat(sqlStatistics.statements()).extracting(SqlStatistics.Statement::calls).containsExactly(1L);
+    }
+
+    @Test
+    void itShouldDescribeBinds_ByTypeOnly() {
+        assertThat(SqlStatistics.shape(new String[]{null, "Int", null, "String", "null", null, null}))
+                .isEqualTo("[Int, unset, String, null]");
+        assertThat(SqlStatistics.shape(null)).isEqualTo("[]");
+    }
+}
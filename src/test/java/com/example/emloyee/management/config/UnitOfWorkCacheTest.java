@@ -0,0 +1,67 @@
+package com.example.emloyee.management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.annotation.Isolation;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class UnitOfWorkCacheTest {
+
+    private static final int ID = 1;
+
+    private final UnitOfWorkManager unitOfWorkManager =
+            new UnitOfWorkManager(mock(DataSource.class), mock(DataSource.class), Isolation.DEFAULT);
+
+    private final ConcurrentMapCache target = new ConcurrentMapCache("employees");
+
+    private final UnitOfWorkCache cache = new UnitOfWorkCache(target, unitOfWorkManager);
+
+    @Test
+    void itShouldPutAfterCommit() throws Throwable {
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            cache.put(ID, "inserted");
+            assertThat(target.get(ID)).isNull();
+            return null;
+        });
+
+        assertThat(target.get(ID).get()).isEqualTo("inserted");
+    }
+
+    @Test
+    void itShouldDropPut_OnRollback() {
+        assertThatThrownBy(() -> unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            cache.put(ID, "inserted");
+            throw new IllegalStateException("constraint violated");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(target.get(ID)).isNull();
+    }
+
+    @Test
+    void itShouldEvictAgain_AfterCommit() throws Throwable {
+        target.put(ID, "old");
+
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            cache.evict(ID);
+            assertThat(target.get(ID)).isNull();
+            target.put(ID, "cached by a concurrent read before commit");
+            return null;
+        });
+
+        assertThat(target.get(ID)).isNull();
+    }
+
+    @Test
+    void itShouldWriteThrough_OutsideUnitOfWork() {
+        cache.put(ID, "row");
+        assertThat(target.get(ID).get()).isEqualTo("row");
+
+        cache.evict(ID);
+        assertThat(target.get(ID)).isNull();
+    }
+}
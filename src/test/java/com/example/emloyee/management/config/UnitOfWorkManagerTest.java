@@ -0,0 +1,207 @@
+package com.example.emloyee.management.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.Isolation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnitOfWorkManagerTest {
+
+    @Mock
+    private DataSource writePool;
+
+    @Mock
+    private DataSource readPool;
+
+    @Mock
+    private Connection writeConnection;
+
+    @Mock
+    private Connection readConnection;
+
+    private UnitOfWorkManager unitOfWorkManager;
+
+    private DataSource dataSource;
+
+    private DataSource readDataSource;
+
+    @BeforeEach
+    void setUp() {
+        unitOfWorkManager = new UnitOfWorkManager(writePool, readPool, Isolation.READ_COMMITTED);
+        dataSource = new UnitOfWorkDataSource(writePool, unitOfWorkManager);
+        readDataSource = new UnitOfWorkDataSource(readPool, unitOfWorkManager);
+    }
+
+    @Test
+    void itShouldShareOneTransaction_AcrossRepositoryCalls() throws Throwable {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            try (Connection connection = readDataSource.getConnection()) {
+                connection.prepareStatement("SELECT 1");
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                connection.prepareStatement("UPDATE 1");
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+            return null;
+        });
+
+        verify(writePool, times(1)).getConnection();
+        verifyNoInteractions(readPool);
+        InOrder inOrder = inOrder(writeConnection);
+        inOrder.verify(writeConnection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        inOrder.verify(writeConnection).setAutoCommit(false);
+        inOrder.verify(writeConnection).prepareStatement("SELECT 1");
+        inOrder.verify(writeConnection).prepareStatement("UPDATE 1");
+        inOrder.verify(writeConnection).commit();
+        inOrder.verify(writeConnection).setAutoCommit(true);
+        inOrder.verify(writeConnection).close();
+    }
+
+    @Test
+    void itShouldRollBack_WhenBodyThrows() throws SQLException {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+
+        assertThatThrownBy(() -> unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            dataSource.getConnection().prepareStatement("UPDATE 1");
+            throw new IllegalStateException("check failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(writeConnection).rollback();
+        verify(writeConnection, never()).commit();
+        verify(writeConnection).close();
+        assertThat(unitOfWorkManager.isActive()).isFalse();
+    }
+
+    @Test
+    void itShouldRollBack_WhenRepositoryRolledBack() throws Throwable {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            dataSource.getConnection().rollback();
+            return null;
+        });
+
+        verify(writeConnection).rollback();
+        verify(writeConnection, never()).commit();
+    }
+
+    @Test
+    void itShouldStayInAutoCommit_WhenReadOnly() throws Throwable {
+        UnitOfWorkManager manager = new UnitOfWorkManager(writePool, readPool, Isolation.DEFAULT);
+        DataSource pool = new UnitOfWorkDataSource(writePool, manager);
+        when(readPool.getConnection()).thenReturn(readConnection);
+
+        Connection first = manager.execute(true, Isolation.DEFAULT, () -> {
+            Connection connection = pool.getConnection();
+            assertThat(pool.getConnection()).isSameAs(connection);
+            return connection;
+        });
+
+        assertThat(first).isNotSameAs(readConnection);
+        verifyNoInteractions(writePool);
+        verify(readConnection).setReadOnly(true);
+        verify(readConnection, never()).setAutoCommit(anyBoolean());
+        verify(readConnection, never()).setTransactionIsolation(anyInt());
+        verify(readConnection, never()).commit();
+        verify(readConnection).close();
+    }
+
+    @Test
+    void itShouldJoinOuterUnitOfWork_WhenNested() throws Throwable {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> unitOfWorkManager.execute(true, Isolation.DEFAULT, () -> {
+            readDataSource.getConnection().close();
+            return null;
+        }));
+
+        verify(writePool, times(1)).getConnection();
+        verifyNoInteractions(readPool);
+        verify(writeConnection, times(1)).commit();
+        verify(writeConnection, times(1)).close();
+    }
+
+    @Test
+    void itShouldUsePool_OutsideUnitOfWork() throws SQLException {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(writeConnection);
+    }
+
+    @Test
+    void itShouldNotTouchPool_WhenUnitOfWorkIssuesNoQuery() throws Throwable {
+        assertThat(unitOfWorkManager.execute(false, Isolation.SERIALIZABLE, () -> "cached")).isEqualTo("cached");
+
+        verifyNoInteractions(writePool, readPool);
+    }
+
+    @Test
+    void itShouldRunAfterCommitActions_OnlyOnceCommitted() throws Throwable {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+        List<String> events = new ArrayList<>();
+        doAnswer(invocation -> events.add("commit")).when(writeConnection).commit();
+
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            dataSource.getConnection().prepareStatement("UPDATE 1");
+            unitOfWorkManager.afterCommit(() -> events.add("evict"));
+            events.add("body");
+            return null;
+        });
+
+        assertThat(events).containsExactly("body", "commit", "evict");
+    }
+
+    @Test
+    void itShouldDropAfterCommitActions_OnRollback() throws Throwable {
+        when(writePool.getConnection()).thenReturn(writeConnection);
+        List<String> events = new ArrayList<>();
+
+        assertThatThrownBy(() -> unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            dataSource.getConnection().prepareStatement("UPDATE 1");
+            unitOfWorkManager.afterCommit(() -> events.add("index"));
+            throw new IllegalStateException("check failed");
+        })).isInstanceOf(IllegalStateException.class);
+        unitOfWorkManager.execute(false, Isolation.DEFAULT, () -> {
+            unitOfWorkManager.afterCommit(() -> events.add("cache"));
+            dataSource.getConnection().rollback();
+            return null;
+        });
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void itShouldRunAfterCommitActions_RightAway_OutsideUnitOfWork() {
+        List<String> events = new ArrayList<>();
+
+        unitOfWorkManager.afterCommit(() -> events.add("index"));
+
+        assertThat(events).containsExactly("index");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.emloyee.management.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    private static final boolean VIRTUAL_THREADS_AVAILABLE = Runtime.version().feature() >= 21;
+
+    @Test
+    void itShouldRunTasksOnVirtualThreads() throws ExecutionException, InterruptedException {
+        assumeTrue(VIRTUAL_THREADS_AVAILABLE);
+
+        ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            String thread = executor.submit(() -> Thread.currentThread().toString()).get();
+            assertThat(thread).startsWith("VirtualThread");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void itShouldFailFast_WhenRuntimeHasNoVirtualThreads() {
+        assumeTrue(!VIRTUAL_THREADS_AVAILABLE);
+
+        assertThatThrownBy(VirtualThreadConfig::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(VirtualThreadConfig.UNSUPPORTED.formatted(Runtime.version()));
+    }
+}
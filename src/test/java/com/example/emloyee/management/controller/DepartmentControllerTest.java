@@ -3,32 +3,58 @@ package com.example.emloyee.management.controller;
 import com.example.emloyee.management.exception.ApiExceptionHandler;
 import com.example.emloyee.management.exception.ResourceNotFoundException;
 import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
 import com.example.emloyee.management.service.DepartmentService;
+import com.example.emloyee.management.service.Versioned;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
@@ -39,6 +65,12 @@ public class DepartmentControllerTest {
 
     public static final int ID = 1;
 
+    public static final int DEFAULT_LIMIT = 50;
+
+    public static final Map<String, Long> DEPARTMENTS_VERSION = Map.of("departments", 7L);
+
+    public static final Map<String, Long> JOINED_VERSIONS = new TreeMap<>(Map.of("departments", 7L, "employees", 3L));
+
     public static final String NOT_FOUND = "Department with id = [%d] not found".formatted(ID);
 
     public static final String INVALID_ID = "invalid";
@@ -61,19 +93,84 @@ public class DepartmentControllerTest {
         departmentDto = DepartmentDto.builder()
                 .name("IT")
                 .location("Chisinau")
+                .version(1L)
                 .build();
     }
 
     @Test
     void itShouldGetAllDepartments() throws Exception {
-        List<DepartmentDto> departments = List.of(departmentDto);
+        PageDto<DepartmentDto> departments = new PageDto<>(List.of(departmentDto), null);
 
-        when(departmentService.getAllDepartments()).thenReturn(departments);
+        when(departmentService.getAllDepartments(isNull(), eq(DEFAULT_LIMIT), any())).thenAnswer(versioned(DEPARTMENTS_VERSION, departments));
 
         mockMvc.perform(get(URI))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value(departmentDto.getName()))
-                .andExpect(jsonPath("$[0].location").value(departmentDto.getLocation()));
+                .andExpect(jsonPath("$.content[0].name").value(departmentDto.getName()))
+                .andExpect(jsonPath("$.content[0].location").value(departmentDto.getLocation()))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void itShouldGetDepartmentsAfterCursor() throws Exception {
+        PageDto<DepartmentDto> departments = new PageDto<>(List.of(departmentDto), 3);
+
+        when(departmentService.getAllDepartments(eq(2), eq(1), any())).thenAnswer(versioned(DEPARTMENTS_VERSION, departments));
+
+        mockMvc.perform(get(URI).param("after", "2").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(departmentDto.getName()))
+                .andExpect(jsonPath("$.next").value(3));
+    }
+
+    @Test
+    void itShouldExportDepartmentsAsNdjson() throws Exception {
+        final String line = "{\"id\":1}\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(line.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(departmentService).exportDepartments(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get(URI + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().string(line));
+    }
+
+    @Test
+    void itShouldExportDepartmentsAsCsv() throws Exception {
+        final String csv = "id,name,location\n1,IT,Chisinau\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(csv.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(departmentService).exportDepartmentsCsv(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get(URI + "/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string(csv));
+    }
+
+    @Test
+    void itShouldImportDepartmentsFromCsv() throws Exception {
+        when(departmentService.importDepartmentsCsv(any(InputStream.class))).thenReturn(new ImportResultDto(3, 2, 1, List.of()));
+
+        mockMvc.perform(post(URI + "/csv")
+                        .contentType("text/csv")
+                        .content("id,name,location\n1,IT,Chisinau\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("rows").value(3))
+                .andExpect(jsonPath("inserted").value(2))
+                .andExpect(jsonPath("updated").value(1));
     }
 
     @Test
@@ -86,6 +183,110 @@ public class DepartmentControllerTest {
                 .andExpect(jsonPath("location").value(departmentDto.getLocation()));
     }
 
+    @Test
+    void itShouldReturnETag_WhenGetDepartmentById() throws Exception {
+        when(departmentService.getDepartmentById(ID)).thenReturn(departmentDto);
+
+        mockMvc.perform(get(URI + "/" + ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""));
+    }
+
+    @Test
+    void itShouldReturnNotModified_WhenDepartmentVersionMatches() throws Exception {
+        when(departmentService.getDepartmentVersion(ID)).thenReturn(Optional.of(1L));
+
+        mockMvc.perform(get(URI + "/" + ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(departmentService, never()).getDepartmentById(ID);
+    }
+
+    @Test
+    void itShouldReturnDepartment_WhenDepartmentVersionChanged() throws Exception {
+        when(departmentService.getDepartmentVersion(ID)).thenReturn(Optional.of(2L));
+        when(departmentService.getDepartmentById(ID)).thenReturn(departmentDto);
+
+        mockMvc.perform(get(URI + "/" + ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""));
+    }
+
+    @Test
+    void itShouldReturnNotModified_WhenDepartmentsTableVersionMatches() throws Exception {
+        when(departmentService.getAllDepartments(isNull(), eq(DEFAULT_LIMIT), any()))
+                .thenAnswer(versioned(DEPARTMENTS_VERSION, new PageDto<>(List.of(departmentDto), null)));
+
+        mockMvc.perform(get(URI).header(HttpHeaders.IF_NONE_MATCH, "\"departments-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"departments-7\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void itShouldCapPageSize_WhenEmployeesAreExpanded() throws Exception {
+        when(departmentService.getAllDepartmentsWithEmployees(isNull(), eq(100), any())).thenAnswer(versioned(JOINED_VERSIONS, new PageDto<>(List.of(), null)));
+
+        mockMvc.perform(get(URI).param("expand", "employees").param("limit", "1000"))
+                .andExpect(status().isOk());
+
+        verify(departmentService).getAllDepartmentsWithEmployees(isNull(), eq(100), any());
+    }
+
+    @Test
+    void itShouldGetDepartmentsWithEmployees() throws Exception {
+        final EmployeeDto employeeDto = EmployeeDto.builder().id(5).firstName("John").departmentId(ID).build();
+        departmentDto.setEmployees(List.of(employeeDto));
+
+        when(departmentService.getAllDepartmentsWithEmployees(isNull(), eq(DEFAULT_LIMIT), any())).thenAnswer(versioned(JOINED_VERSIONS, new PageDto<>(List.of(departmentDto), null)));
+
+        mockMvc.perform(get(URI).param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"departments-7-employees-3\""))
+                .andExpect(jsonPath("$.content[0].name").value(departmentDto.getName()))
+                .andExpect(jsonPath("$.content[0].employees[0].id").value(5))
+                .andExpect(jsonPath("$.content[0].employees[0].first_name").value("John"));
+
+        verify(departmentService, never()).getAllDepartments(any(), anyInt(), any());
+    }
+
+    @Test
+    void itShouldOmitEmployees_WhenNotExpanded() throws Exception {
+        when(departmentService.getAllDepartments(isNull(), eq(DEFAULT_LIMIT), any())).thenAnswer(versioned(DEPARTMENTS_VERSION, new PageDto<>(List.of(departmentDto), null)));
+
+        mockMvc.perform(get(URI))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].employees").doesNotExist());
+    }
+
+    @Test
+    void itShouldThrow_WhenExpandIsUnknown() throws Exception {
+        mockMvc.perform(get(URI).param("expand", "managers"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void itShouldGetDepartmentEmployees() throws Exception {
+        final EmployeeDto employeeDto = EmployeeDto.builder().id(5).firstName("John").departmentId(ID).build();
+
+        when(departmentService.getDepartmentEmployees(eq(ID), eq(4), eq(1), any())).thenAnswer(versioned(JOINED_VERSIONS, new PageDto<>(List.of(employeeDto), 5)));
+
+        mockMvc.perform(get(URI + "/" + ID + "/employees").param("after", "4").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].first_name").value("John"))
+                .andExpect(jsonPath("$.next").value(5));
+    }
+
+    @Test
+    void itShouldThrow_WhenGetEmployeesOfUnknownDepartment() throws Exception {
+        when(departmentService.getDepartmentEmployees(eq(ID), isNull(), eq(DEFAULT_LIMIT), any())).thenThrow(new ResourceNotFoundException(NOT_FOUND));
+
+        mockMvc.perform(get(URI + "/" + ID + "/employees"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("message").value(NOT_FOUND));
+    }
+
     @Test
     void itShouldThrow_WhenGetDepartmentByUnknownId() throws Exception {
         when(departmentService.getDepartmentById(ID)).thenThrow(new ResourceNotFoundException(NOT_FOUND));
@@ -201,4 +402,11 @@ public class DepartmentControllerTest {
                 Arguments.of(name, "", "location")
         );
     }
-}
\ No newline at end of file
+
+    private static <T> Answer<Versioned<T>> versioned(Map<String, Long> versions, T value) {
+        return invocation -> {
+            Predicate<Map<String, Long>> current = invocation.getArgument(invocation.getArguments().length - 1);
+            return new Versioned<>(versions, current.test(versions) ? null : value);
+        };
+    }
+}
@@ -2,35 +2,72 @@ package com.example.emloyee.management.controller;
 
 import com.example.emloyee.management.exception.ApiExceptionHandler;
 import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.BatchItemResultDto;
+import com.example.emloyee.management.model.dto.BatchItemStatus;
+import com.example.emloyee.management.model.dto.BatchResultDto;
+import com.example.emloyee.management.model.dto.BatchUpdateResultDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkFilterDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkOperation;
+import com.example.emloyee.management.model.dto.EmployeeBulkRequestDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkResultDto;
 import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeePatchDto;
+import com.example.emloyee.management.model.dto.EmployeeSearchHitDto;
+import com.example.emloyee.management.model.dto.EmployeeSortField;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
+import com.example.emloyee.management.model.dto.SortDirection;
+import com.example.emloyee.management.service.EmployeeBatchService;
 import com.example.emloyee.management.service.EmployeeService;
+import com.example.emloyee.management.service.Versioned;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
@@ -41,6 +78,12 @@ class EmployeeControllerTest {
 
     private static final Integer ID = 1;
 
+    private static final int DEFAULT_LIMIT = 50;
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final Map<String, Long> EMPLOYEES_VERSION = Map.of("employees", 7L);
+
     public static final String NOT_FOUND = "Employee with id = [%d] not found".formatted(ID);
 
     public static final String INVALID_ID = "invalid";
@@ -53,6 +96,9 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeBatchService employeeBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -67,22 +113,124 @@ class EmployeeControllerTest {
                 .phoneNumber("098765432")
                 .departmentId(1)
                 .salary(1500.0)
+                .version(1L)
                 .build();
     }
 
     @Test
     void itShouldGetAllEmployees() throws Exception {
-        final List<EmployeeDto> employeeDtos = List.of(employeeDto);
-        when(employeeService.getAllEmployees()).thenReturn(employeeDtos);
+        final PageDto<EmployeeDto> page = new PageDto<>(List.of(employeeDto), null);
+        when(employeeService.getAllEmployees(eq(EmployeeFilter.builder().build()), isNull(), eq(DEFAULT_LIMIT), any())).thenAnswer(versioned(EMPLOYEES_VERSION, page));
 
         mockMvc.perform(get(URI))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].first_name").value(employeeDto.getFirstName()))
-                .andExpect(jsonPath("$[0].last_name").value(employeeDto.getLastName()))
-                .andExpect(jsonPath("$[0].email").value(employeeDto.getEmail()))
-                .andExpect(jsonPath("$[0].phone_number").value(employeeDto.getPhoneNumber()))
-                .andExpect(jsonPath("$[0].salary").value(employeeDto.getSalary()))
-                .andExpect(jsonPath("$[0].department_id").value(employeeDto.getDepartmentId()));
+                .andExpect(jsonPath("$.content[0].first_name").value(employeeDto.getFirstName()))
+                .andExpect(jsonPath("$.content[0].last_name").value(employeeDto.getLastName()))
+                .andExpect(jsonPath("$.content[0].email").value(employeeDto.getEmail()))
+                .andExpect(jsonPath("$.content[0].phone_number").value(employeeDto.getPhoneNumber()))
+                .andExpect(jsonPath("$.content[0].salary").value(employeeDto.getSalary()))
+                .andExpect(jsonPath("$.content[0].department_id").value(employeeDto.getDepartmentId()))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void itShouldGetEmployeesAfterCursor() throws Exception {
+        final PageDto<EmployeeDto> page = new PageDto<>(List.of(employeeDto), 11);
+        when(employeeService.getAllEmployees(eq(EmployeeFilter.builder().build()), eq(10), eq(1), any())).thenAnswer(versioned(EMPLOYEES_VERSION, page));
+
+        mockMvc.perform(get(URI).param("after", "10").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].first_name").value(employeeDto.getFirstName()))
+                .andExpect(jsonPath("$.next").value(11));
+    }
+
+    @Test
+    void itShouldPassFilterAndSortToService() throws Exception {
+        final EmployeeFilter filter = EmployeeFilter.builder()
+                .departmentId(3)
+                .minSalary(5000.0)
+                .name("sm")
+                .sort(EmployeeSortField.LAST_NAME)
+                .direction(SortDirection.DESC)
+                .build();
+        when(employeeService.getAllEmployees(eq(filter), isNull(), eq(DEFAULT_LIMIT), any())).thenAnswer(versioned(EMPLOYEES_VERSION, new PageDto<>(List.of(employeeDto), null)));
+
+        mockMvc.perform(get(URI)
+                        .param("departmentId", "3")
+                        .param("minSalary", "5000")
+                        .param("name", "sm")
+                        .param("sort", "last_name")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].last_name").value(employeeDto.getLastName()));
+    }
+
+    @Test
+    void itShouldReturnBadRequest_WhenSortFieldIsUnknown() throws Exception {
+        mockMvc.perform(get(URI).param("sort", "email"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).getAllEmployees(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void itShouldCapLimit_WhenGetEmployeesWithTooLargeLimit() throws Exception {
+        when(employeeService.getAllEmployees(eq(EmployeeFilter.builder().build()), isNull(), eq(MAX_LIMIT), any())).thenAnswer(versioned(EMPLOYEES_VERSION, new PageDto<>(List.of(), null)));
+
+        mockMvc.perform(get(URI).param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    void itShouldExportEmployeesAsNdjson() throws Exception {
+        final String line = "{\"id\":1}\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(line.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeService).exportEmployees(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get(URI + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().string(line));
+    }
+
+    @Test
+    void itShouldExportEmployeesAsCsv() throws Exception {
+        final String csv = "id,first_name\n1,John\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(csv.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeService).exportEmployeesCsv(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get(URI + "/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string(csv));
+    }
+
+    @Test
+    void itShouldImportEmployeesFromCsv() throws Exception {
+        when(employeeService.importEmployeesCsv(any(InputStream.class))).thenReturn(new ImportResultDto(3, 2, 1, List.of()));
+
+        mockMvc.perform(post(URI + "/csv")
+                        .contentType("text/csv")
+                        .content("id,first_name\n1,John\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("rows").value(3))
+                .andExpect(jsonPath("inserted").value(2))
+                .andExpect(jsonPath("updated").value(1));
     }
 
     @Test
@@ -99,6 +247,47 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("department_id").value(employeeDto.getDepartmentId()));
     }
 
+    @Test
+    void itShouldReturnETag_WhenGetEmployeeById() throws Exception {
+        when(employeeService.getEmployeeById(ID)).thenReturn(employeeDto);
+
+        mockMvc.perform(get(URI + "/" + ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""));
+    }
+
+    @Test
+    void itShouldReturnNotModified_WhenEmployeeVersionMatches() throws Exception {
+        when(employeeService.getEmployeeVersion(ID)).thenReturn(Optional.of(1L));
+
+        mockMvc.perform(get(URI + "/" + ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(employeeService, never()).getEmployeeById(ID);
+    }
+
+    @Test
+    void itShouldReturnEmployee_WhenEmployeeVersionChanged() throws Exception {
+        when(employeeService.getEmployeeVersion(ID)).thenReturn(Optional.of(2L));
+        when(employeeService.getEmployeeById(ID)).thenReturn(employeeDto);
+
+        mockMvc.perform(get(URI + "/" + ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""));
+    }
+
+    @Test
+    void itShouldReturnNotModified_WhenEmployeesTableVersionMatches() throws Exception {
+        when(employeeService.getAllEmployees(eq(EmployeeFilter.builder().build()), isNull(), eq(DEFAULT_LIMIT), any()))
+                .thenAnswer(versioned(EMPLOYEES_VERSION, new PageDto<>(List.of(employeeDto), null)));
+
+        mockMvc.perform(get(URI).header(HttpHeaders.IF_NONE_MATCH, "\"employees-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"employees-7\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void itShouldThrow_WhenGetEmployeeByUnknownId() throws Exception {
         when(employeeService.getEmployeeById(ID)).thenThrow(new ResourceNotFoundException(NOT_FOUND));
@@ -192,6 +381,94 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("message", containsString("Field: %s has invalid value: null".formatted(field))));
     }
 
+    @Test
+    void itShouldAddEmployeesInBatch() throws Exception {
+        final BatchResultDto result = BatchResultDto.builder()
+                .created(1)
+                .items(List.of(BatchItemResultDto.builder().index(0).status(BatchItemStatus.CREATED).id(ID).build()))
+                .build();
+        when(employeeBatchService.addEmployees(any(InputStream.class))).thenReturn(result);
+
+        mockMvc.perform(post(URI + "/batch")
+                        .content(objectMapper.writeValueAsString(List.of(employeeDto)))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created").value(1))
+                .andExpect(jsonPath("items[0].status").value("CREATED"))
+                .andExpect(jsonPath("items[0].id").value(ID))
+                .andExpect(jsonPath("items[0].message").doesNotExist());
+    }
+
+    @Test
+    void itShouldSearchEmployees() throws Exception {
+        final EmployeeSearchHitDto hit = EmployeeSearchHitDto.builder()
+                .id(ID)
+                .firstName("John")
+                .lastName("Smith")
+                .departmentName("Sales")
+                .score(2.5f)
+                .build();
+        when(employeeService.searchEmployees("smiht", 20)).thenReturn(List.of(hit));
+
+        mockMvc.perform(get(URI + "/search").param("q", "smiht"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(ID))
+                .andExpect(jsonPath("$[0].last_name").value("Smith"))
+                .andExpect(jsonPath("$[0].department_name").value("Sales"))
+                .andExpect(jsonPath("$[0].score").value(2.5))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    void itShouldCapSearchLimit() throws Exception {
+        when(employeeService.searchEmployees("smith", MAX_LIMIT)).thenReturn(List.of());
+
+        mockMvc.perform(get(URI + "/search").param("q", "smith").param("limit", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void itShouldApplyBulkChange() throws Exception {
+        final EmployeeBulkRequestDto request = EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.REASSIGN)
+                .departmentId(4)
+                .filter(EmployeeBulkFilterDto.builder().departmentId(3).minSalary(1000.0).build())
+                .build();
+        when(employeeBatchService.applyBulk(request)).thenReturn(new EmployeeBulkResultDto(EmployeeBulkOperation.REASSIGN, 5));
+
+        mockMvc.perform(post(URI + "/bulk")
+                        .content("{\"operation\": \"REASSIGN\", \"department_id\": 4, \"filter\": {\"department_id\": 3, \"min_salary\": 1000}}")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("operation").value("REASSIGN"))
+                .andExpect(jsonPath("affected").value(5));
+    }
+
+    @Test
+    void itShouldThrow_WhenBulkChangeHasNoFilter() throws Exception {
+        mockMvc.perform(post(URI + "/bulk")
+                        .content("{\"operation\": \"DELETE\"}")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message").value("Field: filter has invalid value: null"));
+
+        verify(employeeBatchService, never()).applyBulk(any());
+    }
+
+    @Test
+    void itShouldPatchEmployeesInBatch() throws Exception {
+        List<EmployeePatchDto> patches = List.of(EmployeePatchDto.builder().id(ID).salary(1800.0).build());
+        when(employeeBatchService.updateEmployees(patches)).thenReturn(new BatchUpdateResultDto(1, List.of()));
+
+        mockMvc.perform(patch(URI + "/batch")
+                        .content("[{\"id\": %d, \"salary\": 1800.0}]".formatted(ID))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("updated").value(1))
+                .andExpect(jsonPath("not_found").isEmpty());
+    }
+
     @Test
     void itShouldUpdateEmployee() throws Exception {
         when(employeeService.updateEmployee(employeeDto, ID)).thenReturn(employeeDto);
@@ -284,4 +561,11 @@ class EmployeeControllerTest {
                 Arguments.of(null, lastName, email, phoneNumber, departmentId, salary, "firstName")
         );
     }
-}
\ No newline at end of file
+
+    private static <T> Answer<Versioned<T>> versioned(Map<String, Long> versions, T value) {
+        return invocation -> {
+            Predicate<Map<String, Long>> current = invocation.getArgument(invocation.getArguments().length - 1);
+            return new Versioned<>(versions, current.test(versions) ? null : value);
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.exception.ApiExceptionHandler;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.JobDto;
+import com.example.emloyee.management.model.dto.JobStatus;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.service.JobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {JobController.class, ApiExceptionHandler.class})
+public class JobControllerTest {
+
+    public static final String URI = "/jobs";
+
+    public static final int ID = 1;
+
+    public static final String NOT_FOUND = "Job with id = [%d] not found".formatted(ID);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobService jobService;
+
+    private static JobDto job(JobStatus status) {
+        return JobDto.builder().id(ID).type(JobType.EMPLOYEE_UPDATE).status(status).total(10).build();
+    }
+
+    @Test
+    void itShouldAcceptJob() throws Exception {
+        when(jobService.submitJob(any())).thenReturn(job(JobStatus.QUEUED));
+
+        mockMvc.perform(post(URI).contentType(APPLICATION_JSON)
+                        .content("{\"type\":\"EMPLOYEE_UPDATE\",\"parameters\":{\"changes\":{\"salary\":2000}}}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/jobs/" + ID))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.total").value(10));
+    }
+
+    @Test
+    void itShouldRejectJobWithoutParameters() throws Exception {
+        mockMvc.perform(post(URI).contentType(APPLICATION_JSON).content("{\"type\":\"EMPLOYEE_UPDATE\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(jobService, never()).submitJob(any());
+    }
+
+    @Test
+    void itShouldRejectUnknownJobType() throws Exception {
+        mockMvc.perform(post(URI).contentType(APPLICATION_JSON).content("{\"type\":\"UNKNOWN\",\"parameters\":{}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void itShouldGetJob() throws Exception {
+        JobDto jobDto = job(JobStatus.RUNNING);
+        jobDto.setProcessed(4);
+        jobDto.setRowsPerSecond(2.0);
+        jobDto.setEtaSeconds(3L);
+        when(jobService.getJob(ID)).thenReturn(jobDto);
+
+        mockMvc.perform(get(URI + "/" + ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(4))
+                .andExpect(jsonPath("$.rows_per_second").value(2.0))
+                .andExpect(jsonPath("$.eta_seconds").value(3));
+    }
+
+    @Test
+    void itShouldReturnNotFound() throws Exception {
+        when(jobService.getJob(ID)).thenThrow(new ResourceNotFoundException(NOT_FOUND));
+
+        mockMvc.perform(get(URI + "/" + ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(NOT_FOUND));
+    }
+
+    @Test
+    void itShouldCancelJob() throws Exception {
+        when(jobService.cancelJob(ID)).thenReturn(job(JobStatus.CANCELLED));
+
+        mockMvc.perform(delete(URI + "/" + ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+}
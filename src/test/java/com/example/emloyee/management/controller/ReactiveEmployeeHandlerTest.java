@@ -0,0 +1,149 @@
+package com.example.emloyee.management.controller;
+
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.service.ReactiveEmployeeService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.example.emloyee.management.controller.ReactiveHandlerSupport.TYPE_MISMATCH;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+class ReactiveEmployeeHandlerTest {
+
+    public static final String URI = "/reactive/employees";
+
+    public static final int ID = 1;
+
+    public static final String NOT_FOUND = "Employee with id = [%d] not found".formatted(ID);
+
+    private final ReactiveEmployeeService employeeService = mock(ReactiveEmployeeService.class);
+
+    private WebTestClient webTestClient;
+
+    private EmployeeDto employeeDto;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveEmployeeHandler handler = new ReactiveEmployeeHandler(employeeService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(handler, "maxLimit", 1000);
+
+        webTestClient = WebTestClient.bindToRouterFunction(ReactiveHandlerSupport.withErrorHandling(
+                RouterFunctions.route()
+                        .path(URI, builder -> builder
+                                .GET("", handler::getAllEmployees)
+                                .GET("/{id}", handler::getEmployeeById)
+                                .POST("", handler::addEmployee)
+                                .PUT("/{id}", handler::updateEmployee)
+                                .DELETE("/{id}", handler::deleteEmployeeById))
+                        .build()))
+                .build();
+
+        employeeDto = EmployeeDto.builder()
+                .id(ID)
+                .firstName("John")
+                .lastName("Smith")
+                .email("john@mail.com")
+                .phoneNumber("098765432")
+                .departmentId(1)
+                .salary(1500.0)
+                .build();
+    }
+
+    @Test
+    void itShouldStreamAllEmployeesAsNdjson() {
+        when(employeeService.getAllEmployees(null, null)).thenReturn(Flux.just(employeeDto, employeeDto));
+
+        webTestClient.get().uri(URI).accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(APPLICATION_NDJSON)
+                .expectBodyList(EmployeeDto.class).hasSize(2);
+    }
+
+    @Test
+    void itShouldClampLimit() {
+        when(employeeService.getAllEmployees(5, 1000)).thenReturn(Flux.just(employeeDto));
+
+        webTestClient.get().uri(URI + "?after=5&limit=5000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(APPLICATION_JSON)
+                .expectBody().jsonPath("$[0].first_name").isEqualTo("John");
+    }
+
+    @Test
+    void itShouldGetEmployeeById() {
+        when(employeeService.getEmployeeById(ID)).thenReturn(Mono.just(employeeDto));
+
+        webTestClient.get().uri(URI + "/" + ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(ID);
+    }
+
+    @Test
+    void itShouldReturnNotFound() {
+        when(employeeService.getEmployeeById(ID)).thenReturn(Mono.error(new ResourceNotFoundException(NOT_FOUND)));
+
+        webTestClient.get().uri(URI + "/" + ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(NOT_FOUND)
+                .jsonPath("$.path").isEqualTo(URI + "/" + ID);
+    }
+
+    @Test
+    void itShouldRejectInvalidId() {
+        webTestClient.get().uri(URI + "/invalid")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo(TYPE_MISMATCH.formatted("invalid"));
+    }
+
+    @Test
+    void itShouldRejectInvalidEmployee() {
+        employeeDto.setPhoneNumber("123");
+
+        webTestClient.post().uri(URI).bodyValue(employeeDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Field: phoneNumber has invalid value: 123");
+
+        verify(employeeService, never()).addEmployee(any());
+    }
+
+    @Test
+    void itShouldReturnConflictOnDuplicate() {
+        when(employeeService.addEmployee(any())).thenReturn(Mono.error(new DuplicateResourceException("taken")));
+
+        webTestClient.post().uri(URI).bodyValue(employeeDto)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody().jsonPath("$.message").isEqualTo("taken");
+    }
+
+    @Test
+    void itShouldDeleteEmployee() {
+        when(employeeService.deleteEmployeeById(ID)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri(URI + "/" + ID)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
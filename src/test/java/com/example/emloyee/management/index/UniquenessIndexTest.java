@@ -0,0 +1,49 @@
+package com.example.emloyee.management.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UniquenessIndexTest {
+
+    @Test
+    void itShouldContainEveryAddedValue() {
+        UniquenessIndex index = new UniquenessIndex(16);
+
+        IntStream.range(0, 10_000).forEach(i -> index.add("user" + i + "@mail.com"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> index.mightContain("user" + i + "@mail.com"))).isTrue();
+        assertThat(index.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    void itShouldRejectMostAbsentValues() {
+        UniquenessIndex index = new UniquenessIndex(10_000);
+        IntStream.range(0, 10_000).forEach(i -> index.add("user" + i + "@mail.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> index.mightContain("other" + i + "@mail.com"))
+                .count();
+
+        assertThat(falsePositives).isLessThan(10);
+    }
+
+    @Test
+    void itShouldIgnoreNullValues() {
+        UniquenessIndex index = new UniquenessIndex(16);
+
+        index.add(null);
+
+        assertThat(index.mightContain(null)).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void itShouldReportMemoryOfHashTable() {
+        UniquenessIndex index = new UniquenessIndex(1000);
+
+        assertThat(index.memoryBytes()).isEqualTo(new LongHashSet(1000).memoryBytes());
+    }
+}
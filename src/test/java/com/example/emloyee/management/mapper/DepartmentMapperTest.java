@@ -0,0 +1,52 @@
+package com.example.emloyee.management.mapper;
+
+import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.entity.Department;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import static com.example.emloyee.management.mapper.EmployeeMapper.NULL_SOURCE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DepartmentMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final DepartmentMapper departmentMapper = new DepartmentMapper();
+
+    @Test
+    void itShouldMapEntityToDtoLikeModelMapper() {
+        Department department = Department.builder().id(1).name("IT").location("Chisinau").build();
+
+        assertThat(departmentMapper.toDto(department))
+                .isEqualTo(modelMapper.map(department, DepartmentDto.class));
+    }
+
+    @Test
+    void itShouldMapPartialDtoToEntityLikeModelMapper() {
+        DepartmentDto departmentDto = DepartmentDto.builder().name("IT").build();
+
+        assertThat(departmentMapper.toEntity(departmentDto))
+                .isEqualTo(modelMapper.map(departmentDto, Department.class));
+    }
+
+    @Test
+    void itShouldCopyId() {
+        Department department = Department.builder().id(1).name("IT").location("Chisinau").build();
+        DepartmentDto withId = departmentMapper.toDto(department);
+
+        assertThat(withId.getId()).isEqualTo(department.getId());
+        assertThat(departmentMapper.toEntity(withId).getId()).isEqualTo(department.getId());
+    }
+
+    @Test
+    void itShouldRejectNullSource() {
+        assertThatThrownBy(() -> departmentMapper.toDto(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(NULL_SOURCE);
+        assertThatThrownBy(() -> departmentMapper.toEntity(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(NULL_SOURCE);
+    }
+}
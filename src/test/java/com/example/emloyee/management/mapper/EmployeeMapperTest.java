@@ -0,0 +1,89 @@
+package com.example.emloyee.management.mapper;
+
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import static com.example.emloyee.management.mapper.EmployeeMapper.NULL_SOURCE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private final Employee employee = Employee.builder()
+            .id(1)
+            .firstName("John")
+            .lastName("Smith")
+            .departmentId(2)
+            .email("john@mail.com")
+            .phoneNumber("098765432")
+            .salary(1500.0)
+            .build();
+
+    private final EmployeeDto employeeDto = EmployeeDto.builder()
+            .firstName("John")
+            .lastName("Smith")
+            .departmentId(2)
+            .email("john@mail.com")
+            .phoneNumber("098765432")
+            .salary(1500.0)
+            .build();
+
+    @Test
+    void itShouldMapEntityToDtoLikeModelMapper() {
+        assertThat(employeeMapper.toDto(employee))
+                .isEqualTo(modelMapper.map(employee, EmployeeDto.class));
+    }
+
+    @Test
+    void itShouldMapPartialEntityToDtoLikeModelMapper() {
+        Employee partial = Employee.builder().id(1).firstName("John").build();
+
+        assertThat(employeeMapper.toDto(partial))
+                .isEqualTo(modelMapper.map(partial, EmployeeDto.class));
+    }
+
+    @Test
+    void itShouldMapDtoToEntityWithoutId() {
+        Employee mapped = employeeMapper.toEntity(employeeDto);
+
+        assertThat(mapped.getId()).isNull();
+        assertThat(mapped)
+                .usingRecursiveComparison()
+                .ignoringFields("id")
+                .isEqualTo(modelMapper.map(employeeDto, Employee.class));
+    }
+
+    @Test
+    void itShouldKeepNullFieldsOfPartialDto() {
+        EmployeeDto partial = EmployeeDto.builder().email("john@mail.com").build();
+
+        assertThat(employeeMapper.toEntity(partial))
+                .usingRecursiveComparison()
+                .ignoringFields("id")
+                .isEqualTo(modelMapper.map(partial, Employee.class));
+    }
+
+    @Test
+    void itShouldCopyId() {
+        EmployeeDto withId = employeeMapper.toDto(employee);
+
+        assertThat(withId.getId()).isEqualTo(employee.getId());
+        assertThat(employeeMapper.toEntity(withId).getId()).isEqualTo(employee.getId());
+    }
+
+    @Test
+    void itShouldRejectNullSource() {
+        assertThatThrownBy(() -> employeeMapper.toDto(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(NULL_SOURCE);
+        assertThatThrownBy(() -> employeeMapper.toEntity(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(NULL_SOURCE);
+    }
+}
@@ -1,28 +1,44 @@
 package com.example.emloyee.management.repository;
 
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.model.dto.ImportResultDto;
 import com.example.emloyee.management.model.entity.Department;
-import org.junit.Before;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import com.example.emloyee.management.model.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 
 import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatNoException;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@RunWith(MockitoJUnitRunner.class)
+@ExtendWith(MockitoExtension.class)
 public class DepartmentRepositoryTest {
 
     public static final int ID = 10;
@@ -32,6 +48,12 @@ public class DepartmentRepositoryTest {
     @Mock
     private DataSource dataSource;
 
+    @Mock
+    private DataSource readDataSource;
+
+    @Mock
+    private DataSource bulkDataSource;
+
     @Mock
     private Connection connection;
 
@@ -44,30 +66,38 @@ public class DepartmentRepositoryTest {
     @Mock
     private ResultSet resultSet;
 
-    @InjectMocks
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
     private DepartmentRepository departmentRepository;
 
 
-    @Before
-    public void setUp() {
+    @BeforeEach
+    void setUp() {
+        departmentRepository = new DepartmentRepository(dataSource, readDataSource, bulkDataSource);
         department = Department.builder()
                 .id(1)
                 .name("IT")
                 .location("Chisinau")
+                .version(1L)
                 .build();
     }
 
     @Test
-    public void itShouldFindAllDepartments() throws SQLException {
-        final String query = "SELECT * FROM departments";
+    void itShouldFindAllDepartments() throws SQLException {
+        final String query = "SELECT id, name, location, version FROM departments";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.createStatement()).thenReturn(statement);
         when(statement.executeQuery(query)).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true, false);
-        when(resultSet.getInt("id")).thenReturn(department.getId());
-        when(resultSet.getString("name")).thenReturn(department.getName());
-        when(resultSet.getString("location")).thenReturn(department.getLocation());
+        when(resultSet.getInt(1)).thenReturn(department.getId());
+        when(resultSet.getString(2)).thenReturn(department.getName());
+        when(resultSet.getString(3)).thenReturn(department.getLocation());
+        when(resultSet.getLong(4)).thenReturn(department.getVersion());
 
         List<Department> departments = departmentRepository.findAll();
 
@@ -76,16 +106,49 @@ public class DepartmentRepositoryTest {
     }
 
     @Test
-    public void itShouldFindById() throws SQLException {
-        final String query = "SELECT * FROM departments WHERE id = ?";
+    void itShouldFindDepartmentsAfterCursor() throws SQLException {
+        final String query = "SELECT id, name, location, version FROM departments WHERE id > ? ORDER BY id LIMIT ?";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(department.getId());
+        when(resultSet.getString(2)).thenReturn(department.getName());
+        when(resultSet.getString(3)).thenReturn(department.getLocation());
+        when(resultSet.getLong(4)).thenReturn(department.getVersion());
+
+        List<Department> departments = departmentRepository.findAll(null, 5);
+
+        verify(preparedStatement).setInt(1, 0);
+        verify(preparedStatement).setInt(2, 5);
+        assertThat(departments.contains(department)).isTrue();
+    }
+
+    @Test
+    void itShouldThrow_WhenPageCannotBeRead() throws SQLException {
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("SELECT id"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenThrow(new SQLException("connection reset", "08006"));
+
+        assertThatThrownBy(() -> departmentRepository.findAll(2, 5))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void itShouldFindById() throws SQLException {
+        final String query = "SELECT id, name, location, version FROM departments WHERE id = ?";
+
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
         doNothing().when(preparedStatement).setInt(1, department.getId());
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true, false);
-        when(resultSet.getString("name")).thenReturn(department.getName());
-        when(resultSet.getString("location")).thenReturn(department.getLocation());
+        when(resultSet.getInt(1)).thenReturn(department.getId());
+        when(resultSet.getString(2)).thenReturn(department.getName());
+        when(resultSet.getString(3)).thenReturn(department.getLocation());
+        when(resultSet.getLong(4)).thenReturn(department.getVersion());
 
         Optional<Department> optionalDepartment = departmentRepository.findById(department.getId());
 
@@ -93,7 +156,72 @@ public class DepartmentRepositoryTest {
     }
 
     @Test
-    public void itShouldSaveDepartment() throws SQLException {
+    void itShouldGroupJoinedEmployeesByDepartment() throws SQLException {
+        final String query = "SELECT d.id, d.name, d.location, d.version, e.id, e.first_name, e.last_name, e.department_id, e.email, e.phone_number, e.salary, e.version " +
+                "FROM (SELECT id, name, location, version FROM departments WHERE id > ? ORDER BY id LIMIT ?) d " +
+                "LEFT JOIN LATERAL (SELECT id, first_name, last_name, department_id, email, phone_number, salary, version " +
+                "FROM employees WHERE department_id = d.id ORDER BY id LIMIT ?) e ON true ORDER BY d.id, e.id";
+        final Employee employee = Employee.builder()
+                .id(5)
+                .firstName("John")
+                .lastName("Smith")
+                .departmentId(department.getId())
+                .email("john@mail.com")
+                .phoneNumber("098765432")
+                .salary(1500.0)
+                .version(1L)
+                .build();
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(department.getId());
+        when(resultSet.getString(2)).thenReturn(department.getName());
+        when(resultSet.getString(3)).thenReturn(department.getLocation());
+        when(resultSet.getLong(4)).thenReturn(department.getVersion());
+        when(resultSet.getInt(5)).thenReturn(employee.getId());
+        when(resultSet.getString(6)).thenReturn(employee.getFirstName());
+        when(resultSet.getString(7)).thenReturn(employee.getLastName());
+        when(resultSet.getInt(8)).thenReturn(employee.getDepartmentId());
+        when(resultSet.getString(9)).thenReturn(employee.getEmail());
+        when(resultSet.getString(10)).thenReturn(employee.getPhoneNumber());
+        when(resultSet.getDouble(11)).thenReturn(employee.getSalary());
+        when(resultSet.getLong(12)).thenReturn(employee.getVersion());
+
+        List<Department> departments = new ArrayList<>();
+        List<List<Employee>> employees = new ArrayList<>();
+        departmentRepository.findAllWithEmployees(null, 5, 3, (found, foundEmployees) -> {
+            departments.add(found);
+            employees.add(foundEmployees);
+        });
+
+        verify(preparedStatement).setInt(1, 0);
+        verify(preparedStatement).setInt(2, 5);
+        verify(preparedStatement).setInt(3, 3);
+        assertThat(departments).isEqualTo(List.of(department));
+        assertThat(employees).isEqualTo(List.of(List.of(employee)));
+    }
+
+    @Test
+    void itShouldReturnEmpty_WhenListingEmployeesOfUnknownDepartment() throws SQLException {
+        final String query = "SELECT d.id, e.id, e.first_name, e.last_name, e.department_id, e.email, e.phone_number, e.salary, e.version " +
+                "FROM departments d LEFT JOIN employees e ON e.department_id = d.id AND e.id > ? WHERE d.id = ? ORDER BY e.id LIMIT ?";
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(departmentRepository.findEmployees(ID, 3, 5)).isEqualTo(Optional.empty());
+
+        verify(preparedStatement).setInt(1, 3);
+        verify(preparedStatement).setInt(2, ID);
+        verify(preparedStatement).setInt(3, 5);
+    }
+
+    @Test
+    void itShouldSaveDepartment() throws SQLException {
         final String query = "INSERT INTO departments(name, location) VALUES (?, ?)";
 
         when(dataSource.getConnection()).thenReturn(connection);
@@ -106,7 +234,7 @@ public class DepartmentRepositoryTest {
     }
 
     @Test
-    public void itShouldDeleteById() throws SQLException {
+    void itShouldDeleteById() throws SQLException {
         final String query = "DELETE FROM departments WHERE id = ?";
 
         when(dataSource.getConnection()).thenReturn(connection);
@@ -118,22 +246,128 @@ public class DepartmentRepositoryTest {
     }
 
     @Test
-    public void itShouldUpdateDepartment() throws SQLException {
+    void itShouldUpdateDepartment() throws SQLException {
 
         final String query = "UPDATE departments SET name = ?, location = ? WHERE id = ?";
 
         when(dataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
-        doNothing().when(preparedStatement).setString(1, department.getName());
-        doNothing().when(preparedStatement).setString(2, department.getLocation());
-        doNothing().when(preparedStatement).setInt(3, department.getId());
         when(preparedStatement.executeUpdate()).thenReturn(1);
 
         assertThatNoException().isThrownBy(() -> departmentRepository.update(department, department.getId()));
+        verify(preparedStatement).setObject(1, department.getName());
+        verify(preparedStatement).setObject(2, department.getLocation());
+        verify(preparedStatement).setInt(3, department.getId());
+    }
+
+    @Test
+    void itShouldStreamDepartmentsWithFetchSizeInsideTransaction() throws SQLException {
+        final String query = "SELECT id, name, location, version FROM departments";
+        List<Department> departments = new ArrayList<>();
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(department.getId());
+        when(resultSet.getString(2)).thenReturn(department.getName());
+        when(resultSet.getString(3)).thenReturn(department.getLocation());
+        when(resultSet.getLong(4)).thenReturn(department.getVersion());
+
+        departmentRepository.streamAll(500, departments::add);
+
+        verify(connection).setAutoCommit(false);
+        verify(preparedStatement).setFetchSize(500);
+        verify(connection).commit();
+        assertThat(departments.size()).isEqualTo(1);
+        assertThat(departments.get(0)).isEqualTo(department);
+    }
+
+    @Test
+    void itShouldRollback_WhenStreamConsumerFails() throws SQLException {
+        final String query = "SELECT id, name, location, version FROM departments";
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+
+        assertThatThrownBy(() -> departmentRepository.streamAll(500, department -> {
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        })).isInstanceOf(UncheckedIOException.class);
+
+        verify(connection).rollback();
+        verify(resultSet).close();
+    }
+
+    @Test
+    void itShouldFindExistingIds() throws SQLException {
+        final String query = "SELECT id FROM departments WHERE id = ANY(?)";
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(department.getId());
+
+        Set<Integer> ids = departmentRepository.findExistingIds(List.of(department.getId(), ID));
+
+        assertThat(ids).isEqualTo(Set.of(department.getId()));
+    }
+
+    @Test
+    void itShouldCopyDepartmentsToOutputStream() throws SQLException, IOException {
+        OutputStream outputStream = new ByteArrayOutputStream();
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+
+        departmentRepository.copyOut(outputStream);
+
+        verify(copyManager).copyOut(startsWith("COPY (SELECT id, "), eq(outputStream));
+    }
+
+    @Test
+    void itShouldCopyDepartmentsIntoStagingTableAndMerge() throws SQLException, IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(startsWith("COPY departments_staging"), eq(inputStream))).thenReturn(4L);
+        when(statement.executeUpdate(startsWith("UPDATE departments"))).thenReturn(1);
+        when(statement.executeUpdate(startsWith("INSERT INTO departments"))).thenReturn(2);
+        when(statement.executeQuery(startsWith("SELECT s.id FROM departments_staging"))).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(7);
+
+        ImportResultDto importResult = departmentRepository.copyIn(inputStream);
+
+        verify(statement).execute(startsWith("CREATE TEMP TABLE departments_staging"));
+        verify(connection).commit();
+        assertThat(importResult).isEqualTo(new ImportResultDto(4, 2, 1, List.of(7)));
+    }
+
+    @Test
+    void itShouldRollbackImport_WhenMergeFails() throws SQLException, IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(statement.executeQuery(startsWith("SELECT s.id FROM departments_staging"))).thenReturn(resultSet);
+        when(statement.executeUpdate(startsWith("UPDATE departments"))).thenThrow(new SQLException("violation", "23505"));
+
+        assertThatThrownBy(() -> departmentRepository.copyIn(inputStream)).isInstanceOf(DuplicateResourceException.class);
+
+        verify(connection).rollback();
     }
 
     @Test
-    public void itShouldDeleteAllDepartments() throws SQLException {
+    void itShouldDeleteAllDepartments() throws SQLException {
         final String query = "DELETE FROM departments";
 
         when(dataSource.getConnection()).thenReturn(connection);
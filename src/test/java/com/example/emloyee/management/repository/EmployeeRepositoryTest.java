@@ -1,28 +1,52 @@
 package com.example.emloyee.management.repository;
 
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.exception.NoUpdateException;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeeSortField;
+import com.example.emloyee.management.model.dto.ImportResultDto;
 import com.example.emloyee.management.model.entity.Employee;
-import org.junit.Before;
-import org.junit.Test;
-import org.junit.runner.RunWith;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 
 import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatNoException;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@RunWith(MockitoJUnitRunner.class)
+@ExtendWith(MockitoExtension.class)
 public class EmployeeRepositoryTest {
 
     private Employee employee;
@@ -30,6 +54,12 @@ public class EmployeeRepositoryTest {
     @Mock
     private DataSource dataSource;
 
+    @Mock
+    private DataSource readDataSource;
+
+    @Mock
+    private DataSource bulkDataSource;
+
     @Mock
     private Connection connection;
 
@@ -39,14 +69,23 @@ public class EmployeeRepositoryTest {
     @Mock
     private PreparedStatement preparedStatement;
 
+    @Mock
+    private PreparedStatement emailStatement;
+
     @Mock
     private ResultSet resultSet;
 
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
     @InjectMocks
     private EmployeeRepository employeeRepository;
 
-    @Before
-    public void setUp() throws Exception {
+    @BeforeEach
+    void setUp() throws Exception {
         employee = Employee.builder()
                 .id(1)
                 .firstName("John")
@@ -54,23 +93,25 @@ public class EmployeeRepositoryTest {
                 .email("johns@email.com")
                 .salary(2000.0)
                 .departmentId(1)
+                .version(1L)
                 .build();
     }
 
     @Test
-    public void itShouldFindAllEmployees() throws SQLException {
-        final String query = "SELECT * FROM employees";
+    void itShouldFindAllEmployees() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.createStatement()).thenReturn(statement);
         when(statement.executeQuery(query)).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true, false);
-        when(resultSet.getString("first_name")).thenReturn(employee.getFirstName());
-        when(resultSet.getString("last_name")).thenReturn(employee.getLastName());
-        when(resultSet.getInt("department_id")).thenReturn(employee.getDepartmentId());
-        when(resultSet.getString("email")).thenReturn(employee.getEmail());
-        when(resultSet.getDouble("salary")).thenReturn(employee.getSalary());
-        when(resultSet.getInt("id")).thenReturn(employee.getId());
+        when(resultSet.getString(2)).thenReturn(employee.getFirstName());
+        when(resultSet.getString(3)).thenReturn(employee.getLastName());
+        when(resultSet.getInt(4)).thenReturn(employee.getDepartmentId());
+        when(resultSet.getString(5)).thenReturn(employee.getEmail());
+        when(resultSet.getDouble(7)).thenReturn(employee.getSalary());
+        when(resultSet.getLong(8)).thenReturn(employee.getVersion());
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
 
         List<Employee> employees = employeeRepository.findAll();
 
@@ -79,20 +120,45 @@ public class EmployeeRepositoryTest {
     }
 
     @Test
-    public void itShouldFindEmployeeById() throws SQLException {
-        final String query = "SELECT * FROM employees WHERE id = ?";
+    void itShouldFindEmployeesAfterCursor() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees WHERE id > ? ORDER BY id LIMIT ?";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(2)).thenReturn(employee.getFirstName());
+        when(resultSet.getString(3)).thenReturn(employee.getLastName());
+        when(resultSet.getInt(4)).thenReturn(employee.getDepartmentId());
+        when(resultSet.getString(5)).thenReturn(employee.getEmail());
+        when(resultSet.getDouble(7)).thenReturn(employee.getSalary());
+        when(resultSet.getLong(8)).thenReturn(employee.getVersion());
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
+
+        List<Employee> employees = employeeRepository.findAll(0, 10);
+
+        verify(preparedStatement).setInt(1, 0);
+        verify(preparedStatement).setInt(2, 10);
+        assertThat(employees.get(0)).isEqualTo(employee);
+        assertThat(employees.size()).isEqualTo(1);
+    }
+
+    @Test
+    void itShouldFindEmployeeById() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees WHERE id = ?";
+
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
         doNothing().when(preparedStatement).setInt(1, employee.getId());
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true, false);
-        when(resultSet.getString("first_name")).thenReturn(employee.getFirstName());
-        when(resultSet.getString("last_name")).thenReturn(employee.getLastName());
-        when(resultSet.getInt("department_id")).thenReturn(employee.getDepartmentId());
-        when(resultSet.getString("email")).thenReturn(employee.getEmail());
-        when(resultSet.getDouble("salary")).thenReturn(employee.getSalary());
-        when(resultSet.getInt("id")).thenReturn(employee.getId());
+        when(resultSet.getString(2)).thenReturn(employee.getFirstName());
+        when(resultSet.getString(3)).thenReturn(employee.getLastName());
+        when(resultSet.getInt(4)).thenReturn(employee.getDepartmentId());
+        when(resultSet.getString(5)).thenReturn(employee.getEmail());
+        when(resultSet.getDouble(7)).thenReturn(employee.getSalary());
+        when(resultSet.getLong(8)).thenReturn(employee.getVersion());
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
 
         Optional<Employee> optionalEmployee = employeeRepository.findById(employee.getId());
 
@@ -100,25 +166,44 @@ public class EmployeeRepositoryTest {
     }
 
     @Test
-    public void itShouldSaveEmployee() throws SQLException {
+    void itShouldLockEmployeeOnPrimary_WhenFindByIdForUpdate() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees WHERE id = ? FOR UPDATE";
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(employeeRepository.findByIdForUpdate(employee.getId())).isEmpty();
+
+        verify(preparedStatement).setInt(1, employee.getId());
+    }
+
+    @Test
+    void itShouldSaveEmployee() throws SQLException {
         final String query = "INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary)" +
                 "VALUES(?, ?, ?, ?, ?, ?)";
 
         when(dataSource.getConnection()).thenReturn(connection);
-        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(connection.prepareStatement(query, new String[]{"id"})).thenReturn(preparedStatement);
         doNothing().when(preparedStatement).setString(1, employee.getFirstName());
         doNothing().when(preparedStatement).setString(2, employee.getLastName());
         doNothing().when(preparedStatement).setInt(3, employee.getDepartmentId());
         doNothing().when(preparedStatement).setString(4, employee.getEmail());
         doNothing().when(preparedStatement).setString(5, employee.getPhoneNumber());
         doNothing().when(preparedStatement).setDouble(6, employee.getSalary());
-        when(preparedStatement.execute()).thenReturn(true);
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        when(preparedStatement.getGeneratedKeys()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt(1)).thenReturn(2);
+
+        employeeRepository.save(employee);
 
-        assertThatNoException().isThrownBy(() -> employeeRepository.save(employee));
+        assertThat(employee.getId()).isEqualTo(2);
     }
 
     @Test
-    public void itShouldDeleteEmployeeById() throws SQLException {
+    void itShouldDeleteEmployeeById() throws SQLException {
         final String query = "DELETE FROM employees WHERE id = ?";
 
         when(dataSource.getConnection()).thenReturn(connection);
@@ -130,29 +215,32 @@ public class EmployeeRepositoryTest {
     }
 
     @Test
-    public void itShouldReturnTrue_WhenExistsByEmail() throws SQLException {
-        final String query = "SELECT * FROM employees WHERE email = ?";
+    void itShouldReturnTrue_WhenExistsByEmail() throws SQLException {
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE email = ?)";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
         doNothing().when(preparedStatement).setString(1, employee.getEmail());
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
 
         boolean existsByEmail = employeeRepository.existsByEmail(employee.getEmail());
 
         assertThat(existsByEmail).isTrue();
+        verify(resultSet).close();
     }
 
     @Test
-    public void itShouldReturnFalse_WhenNotExistsByEmail() throws SQLException {
-        final String query = "SELECT * FROM employees WHERE email = ?";
+    void itShouldReturnFalse_WhenNotExistsByEmail() throws SQLException {
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE email = ?)";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
         doNothing().when(preparedStatement).setString(1, employee.getEmail());
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(false);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(false);
 
         boolean existsByEmail = employeeRepository.existsByEmail(employee.getEmail());
 
@@ -160,13 +248,14 @@ public class EmployeeRepositoryTest {
     }
 
     @Test
-    public void itShouldReturnTrue_WhenExistsByPhoneNumber() throws SQLException {
-        final String query = "SELECT * FROM employees WHERE phone_number = ?";
+    void itShouldReturnTrue_WhenExistsByPhoneNumber() throws SQLException {
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE phone_number = ?)";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
 
         boolean existsByEmail = employeeRepository.existsByPhoneNumber(employee.getEmail());
 
@@ -174,13 +263,14 @@ public class EmployeeRepositoryTest {
     }
 
     @Test
-    public void itShouldReturnFalse_WhenNotExistsByPhoneNumber() throws SQLException {
-        final String query = "SELECT * FROM employees WHERE phone_number = ?";
+    void itShouldReturnFalse_WhenNotExistsByPhoneNumber() throws SQLException {
+        final String query = "SELECT EXISTS (SELECT 1 FROM employees WHERE phone_number = ?)";
 
-        when(dataSource.getConnection()).thenReturn(connection);
+        when(readDataSource.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(query)).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(false);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(false);
 
         boolean existsByEmail = employeeRepository.existsByPhoneNumber(employee.getPhoneNumber());
 
@@ -188,7 +278,202 @@ public class EmployeeRepositoryTest {
     }
 
     @Test
-    public void itShouldDeleteAllDepartments() throws SQLException {
+    void itShouldFilterAndSortAfterCursorValue() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees " +
+                "WHERE department_id = ? AND salary >= ? AND (lower(first_name) LIKE ? OR lower(last_name) LIKE ?) " +
+                "AND ((last_name, id) > (?, ?)) ORDER BY last_name, id LIMIT ?";
+        final EmployeeFilter filter = EmployeeFilter.builder()
+                .departmentId(3)
+                .minSalary(5000.0)
+                .name("Sm_")
+                .sort(EmployeeSortField.LAST_NAME)
+                .build();
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT last_name FROM employees WHERE id = ?")).thenReturn(emailStatement);
+        when(emailStatement.executeQuery()).thenReturn(resultSet);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn("Smith");
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
+
+        List<Employee> employees = employeeRepository.findAll(filter, 7, 11);
+
+        assertThat(employees.size()).isEqualTo(1);
+        verify(preparedStatement).setObject(3, "sm\\_%");
+        verify(preparedStatement).setObject(5, "Smith");
+        verify(preparedStatement).setObject(6, 7);
+        verify(preparedStatement).setInt(7, 11);
+    }
+
+    @Test
+    void itShouldRejectCursor_WhenCursorRowWasDeleted() throws SQLException {
+        final EmployeeFilter filter = EmployeeFilter.builder().sort(EmployeeSortField.LAST_NAME).build();
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT last_name FROM employees WHERE id = ?")).thenReturn(emailStatement);
+        when(emailStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        assertThatThrownBy(() -> employeeRepository.findAll(filter, 7, 11))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessageContaining("Employee with id = [7] no longer exists");
+        verify(connection, never()).prepareStatement(startsWith("SELECT id"));
+    }
+
+    @Test
+    void itShouldThrow_WhenFilteredPageCannotBeRead() throws SQLException {
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("SELECT id"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenThrow(new SQLException("connection reset", "08006"));
+
+        assertThatThrownBy(() -> employeeRepository.findAll(EmployeeFilter.builder().build(), null, 10))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void itShouldThrow_WhenEmployeesByIdCannotBeRead() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("SELECT id"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenThrow(new SQLException("connection reset", "08006"));
+
+        assertThatThrownBy(() -> employeeRepository.findAllById(List.of(1, 2)))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void itShouldStreamEmployeesWithFetchSizeInsideTransaction() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees";
+        List<Employee> employees = new ArrayList<>();
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(2)).thenReturn(employee.getFirstName());
+        when(resultSet.getString(3)).thenReturn(employee.getLastName());
+        when(resultSet.getInt(4)).thenReturn(employee.getDepartmentId());
+        when(resultSet.getString(5)).thenReturn(employee.getEmail());
+        when(resultSet.getDouble(7)).thenReturn(employee.getSalary());
+        when(resultSet.getLong(8)).thenReturn(employee.getVersion());
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
+
+        employeeRepository.streamAll(500, employees::add);
+
+        verify(connection).setAutoCommit(false);
+        verify(preparedStatement).setFetchSize(500);
+        verify(connection).commit();
+        assertThat(employees.size()).isEqualTo(1);
+        assertThat(employees.get(0)).isEqualTo(employee);
+    }
+
+    @Test
+    void itShouldRollback_WhenStreamConsumerFails() throws SQLException {
+        final String query = "SELECT id, first_name, last_name, department_id, email, phone_number, salary, version FROM employees";
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+
+        assertThatThrownBy(() -> employeeRepository.streamAll(500, employee -> {
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        })).isInstanceOf(UncheckedIOException.class);
+
+        verify(connection).rollback();
+        verify(resultSet).close();
+    }
+
+    @Test
+    void itShouldSaveAllEmployeesInOneBatch() throws SQLException {
+        final String query = "INSERT INTO employees(first_name, last_name, department_id, email, phone_number, salary)" +
+                "VALUES(?, ?, ?, ?, ?, ?)";
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(eq(query), any(String[].class))).thenReturn(preparedStatement);
+        when(preparedStatement.getGeneratedKeys()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getInt(1)).thenReturn(7, 8);
+
+        List<Integer> ids = employeeRepository.saveAll(List.of(employee, employee));
+
+        verify(preparedStatement, times(2)).addBatch();
+        verify(preparedStatement).executeBatch();
+        verify(connection).commit();
+        assertThat(ids).isEqualTo(List.of(7, 8));
+    }
+
+    @Test
+    void itShouldFindExistingEmails() throws SQLException {
+        final String query = "SELECT email FROM employees WHERE email = ANY(?)";
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn(employee.getEmail());
+
+        Set<String> emails = employeeRepository.findExistingEmails(List.of(employee.getEmail(), "other@mail.com"));
+
+        assertThat(emails).isEqualTo(Set.of(employee.getEmail()));
+    }
+
+    @Test
+    void itShouldCopyEmployeesToOutputStream() throws SQLException, IOException {
+        OutputStream outputStream = new ByteArrayOutputStream();
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+
+        employeeRepository.copyOut(outputStream);
+
+        verify(copyManager).copyOut(startsWith("COPY (SELECT id, "), eq(outputStream));
+    }
+
+    @Test
+    void itShouldCopyEmployeesIntoStagingTableAndMerge() throws SQLException, IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(startsWith("COPY employees_staging"), eq(inputStream))).thenReturn(4L);
+        when(statement.executeUpdate(startsWith("UPDATE employees"))).thenReturn(1);
+        when(statement.executeUpdate(startsWith("INSERT INTO employees"))).thenReturn(2);
+        when(statement.executeQuery(startsWith("SELECT s.id FROM employees_staging"))).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(7);
+
+        ImportResultDto importResult = employeeRepository.copyIn(inputStream);
+
+        verify(statement).execute(startsWith("CREATE TEMP TABLE employees_staging"));
+        verify(connection).commit();
+        assertThat(importResult).isEqualTo(new ImportResultDto(4, 2, 1, List.of(7)));
+    }
+
+    @Test
+    void itShouldRollbackImport_WhenMergeFails() throws SQLException, IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        when(bulkDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(statement.executeQuery(startsWith("SELECT s.id FROM employees_staging"))).thenReturn(resultSet);
+        when(statement.executeUpdate(startsWith("UPDATE employees"))).thenThrow(new SQLException("violation", "23505"));
+
+        assertThatThrownBy(() -> employeeRepository.copyIn(inputStream)).isInstanceOf(DuplicateResourceException.class);
+
+        verify(connection).rollback();
+    }
+
+    @Test
+    void itShouldDeleteAllDepartments() throws SQLException {
         final String query = "DELETE FROM employees";
 
         when(dataSource.getConnection()).thenReturn(connection);
@@ -197,4 +482,179 @@ public class EmployeeRepositoryTest {
 
         assertThatNoException().isThrownBy(() -> employeeRepository.deleteAll());
     }
-}
\ No newline at end of file
+
+    @Test
+    void itShouldInsertEmployeeAndReturnGeneratedRow() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("INSERT INTO employees"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(2)).thenReturn(employee.getFirstName());
+        when(resultSet.getString(3)).thenReturn(employee.getLastName());
+        when(resultSet.getInt(4)).thenReturn(employee.getDepartmentId());
+        when(resultSet.getString(5)).thenReturn(employee.getEmail());
+        when(resultSet.getDouble(7)).thenReturn(employee.getSalary());
+        when(resultSet.getLong(8)).thenReturn(employee.getVersion());
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
+
+        assertThat(employeeRepository.insert(employee)).isEqualTo(employee);
+    }
+
+    @Test
+    void itShouldThrowDuplicate_WhenInsertViolatesUniqueEmail() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("INSERT INTO employees"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery())
+                .thenThrow(new SQLException("Key (email)=(johns@email.com) already exists.", "23505"));
+
+        assertThatThrownBy(() -> employeeRepository.insert(employee))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Email [johns@email.com] is already taken");
+    }
+
+    @Test
+    void itShouldThrowDuplicate_WhenSaveViolatesUniqueEmail() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("INSERT INTO employees"), any(String[].class))).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate())
+                .thenThrow(new SQLException("Key (email)=(johns@email.com) already exists.", "23505"));
+
+        assertThatThrownBy(() -> employeeRepository.save(employee))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Email [johns@email.com] is already taken");
+    }
+
+    @Test
+    void itShouldThrowDuplicate_WhenUpdateViolatesUniquePhoneNumber() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("UPDATE employees"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate())
+                .thenThrow(new SQLException("Key (phone_number)=(+380501234567) already exists.", "23505"));
+
+        assertThatThrownBy(() -> employeeRepository.update(employee, employee.getId()))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessage("Phone number [+380501234567] is already taken");
+    }
+
+    @Test
+    void itShouldThrowNotFound_WhenInsertReferencesUnknownDepartment() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("INSERT INTO employees"))).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenThrow(new SQLException(
+                "Key (department_id)=(7) is not present in table \"departments\".", "23503"));
+
+        assertThatThrownBy(() -> employeeRepository.insert(employee))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Department with id = [7] not found");
+    }
+
+    @Test
+    void itShouldUpdateOnlyChangedRowInOneStatement() throws SQLException {
+        final String query = "UPDATE employees SET first_name = ?, email = ? WHERE id = ? " +
+                "AND (first_name IS DISTINCT FROM ? OR email IS DISTINCT FROM ?) RETURNING id, first_name, last_name, department_id, email, phone_number, salary, version";
+        final Employee request = Employee.builder().firstName("Maria").email("maria@email.com").build();
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt(1)).thenReturn(employee.getId());
+        when(resultSet.getString(2)).thenReturn("Maria");
+
+        Optional<Employee> updated = employeeRepository.updateReturning(request, employee.getId());
+
+        assertThat(updated.get().getFirstName()).isEqualTo("Maria");
+        verify(preparedStatement).setInt(3, employee.getId());
+        verify(preparedStatement).setObject(4, "Maria");
+        verify(preparedStatement).setObject(5, "maria@email.com");
+    }
+
+    @Test
+    void itShouldBatchUpdatesThatSetTheSameFields() throws SQLException {
+        final List<Employee> employees = List.of(
+                Employee.builder().id(1).salary(1800.0).build(),
+                Employee.builder().id(2).email("maria@email.com").build(),
+                Employee.builder().id(3).salary(1900.0).build());
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("UPDATE employees SET salary = ? WHERE id = ?")).thenReturn(preparedStatement);
+        when(connection.prepareStatement("UPDATE employees SET email = ? WHERE id = ?")).thenReturn(emailStatement);
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 0});
+        when(emailStatement.executeBatch()).thenReturn(new int[]{1});
+
+        int[] counts = employeeRepository.updateAll(employees);
+
+        assertThat(counts).isEqualTo(new int[]{1, 1, 0});
+        verify(preparedStatement, times(2)).addBatch();
+        verify(preparedStatement).setInt(2, 3);
+        verify(connection).commit();
+    }
+
+    @Test
+    void itShouldAdjustSalariesOfMatchingEmployeesInOneStatement() throws SQLException {
+        final String query = "UPDATE employees SET salary = salary * ? + ? WHERE department_id = ? AND salary >= ? RETURNING id";
+        final EmployeeFilter filter = EmployeeFilter.builder().departmentId(3).minSalary(1000.0).build();
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getInt(1)).thenReturn(4, 7);
+
+        assertThat(employeeRepository.adjustSalaries(filter, 1.1, 0)).isEqualTo(List.of(4, 7));
+        verify(preparedStatement).setObject(1, 1.1);
+        verify(preparedStatement).setObject(2, 0.0);
+        verify(preparedStatement).setObject(3, 3);
+        verify(preparedStatement).setObject(4, 1000.0);
+    }
+
+    @Test
+    void itShouldDeleteEmployeesById() throws SQLException {
+        final String query = "DELETE FROM employees WHERE id = ANY(?) RETURNING id";
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(2);
+
+        assertThat(employeeRepository.deleteMatching(EmployeeFilter.builder().ids(List.of(2, 9)).build())).isEqualTo(List.of(2));
+        verify(preparedStatement).setObject(1, new Integer[]{2, 9});
+    }
+
+    @Test
+    void itShouldReturnEmpty_WhenUpdatingUnknownId() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(employeeRepository.updateReturning(employee, 99)).isEmpty();
+    }
+
+    @Test
+    void itShouldThrowNoUpdates_WhenRowIsUnchanged() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false, true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+
+        assertThatThrownBy(() -> employeeRepository.updateReturning(employee, employee.getId()))
+                .isInstanceOf(NoUpdateException.class);
+    }
+
+    @Test
+    void itShouldFindVersionWithoutLoadingRow() throws SQLException {
+        final String query = "SELECT version FROM employees WHERE id = ?";
+
+        when(readDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(3L);
+
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(3L);
+        verify(preparedStatement).setInt(1, employee.getId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.emloyee.management.repository;
+
+import com.example.emloyee.management.model.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntityRowMapperTest {
+
+    private final ResultSet resultSet = mock(ResultSet.class);
+
+    @Test
+    void itShouldListColumnsInMappingOrder() {
+        assertThat(EmployeeRepository.ROW_MAPPER.columns())
+                .isEqualTo("id, first_name, last_name, department_id, email, phone_number, salary, version");
+        assertThat(DepartmentRepository.ROW_MAPPER.columns("d")).isEqualTo("d.id, d.name, d.location, d.version");
+    }
+
+    @Test
+    void itShouldReadByIndexWithoutColumnLookups() throws SQLException {
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(1);
+        when(resultSet.getString(2)).thenReturn("John");
+        when(resultSet.getInt(4)).thenReturn(3);
+        when(resultSet.getDouble(7)).thenReturn(1500.0);
+        when(resultSet.getLong(8)).thenReturn(2L);
+
+        List<Employee> employees = EmployeeRepository.ROW_MAPPER.list(resultSet);
+
+        assertThat(employees).containsExactly(Employee.builder()
+                .id(1).firstName("John").departmentId(3).salary(1500.0).version(2L).build());
+        verify(resultSet, never()).findColumn(anyString());
+        verify(resultSet, never()).getString(anyString());
+    }
+
+    @Test
+    void itShouldMapNullNumbersToNull() throws SQLException {
+        when(resultSet.getInt(1)).thenReturn(1);
+        when(resultSet.getInt(4)).thenReturn(0);
+        when(resultSet.wasNull()).thenReturn(false, true, true, false);
+
+        Employee employee = EmployeeRepository.ROW_MAPPER.mapRow(resultSet);
+
+        assertThat(employee.getDepartmentId()).isNull();
+        assertThat(employee.getSalary()).isNull();
+        assertThat(employee.getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void itShouldMapFromOffset() throws SQLException {
+        when(resultSet.getInt(3)).thenReturn(5);
+        when(resultSet.getString(4)).thenReturn("IT");
+
+        assertThat(DepartmentRepository.ROW_MAPPER.mapRow(resultSet, 2).getId()).isEqualTo(5);
+        assertThat(DepartmentRepository.ROW_MAPPER.mapRow(resultSet, 2).getName()).isEqualTo("IT");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.emloyee.management.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class UpdateTemplatesTest {
+
+    private final UpdateTemplates templates = new UpdateTemplates("employees", new String[]{"first_name", "email", "salary"}, "id");
+
+    @Test
+    void itShouldBuildOneTemplatePerCombinationOfColumns() {
+        int mask = UpdateTemplates.mask(new Object[]{"John", null, 1500.0});
+
+        assertThat(mask).isEqualTo(0b101);
+        assertThat(templates.update(mask)).isEqualTo("UPDATE employees SET first_name = ?, salary = ? WHERE id = ?");
+        assertThat(templates.updateIfChanged(mask)).isEqualTo("UPDATE employees SET first_name = ?, salary = ? WHERE id = ? " +
+                "AND (first_name IS DISTINCT FROM ? OR salary IS DISTINCT FROM ?) RETURNING id");
+        assertThat(templates.namedUpdateIfChanged(mask)).isEqualTo("UPDATE employees SET first_name = :first_name, salary = :salary " +
+                "WHERE id = :id AND (first_name IS DISTINCT FROM :first_name OR salary IS DISTINCT FROM :salary) RETURNING id");
+        assertThat(templates.update(mask)).isSameAs(templates.update(mask));
+    }
+
+    @Test
+    void itShouldBindOnlyPresentValues() throws SQLException {
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+        int next = UpdateTemplates.bind(preparedStatement, new Object[]{null, "a@mail.com", 1500.0}, 1);
+
+        assertThat(next).isEqualTo(3);
+        verify(preparedStatement).setObject(1, "a@mail.com");
+        verify(preparedStatement).setObject(2, 1500.0);
+        verifyNoMoreInteractions(preparedStatement);
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.emloyee.management.service;
 
+import com.example.emloyee.management.config.UnitOfWorkManager;
 import com.example.emloyee.management.exception.NoUpdateException;
 import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.DepartmentMapper;
+import com.example.emloyee.management.mapper.EmployeeMapper;
 import com.example.emloyee.management.model.dto.DepartmentDto;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
 import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
 import com.example.emloyee.management.repository.DepartmentRepository;
+import com.example.emloyee.management.repository.TableVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,11 +24,21 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -28,6 +47,8 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,11 +58,27 @@ public class DepartmentServiceTest {
     public static final int ID = 10;
     public static final String NOT_FOUND = "Department with id = [%d] not found".formatted(ID);
     public static final String NO_UPDATES = "No updates for department with id = [%d]";
+    public static final Map<String, Long> JOINED_VERSIONS = Map.of(TableVersionRepository.DEPARTMENTS, 7L, TableVersionRepository.EMPLOYEES, 3L);
     @Mock
     private DepartmentRepository departmentRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private DepartmentMapper departmentMapper;
+
+    @Spy
+    private EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private UnitOfWorkManager unitOfWorkManager = new UnitOfWorkManager(null, null, Isolation.DEFAULT);
 
     @InjectMocks
     private DepartmentService departmentService;
@@ -73,19 +110,114 @@ public class DepartmentServiceTest {
     void itShouldGetAllDepartments() {
         List<Department> departments = List.of(department);
 
-        when(departmentRepository.findAll()).thenReturn(departments);
-        when(modelMapper.map(department, DepartmentDto.class)).thenReturn(departmentDto);
+        when(departmentRepository.findAll(null, 11)).thenReturn(departments);
+        when(departmentMapper.toDto(department)).thenReturn(departmentDto);
+
+        PageDto<DepartmentDto> departmentDtos = departmentService.getAllDepartments(null, 10, versions -> false).value();
+
+        verify(departmentRepository).findAll(null, 11);
+        assertThat(departmentDtos.getContent().contains(departmentDto)).isTrue();
+        assertThat(departmentDtos.getNext()).isNull();
+    }
+
+    @Test
+    void itShouldReturnNextCursor_WhenMoreDepartmentsExist() {
+        Department nextDepartment = Department.builder().id(2).build();
+
+        when(departmentRepository.findAll(null, 2)).thenReturn(List.of(department, nextDepartment));
+        when(departmentMapper.toDto(department)).thenReturn(departmentDto);
 
-        List<DepartmentDto> departmentDtos = departmentService.getAllDepartments();
+        PageDto<DepartmentDto> departmentDtos = departmentService.getAllDepartments(null, 1, versions -> false).value();
 
-        verify(departmentRepository).findAll();
-        assertThat(departmentDtos.contains(departmentDto)).isTrue();
+        assertThat(departmentDtos.getContent().size()).isEqualTo(1);
+        assertThat(departmentDtos.getNext()).isEqualTo(department.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void itShouldGetDepartmentsWithEmployees() {
+        ReflectionTestUtils.setField(departmentService, "expandEmployeesLimit", 1);
+        Employee employee = Employee.builder().id(5).firstName("John").departmentId(department.getId()).build();
+        Employee nextEmployee = Employee.builder().id(6).firstName("Jane").departmentId(department.getId()).build();
+        Department nextDepartment = Department.builder().id(2).build();
+
+        doAnswer(invocation -> {
+            BiConsumer<Department, List<Employee>> consumer = invocation.getArgument(3, BiConsumer.class);
+            consumer.accept(department, List.of(employee, nextEmployee));
+            consumer.accept(nextDepartment, List.of());
+            return null;
+        }).when(departmentRepository).findAllWithEmployees(eq(null), eq(2), eq(2), any());
+        when(departmentMapper.toDto(department)).thenReturn(departmentDto);
+        when(departmentMapper.toDto(nextDepartment)).thenReturn(DepartmentDto.builder().id(2).build());
+
+        when(tableVersionRepository.getVersions(TableVersionRepository.DEPARTMENTS, TableVersionRepository.EMPLOYEES))
+                .thenReturn(JOINED_VERSIONS);
+
+        Versioned<PageDto<DepartmentDto>> page = departmentService.getAllDepartmentsWithEmployees(null, 1, versions -> false);
+        PageDto<DepartmentDto> departmentDtos = page.value();
+
+        assertThat(page.versions()).isEqualTo(JOINED_VERSIONS);
+        assertThat(departmentDtos.getContent()).isEqualTo(List.of(departmentDto));
+        assertThat(departmentDto.getEmployees()).isEqualTo(List.of(employeeMapper.toDto(employee)));
+        assertThat(departmentDto.getEmployeesNext()).isEqualTo(employee.getId());
+        assertThat(departmentDtos.getNext()).isEqualTo(departmentDto.getId());
+    }
+
+    @Test
+    void itShouldGetDepartmentEmployees() {
+        Employee employee = Employee.builder().id(5).firstName("John").departmentId(ID).build();
+
+        when(departmentRepository.findEmployees(ID, null, 11)).thenReturn(Optional.of(List.of(employee)));
+
+        PageDto<EmployeeDto> employees = departmentService.getDepartmentEmployees(ID, null, 10, versions -> false).value();
+
+        assertThat(employees.getContent()).isEqualTo(List.of(employeeMapper.toDto(employee)));
+        assertThat(employees.getNext()).isNull();
+    }
+
+    @Test
+    void itShouldThrow_WhenGetEmployeesOfUnknownDepartment() {
+        when(departmentRepository.findEmployees(ID, null, 11)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> departmentService.getDepartmentEmployees(ID, null, 10, versions -> false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(NOT_FOUND);
+    }
+
+    @Test
+    void itShouldExportDepartmentsAsNdjson() throws IOException {
+        ReflectionTestUtils.setField(departmentService, "exportFetchSize", 100);
+        ReflectionTestUtils.setField(departmentService, "exportFlushRows", 1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        doAnswer(invocation -> {
+            Consumer<Department> consumer = invocation.getArgument(1);
+            consumer.accept(department);
+            return null;
+        }).when(departmentRepository).streamAll(eq(100), any());
+        when(departmentMapper.toDto(department)).thenReturn(departmentDto);
+
+        departmentService.exportDepartments(outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(departmentDto) + "\n");
+    }
+
+    @Test
+    void itShouldImportDepartmentsFromCsv() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+        ImportResultDto importResult = new ImportResultDto(1, 1, 0, List.of());
+
+        when(departmentRepository.copyIn(inputStream)).thenReturn(importResult);
+
+        assertThat(departmentService.importDepartmentsCsv(inputStream)).isEqualTo(importResult);
+        verify(employeeSearchIndex).rebuild();
     }
 
     @Test
     void itShouldGetDepartmentById() {
         when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
-        when(modelMapper.map(department, DepartmentDto.class)).thenReturn(departmentDto);
+        when(departmentMapper.toDto(department)).thenReturn(departmentDto);
 
         DepartmentDto departmentById = departmentService.getDepartmentById(department.getId());
 
@@ -107,7 +239,7 @@ public class DepartmentServiceTest {
 
     @Test
     void itShouldSaveDepartment() {
-        when(modelMapper.map(departmentDto, Department.class)).thenReturn(department);
+        when(departmentMapper.toEntity(departmentDto)).thenReturn(department);
 
         DepartmentDto addedDepartment = departmentService.addDepartment(departmentDto);
 
@@ -119,19 +251,19 @@ public class DepartmentServiceTest {
 
     @Test
     void itShouldDeleteDepartmentById() {
-        when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
+        when(departmentRepository.findByIdForUpdate(department.getId())).thenReturn(Optional.of(department));
 
         assertThatNoException().isThrownBy(() -> departmentService.deleteDepartmentById(department.getId()));
     }
 
     @Test
     void itShouldThrow_WhenDeletingDepartmentByUnknownId() {
-        when(departmentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(departmentRepository.findByIdForUpdate(anyInt())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> departmentService.deleteDepartmentById(ID))
                 .hasMessageContaining(NOT_FOUND);
 
-        verify(departmentRepository).findById(ID);
+        verify(departmentRepository).findByIdForUpdate(ID);
     }
 
     @ParameterizedTest
@@ -147,8 +279,9 @@ public class DepartmentServiceTest {
                 .location(departmentDtoRequest.getLocation())
                 .build();
 
+        when(departmentRepository.findByIdForUpdate(department.getId())).thenReturn(Optional.of(department));
         when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
-        when(modelMapper.map(departmentDtoRequest, Department.class)).thenReturn(departmentRequest);
+        when(departmentMapper.toEntity(departmentDtoRequest)).thenReturn(departmentRequest);
 
         departmentService.updateDepartment(departmentDtoRequest, department.getId());
 
@@ -159,7 +292,7 @@ public class DepartmentServiceTest {
 
     @Test
     void itShouldThrow_WhenUpdateDepartmentByUnknownId() {
-        when(departmentRepository.findById(ID)).thenReturn(Optional.empty());
+        when(departmentRepository.findByIdForUpdate(ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> departmentService.updateDepartment(any(DepartmentDto.class), ID))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -168,13 +301,41 @@ public class DepartmentServiceTest {
 
     @Test
     void itShouldThrow_WhenNoUpdates() {
-        when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
+        when(departmentRepository.findByIdForUpdate(department.getId())).thenReturn(Optional.of(department));
 
         assertThatThrownBy(() -> departmentService.updateDepartment(departmentDto, department.getId()))
                 .isInstanceOf(NoUpdateException.class)
                 .hasMessageContaining(NO_UPDATES.formatted(department.getId()));
     }
 
+    @Test
+    void itShouldInsertDepartment_WhenReturningMode() {
+        ReflectionTestUtils.setField(departmentService, "writeMode", WriteMode.RETURNING);
+        final DepartmentDto savedDto = DepartmentDto.builder().id(department.getId()).build();
+
+        when(departmentMapper.toEntity(departmentDto)).thenReturn(department);
+        when(departmentRepository.insert(department)).thenReturn(department);
+        when(departmentMapper.toDto(department)).thenReturn(savedDto);
+
+        assertThat(departmentService.addDepartment(departmentDto)).isEqualTo(savedDto);
+
+        verify(departmentRepository, never()).save(any(Department.class));
+    }
+
+    @Test
+    void itShouldThrow_WhenUpdateDepartmentByUnknownIdInReturningMode() {
+        ReflectionTestUtils.setField(departmentService, "writeMode", WriteMode.RETURNING);
+
+        when(departmentMapper.toEntity(departmentDto)).thenReturn(department);
+        when(departmentRepository.updateReturning(department, ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> departmentService.updateDepartment(departmentDto, ID))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(NOT_FOUND);
+
+        verify(departmentRepository, never()).findById(anyInt());
+    }
+
     private static Stream<Arguments> provideDataForUpdates() {
         final String departmentName = "Sales";
         final String departmentLocation = "Berlin";
@@ -0,0 +1,346 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.config.UnitOfWorkManager;
+import com.example.emloyee.management.exception.DuplicateResourceException;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.EmployeeMapper;
+import com.example.emloyee.management.model.dto.BatchResultDto;
+import com.example.emloyee.management.model.dto.BatchUpdateResultDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkFilterDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkOperation;
+import com.example.emloyee.management.model.dto.EmployeeBulkRequestDto;
+import com.example.emloyee.management.model.dto.EmployeeBulkResultDto;
+import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeePatchDto;
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.DepartmentRepository;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.example.emloyee.management.model.dto.BatchItemStatus.CREATED;
+import static com.example.emloyee.management.model.dto.BatchItemStatus.DUPLICATE;
+import static com.example.emloyee.management.model.dto.BatchItemStatus.FAILED;
+import static com.example.emloyee.management.model.dto.BatchItemStatus.INVALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBatchServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Spy
+    private EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    @Mock
+    private EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private UnitOfWorkManager unitOfWorkManager = new UnitOfWorkManager(null, null, Isolation.DEFAULT);
+
+    @InjectMocks
+    private EmployeeBatchService employeeBatchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(employeeBatchService, "chunkSize", 2);
+        lenient().when(employeeUniquenessIndex.mightContainEmail(anyString())).thenReturn(true);
+        lenient().when(employeeUniquenessIndex.mightContainPhoneNumber(anyString())).thenReturn(true);
+    }
+
+    private InputStream body(EmployeeDto... employees) throws IOException {
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(employees));
+    }
+
+    private static EmployeeDto employee(String email, String phoneNumber) {
+        return EmployeeDto.builder()
+                .firstName("John")
+                .lastName("Smith")
+                .departmentId(1)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .salary(1500.0)
+                .build();
+    }
+
+    @Test
+    void itShouldInsertEmployeesInChunks() throws IOException {
+        when(departmentRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1));
+        when(employeeRepository.saveAll(anyList())).thenReturn(List.of(10, 11), List.of(12));
+
+        BatchResultDto result = employeeBatchService.addEmployees(body(
+                employee("a@mail.com", "000000001"),
+                employee("b@mail.com", "000000002"),
+                employee("c@mail.com", "000000003")));
+
+        verify(employeeRepository, times(2)).saveAll(anyList());
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getItems()).extracting("id").containsExactly(10, 11, 12);
+        assertThat(result.getItems()).extracting("index").containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void itShouldOnlyQueryValuesTheIndexMightContain() throws IOException {
+        when(employeeUniquenessIndex.mightContainEmail("a@mail.com")).thenReturn(false);
+        when(departmentRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1));
+        when(employeeRepository.saveAll(anyList())).thenReturn(List.of(10, 11));
+
+        employeeBatchService.addEmployees(body(
+                employee("a@mail.com", "000000001"),
+                employee("b@mail.com", "000000002")));
+
+        verify(employeeRepository).findExistingEmails(Set.of("b@mail.com"));
+        verify(employeeUniquenessIndex).add("a@mail.com", "000000001");
+        verify(employeeUniquenessIndex).add("b@mail.com", "000000002");
+    }
+
+    @Test
+    void itShouldReportDuplicatesAgainstDatabaseAndWithinChunk() throws IOException {
+        ReflectionTestUtils.setField(employeeBatchService, "chunkSize", 3);
+        when(departmentRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1));
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@mail.com"));
+        when(employeeRepository.saveAll(anyList())).thenReturn(List.of(10));
+
+        BatchResultDto result = employeeBatchService.addEmployees(body(
+                employee("taken@mail.com", "000000001"),
+                employee("a@mail.com", "000000002"),
+                employee("b@mail.com", "000000002")));
+
+        assertThat(result.getItems()).extracting("status").containsExactly(DUPLICATE, CREATED, DUPLICATE);
+        assertThat(result.getItems().get(0).getMessage()).isEqualTo("Email [taken@mail.com] is already taken");
+        assertThat(result.getItems().get(2).getMessage()).isEqualTo("Phone number [000000002] is already taken");
+        assertThat(result.getDuplicates()).isEqualTo(2);
+    }
+
+    @Test
+    void itShouldReportValidationErrorsAndUnknownDepartments() throws IOException {
+        EmployeeDto unknownDepartment = employee("a@mail.com", "000000001");
+        unknownDepartment.setDepartmentId(99);
+
+        BatchResultDto result = employeeBatchService.addEmployees(body(
+                employee("invalid_email", "000000002"),
+                unknownDepartment));
+
+        verify(employeeRepository, never()).saveAll(anyList());
+        assertThat(result.getInvalid()).isEqualTo(2);
+        assertThat(result.getItems().get(0).getMessage()).isEqualTo("Field: email has invalid value: invalid_email");
+        assertThat(result.getItems().get(1).getMessage()).isEqualTo("Department with id = [99] not found");
+    }
+
+    @Test
+    void itShouldInsertRowByRow_WhenChunkInsertFails() throws IOException {
+        ReflectionTestUtils.setField(employeeBatchService, "chunkSize", 3);
+        when(departmentRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1));
+        when(employeeRepository.saveAll(anyList())).thenThrow(new DuplicateResourceException("Email [b@mail.com] is already taken"));
+        doAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            switch (employee.getEmail()) {
+                case "a@mail.com" -> employee.setId(10);
+                case "b@mail.com" -> throw new DuplicateResourceException("Email [b@mail.com] is already taken");
+                default -> throw new RuntimeException(new SQLException("FATAL: terminating connection", "57P01"));
+            }
+            return null;
+        }).when(employeeRepository).save(any(Employee.class));
+
+        BatchResultDto result = employeeBatchService.addEmployees(body(
+                employee("a@mail.com", "000000001"),
+                employee("b@mail.com", "000000002"),
+                employee("c@mail.com", "000000003")));
+
+        assertThat(result.getItems()).extracting("status").containsExactly(CREATED, DUPLICATE, FAILED);
+        assertThat(result.getItems()).extracting("message")
+                .containsExactly(null, "Email [b@mail.com] is already taken", EmployeeBatchService.INSERT_FAILED);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(10);
+        verify(employeeSearchIndex).upsertAll(List.of(Employee.builder()
+                .id(10).firstName("John").lastName("Smith").departmentId(1)
+                .email("a@mail.com").phoneNumber("000000001").salary(1500.0).build()));
+    }
+
+    @Test
+    void itShouldThrow_WhenBodyIsNotAnArray() {
+        InputStream body = new ByteArrayInputStream("{}".getBytes());
+
+        assertThatThrownBy(() -> employeeBatchService.addEmployees(body))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining(EmployeeBatchService.NOT_AN_ARRAY);
+    }
+
+    @Test
+    void itShouldMapValidEmployeesToEntities() throws IOException {
+        when(departmentRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1));
+        when(employeeRepository.saveAll(anyList())).thenReturn(List.of(1));
+
+        employeeBatchService.addEmployees(body(employee("a@mail.com", "000000001")));
+
+        verify(employeeMapper).toEntity(employee("a@mail.com", "000000001"));
+    }
+
+    @Test
+    void itShouldMergeUpdatesPerEmployeeAndReportUnknownIds() {
+        when(employeeRepository.updateAll(anyList())).thenReturn(new int[]{1, 0});
+        when(employeeRepository.findAllById(List.of(1))).thenReturn(List.of(Employee.builder().id(1).firstName("Maria").build()));
+
+        BatchUpdateResultDto result = employeeBatchService.updateEmployees(List.of(
+                EmployeePatchDto.builder().id(1).salary(1800.0).build(),
+                EmployeePatchDto.builder().id(2).email("b@mail.com").build(),
+                EmployeePatchDto.builder().id(1).firstName("Maria").salary(1900.0).build()));
+
+        assertThat(result).isEqualTo(new BatchUpdateResultDto(1, List.of(2)));
+        verify(employeeRepository).updateAll(List.of(
+                Employee.builder().id(1).firstName("Maria").salary(1900.0).build(),
+                Employee.builder().id(2).email("b@mail.com").build()));
+        verify(employeeUniquenessIndex).add(null, null);
+        verify(employeeUniquenessIndex, never()).add("b@mail.com", null);
+        verify(employeeSearchIndex).upsertAll(List.of(Employee.builder().id(1).firstName("Maria").build()));
+    }
+
+    @Test
+    void itShouldFailBatchUpdate_WhenUpdatedRowsCannotBeReadBack() {
+        when(employeeRepository.updateAll(anyList())).thenReturn(new int[]{1});
+        when(employeeRepository.findAllById(List.of(1))).thenThrow(new RuntimeException(new SQLException("connection reset", "08006")));
+
+        assertThatThrownBy(() -> employeeBatchService.updateEmployees(List.of(EmployeePatchDto.builder().id(1).salary(1800.0).build())))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(SQLException.class);
+        verify(employeeUniquenessIndex, never()).add(any(), any());
+        verify(employeeSearchIndex, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void itShouldRejectWholeBatch_WhenAnyUpdateIsInvalid() {
+        assertThatThrownBy(() -> employeeBatchService.updateEmployees(List.of(
+                EmployeePatchDto.builder().id(1).salary(1800.0).build(),
+                EmployeePatchDto.builder().id(2).phoneNumber("123").build())))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessage("Field: [1].phoneNumber has invalid value: 123");
+
+        verify(employeeRepository, never()).updateAll(anyList());
+    }
+
+    @Test
+    void itShouldRaiseSalariesByPercentage() {
+        EmployeeFilter filter = EmployeeFilter.builder().departmentId(3).build();
+        when(employeeRepository.adjustSalaries(filter, 1.1, 0)).thenReturn(List.of(4, 7));
+
+        EmployeeBulkResultDto result = employeeBatchService.applyBulk(EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.ADJUST_SALARY_PERCENT)
+                .value(10.0)
+                .filter(EmployeeBulkFilterDto.builder().departmentId(3).build())
+                .build());
+
+        assertThat(result).isEqualTo(new EmployeeBulkResultDto(EmployeeBulkOperation.ADJUST_SALARY_PERCENT, 2));
+    }
+
+    @Test
+    void itShouldReassignToExistingDepartmentAndReindexIt() {
+        Department department = Department.builder().id(4).name("Ops").build();
+        EmployeeFilter filter = EmployeeFilter.builder().departmentId(3).build();
+        when(departmentRepository.findById(4)).thenReturn(Optional.of(department));
+        when(employeeRepository.reassign(filter, 4)).thenReturn(List.of(1, 2, 3));
+
+        EmployeeBulkResultDto result = employeeBatchService.applyBulk(EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.REASSIGN)
+                .departmentId(4)
+                .filter(EmployeeBulkFilterDto.builder().departmentId(3).build())
+                .build());
+
+        assertThat(result.getAffected()).isEqualTo(3);
+        verify(employeeSearchIndex).upsertDepartment(department);
+    }
+
+    @Test
+    void itShouldThrow_WhenReassigningToUnknownDepartment() {
+        when(departmentRepository.findById(4)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> employeeBatchService.applyBulk(EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.REASSIGN)
+                .departmentId(4)
+                .filter(EmployeeBulkFilterDto.builder().departmentId(3).build())
+                .build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(employeeRepository, never()).reassign(any(), any());
+    }
+
+    @Test
+    void itShouldDeleteMatchingEmployeesFromSearchIndex() {
+        EmployeeFilter filter = EmployeeFilter.builder().ids(List.of(1, 2)).build();
+        when(employeeRepository.deleteMatching(filter)).thenReturn(List.of(1));
+
+        EmployeeBulkResultDto result = employeeBatchService.applyBulk(EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.DELETE)
+                .filter(EmployeeBulkFilterDto.builder().ids(List.of(1, 2)).build())
+                .build());
+
+        assertThat(result.getAffected()).isEqualTo(1);
+        verify(employeeSearchIndex).delete(1);
+        verify(employeeSearchIndex, never()).delete(2);
+    }
+
+    @Test
+    void itShouldRejectBulkChange_WhenFilterIsEmptyOrValueMissing() {
+        assertThatThrownBy(() -> employeeBatchService.applyBulk(EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.DELETE)
+                .filter(new EmployeeBulkFilterDto())
+                .build()))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessage(EmployeeBatchService.EMPTY_FILTER);
+
+        assertThatThrownBy(() -> employeeBatchService.applyBulk(EmployeeBulkRequestDto.builder()
+                .operation(EmployeeBulkOperation.ADJUST_SALARY)
+                .filter(EmployeeBulkFilterDto.builder().departmentId(3).build())
+                .build()))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessage("Field: value has invalid value: null");
+
+        verify(employeeRepository, never()).deleteMatching(any());
+        verify(employeeRepository, never()).adjustSalaries(any(), anyDouble(), anyDouble());
+    }
+}
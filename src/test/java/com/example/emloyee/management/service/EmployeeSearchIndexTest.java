@@ -0,0 +1,155 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.model.dto.EmployeeSearchHitDto;
+import com.example.emloyee.management.model.entity.Department;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.repository.DepartmentRepository;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+    private static final Department SALES = new Department(1, "Sales", "Chisinau", 1L);
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private static Employee employee(int id, String firstName, String lastName, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .departmentId(SALES.getId())
+                .email(email)
+                .phoneNumber("09876543" + id)
+                .salary(1000.0)
+                .build();
+    }
+
+    private static List<Integer> ids(List<EmployeeSearchHitDto> hits) {
+        return hits.stream().map(EmployeeSearchHitDto::getId).toList();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeSearchIndex = new EmployeeSearchIndex(employeeRepository, departmentRepository, meterRegistry);
+        ReflectionTestUtils.setField(employeeSearchIndex, "path", directory);
+        ReflectionTestUtils.setField(employeeSearchIndex, "fetchSize", 100);
+        employeeSearchIndex.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        employeeSearchIndex.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTable(Employee... employees) {
+        when(departmentRepository.findAll()).thenReturn(List.of(SALES));
+        doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(1, Consumer.class);
+            for (Employee employee : employees) {
+                consumer.accept(employee);
+            }
+            return null;
+        }).when(employeeRepository).streamAll(anyInt(), any());
+    }
+
+    @Test
+    void itShouldFindMisspelledPrefixAndFragmentMatches_AfterRefresh() {
+        when(departmentRepository.findById(SALES.getId())).thenReturn(Optional.of(SALES));
+        employeeSearchIndex.upsertAll(List.of(
+                employee(1, "John", "Smith", "john.smith@mail.com"),
+                employee(2, "Jane", "Doe", "jdoe@corp.org")));
+
+        assertThat(employeeSearchIndex.search("smith", 10)).isEmpty();
+
+        employeeSearchIndex.refresh();
+
+        assertThat(ids(employeeSearchIndex.search("smiht", 10))).containsExactly(1);
+        assertThat(ids(employeeSearchIndex.search("Jo", 10))).containsExactly(1);
+        assertThat(ids(employeeSearchIndex.search("corp", 10))).containsExactly(2);
+        assertThat(ids(employeeSearchIndex.search("jane chisinau", 10))).containsExactly(2);
+        assertThat(employeeSearchIndex.search("jane", 10).get(0))
+                .extracting(EmployeeSearchHitDto::getDepartmentName, EmployeeSearchHitDto::getEmail)
+                .containsExactly("Sales", "jdoe@corp.org");
+        assertThat(meterRegistry.get("app.search.query").timer().count()).isEqualTo(6);
+    }
+
+    @Test
+    void itShouldReplaceAndDeleteDocuments() {
+        when(departmentRepository.findById(SALES.getId())).thenReturn(Optional.of(SALES));
+        employeeSearchIndex.upsert(employee(1, "John", "Smith", "john@mail.com"));
+        employeeSearchIndex.upsert(employee(1, "John", "Brown", "john@mail.com"));
+        employeeSearchIndex.upsert(employee(2, "Jane", "Smith", "jane@mail.com"));
+        employeeSearchIndex.delete(2);
+        employeeSearchIndex.refresh();
+
+        assertThat(employeeSearchIndex.search("smith", 10)).isEmpty();
+        assertThat(ids(employeeSearchIndex.search("brown", 10))).containsExactly(1);
+        assertThat(employeeSearchIndex.documents()).isEqualTo(1);
+    }
+
+    @Test
+    void itShouldReturnNothing_WhenQueryIsBlank() {
+        assertThat(employeeSearchIndex.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void itShouldReplaceContents_OnRebuild() {
+        when(departmentRepository.findById(SALES.getId())).thenReturn(Optional.of(SALES));
+        employeeSearchIndex.upsert(employee(9, "Stale", "Row", "stale@mail.com"));
+        givenTable(employee(1, "John", "Smith", "john@mail.com"), employee(2, "Jane", "Doe", "jane@mail.com"));
+
+        assertThat(employeeSearchIndex.rebuild()).isEqualTo(2);
+
+        assertThat(employeeSearchIndex.search("stale", 10)).isEmpty();
+        assertThat(ids(employeeSearchIndex.search("sales", 10))).containsExactlyInAnyOrder(1, 2);
+        assertThat(employeeSearchIndex.sizeBytes()).isPositive();
+    }
+
+    @Test
+    void itShouldKeepCommittedIndex_WhenRebuildFails() {
+        when(departmentRepository.findById(SALES.getId())).thenReturn(Optional.of(SALES));
+        employeeSearchIndex.upsert(employee(1, "John", "Smith", "john@mail.com"));
+        when(departmentRepository.findAll()).thenReturn(List.of(SALES));
+        doThrow(new RuntimeException("connection lost")).when(employeeRepository).streamAll(anyInt(), any());
+
+        assertThat(employeeSearchIndex.rebuild()).isEqualTo(-1);
+        employeeSearchIndex.refresh();
+
+        assertThat(ids(employeeSearchIndex.search("smith", 10))).containsExactly(1);
+    }
+}
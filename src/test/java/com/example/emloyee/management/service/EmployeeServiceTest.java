@@ -1,11 +1,21 @@
 package com.example.emloyee.management.service;
 
+import com.example.emloyee.management.config.UnitOfWorkAspect;
+import com.example.emloyee.management.config.UnitOfWorkDataSource;
+import com.example.emloyee.management.config.UnitOfWorkManager;
 import com.example.emloyee.management.exception.DuplicateResourceException;
 import com.example.emloyee.management.exception.NoUpdateException;
 import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.mapper.EmployeeMapper;
 import com.example.emloyee.management.model.dto.EmployeeDto;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.EmployeeSearchHitDto;
+import com.example.emloyee.management.model.dto.ImportResultDto;
+import com.example.emloyee.management.model.dto.PageDto;
 import com.example.emloyee.management.model.entity.Employee;
 import com.example.emloyee.management.repository.EmployeeRepository;
+import com.example.emloyee.management.repository.TableVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +23,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Isolation;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
@@ -25,7 +50,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.startsWith;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,7 +74,22 @@ public class EmployeeServiceTest {
     private EmployeeRepository employeeRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private UnitOfWorkManager unitOfWorkManager = new UnitOfWorkManager(null, null, Isolation.DEFAULT);
 
     @InjectMocks
     private EmployeeService employeeService;
@@ -82,19 +127,132 @@ public class EmployeeServiceTest {
     void itShouldGetAllEmployees() {
         final List<Employee> employees = List.of(employee);
 
-        when(employeeRepository.findAll()).thenReturn(employees);
-        when(modelMapper.map(employee, EmployeeDto.class)).thenReturn(employeeDto);
+        final EmployeeFilter filter = EmployeeFilter.builder().departmentId(1).build();
+
+        when(tableVersionRepository.getVersions(TableVersionRepository.EMPLOYEES)).thenReturn(Map.of(TableVersionRepository.EMPLOYEES, 3L));
+        when(employeeRepository.findAll(filter, null, 3)).thenReturn(employees);
+        when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
+
+        Versioned<PageDto<EmployeeDto>> page = employeeService.getAllEmployees(filter, null, 2, versions -> false);
+
+        assertThat(page.versions()).isEqualTo(Map.of(TableVersionRepository.EMPLOYEES, 3L));
+        assertThat(page.value().getContent()).containsExactly(employeeDto);
+        assertThat(page.value().getNext()).isNull();
+        verify(employeeRepository).findAll(filter, null, 3);
+    }
+
+    @Test
+    void itShouldSkipPage_WhenVersionsAreCurrent() {
+        when(tableVersionRepository.getVersions(TableVersionRepository.EMPLOYEES)).thenReturn(Map.of(TableVersionRepository.EMPLOYEES, 3L));
+
+        Versioned<PageDto<EmployeeDto>> page = employeeService.getAllEmployees(EmployeeFilter.builder().build(), null, 2,
+                versions -> versions.get(TableVersionRepository.EMPLOYEES) == 3L);
+
+        assertThat(page.versions()).isEqualTo(Map.of(TableVersionRepository.EMPLOYEES, 3L));
+        assertThat(page.value()).isNull();
+        verify(employeeRepository, never()).findAll(any(), any(), anyInt());
+    }
+
+    @Test
+    void itShouldReadVersionAndPageFromOneReplica() throws SQLException {
+        DataSource replicas = mock(DataSource.class);
+        Connection fresh = mock(Connection.class);
+        Connection lagging = mock(Connection.class);
+        PreparedStatement versionStatement = mock(PreparedStatement.class);
+        PreparedStatement pageStatement = mock(PreparedStatement.class);
+        ResultSet versionRow = mock(ResultSet.class);
+        ResultSet pageRow = mock(ResultSet.class);
+
+        when(replicas.getConnection()).thenReturn(fresh, lagging);
+        when(fresh.prepareStatement(startsWith("SELECT table_name"))).thenReturn(versionStatement);
+        when(versionStatement.executeQuery()).thenReturn(versionRow);
+        when(versionRow.next()).thenReturn(true, false);
+        when(versionRow.getString(1)).thenReturn(TableVersionRepository.EMPLOYEES);
+        when(versionRow.getLong(2)).thenReturn(1L);
+        when(fresh.prepareStatement(startsWith("SELECT id"))).thenReturn(pageStatement);
+        when(pageStatement.executeQuery()).thenReturn(pageRow);
+        when(pageRow.next()).thenReturn(true, false);
+        lenient().when(lagging.prepareStatement(any())).thenThrow(new AssertionError("read from a second replica"));
+        when(employeeMapper.toDto(any())).thenReturn(employeeDto);
+
+        UnitOfWorkManager manager = new UnitOfWorkManager(null, replicas, Isolation.DEFAULT);
+        DataSource readDataSource = new UnitOfWorkDataSource(replicas, manager);
+        EmployeeRepository repository = new EmployeeRepository();
+        ReflectionTestUtils.setField(repository, "readDataSource", readDataSource);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new EmployeeService(repository, employeeMapper,
+                new TableVersionRepository(readDataSource), employeeUniquenessIndex, employeeSearchIndex, objectMapper, manager));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new UnitOfWorkAspect(manager));
+        EmployeeService service = proxyFactory.getProxy();
+
+        Versioned<PageDto<EmployeeDto>> page = service.getAllEmployees(EmployeeFilter.builder().build(), null, 2, versions -> false);
+
+        assertThat(page.versions()).isEqualTo(Map.of(TableVersionRepository.EMPLOYEES, 1L));
+        assertThat(page.value().getContent()).containsExactly(employeeDto);
+        verify(replicas).getConnection();
+    }
+
+    @Test
+    void itShouldReturnNextCursor_WhenMoreEmployeesExist() {
+        final Employee nextEmployee = Employee.builder().id(2).build();
+        final List<Employee> employees = List.of(employee, nextEmployee);
+
+        final EmployeeFilter filter = EmployeeFilter.builder().build();
+
+        when(employeeRepository.findAll(filter, 0, 2)).thenReturn(employees);
+        when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
+
+        PageDto<EmployeeDto> page = employeeService.getAllEmployees(filter, 0, 1, versions -> false).value();
+
+        assertThat(page.getContent()).containsExactly(employeeDto);
+        assertThat(page.getNext()).isEqualTo(employee.getId());
+    }
+
+    @Test
+    void itShouldExportEmployeesAsNdjson() throws IOException {
+        ReflectionTestUtils.setField(employeeService, "exportFetchSize", 100);
+        ReflectionTestUtils.setField(employeeService, "exportFlushRows", 1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(1);
+            consumer.accept(employee);
+            consumer.accept(employee);
+            return null;
+        }).when(employeeRepository).streamAll(eq(100), any());
+        when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
+
+        employeeService.exportEmployees(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], EmployeeDto.class)).isEqualTo(employeeDto);
+    }
+
+    @Test
+    void itShouldImportEmployeesFromCsv() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+        ImportResultDto importResult = new ImportResultDto(1, 1, 0, List.of());
 
-        List<EmployeeDto> employeeDtoList = employeeService.getAllEmployees();
+        when(employeeRepository.copyIn(inputStream)).thenReturn(importResult);
 
-        assertThat(employeeDtoList.contains(employeeDto)).isTrue();
-        verify(employeeRepository).findAll();
+        assertThat(employeeService.importEmployeesCsv(inputStream)).isEqualTo(importResult);
+        verify(employeeSearchIndex).rebuild();
+    }
+
+    @Test
+    void itShouldSearchEmployees() {
+        List<EmployeeSearchHitDto> hits = List.of(EmployeeSearchHitDto.builder().id(ID).score(1.5f).build());
+
+        when(employeeSearchIndex.search("smith", 5)).thenReturn(hits);
+
+        assertThat(employeeService.searchEmployees("smith", 5)).isEqualTo(hits);
     }
 
     @Test
     void itShouldGetEmployeeById() {
         when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
-        when(modelMapper.map(employee, EmployeeDto.class)).thenReturn(employeeDto);
+        when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
 
         EmployeeDto employeeById = employeeService.getEmployeeById(employee.getId());
 
@@ -114,42 +272,45 @@ public class EmployeeServiceTest {
 
     @Test
     void itShouldAddEmployee() {
-        when(employeeRepository.existsByEmail(employee.getEmail())).thenReturn(false);
-        when(employeeRepository.existsByPhoneNumber(employee.getPhoneNumber())).thenReturn(false);
-        when(modelMapper.map(employeeDto, Employee.class)).thenReturn(employee);
+        when(employeeUniquenessIndex.isEmailTaken(employee.getEmail())).thenReturn(false);
+        when(employeeUniquenessIndex.isPhoneNumberTaken(employee.getPhoneNumber())).thenReturn(false);
+        when(employeeMapper.toEntity(employeeDto)).thenReturn(employee);
+        when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
 
         EmployeeDto addedEmployee = employeeService.addEmployee(employeeDto);
 
         assertThat(employeeDto).isEqualTo(addedEmployee);
 
-        verify(employeeRepository).existsByEmail(employee.getEmail());
-        verify(employeeRepository).existsByPhoneNumber(employee.getPhoneNumber());
+        verify(employeeUniquenessIndex).isEmailTaken(employee.getEmail());
+        verify(employeeUniquenessIndex).isPhoneNumberTaken(employee.getPhoneNumber());
         verify(employeeRepository).save(employee);
+        verify(employeeUniquenessIndex).add(employee.getEmail(), employee.getPhoneNumber());
+        verify(employeeSearchIndex).upsert(employee);
     }
 
     @Test
     void itShouldThrow_WhenAddEmployeeWithExistingEmail() {
-        when(employeeRepository.existsByEmail(employee.getEmail())).thenReturn(true);
+        when(employeeUniquenessIndex.isEmailTaken(employee.getEmail())).thenReturn(true);
 
         assertThatThrownBy(() -> employeeService.addEmployee(employeeDto))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining(DUPLICATE.formatted("Email", employee.getEmail()));
 
-        verify(employeeRepository).existsByEmail(employee.getEmail());
+        verify(employeeUniquenessIndex).isEmailTaken(employee.getEmail());
         verify(employeeRepository, never()).save(any(Employee.class));
     }
 
     @Test
     void itShouldThrow_WhenAddEmployeeWithExistingPhoneNumber() {
-        when(employeeRepository.existsByEmail(employee.getEmail())).thenReturn(false);
-        when(employeeRepository.existsByPhoneNumber(employee.getPhoneNumber())).thenReturn(true);
+        when(employeeUniquenessIndex.isEmailTaken(employee.getEmail())).thenReturn(false);
+        when(employeeUniquenessIndex.isPhoneNumberTaken(employee.getPhoneNumber())).thenReturn(true);
 
         assertThatThrownBy(() -> employeeService.addEmployee(employeeDto))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining(DUPLICATE.formatted("Phone number", employee.getPhoneNumber()));
 
-        verify(employeeRepository).existsByEmail(employee.getEmail());
-        verify(employeeRepository).existsByPhoneNumber(employee.getPhoneNumber());
+        verify(employeeUniquenessIndex).isEmailTaken(employee.getEmail());
+        verify(employeeUniquenessIndex).isPhoneNumberTaken(employee.getPhoneNumber());
         verify(employeeRepository, never()).save(any(Employee.class));
     }
 
@@ -182,8 +343,9 @@ public class EmployeeServiceTest {
                 .salary(salary)
                 .build();
 
+        when(employeeRepository.findByIdForUpdate(any())).thenReturn(Optional.of(employee));
         when(employeeRepository.findById(any())).thenReturn(Optional.of(employee));
-        when(modelMapper.map(employeeDtoRequest, Employee.class)).thenReturn(employeeRequest);
+        when(employeeMapper.toEntity(employeeDtoRequest)).thenReturn(employeeRequest);
 
         employeeService.updateEmployee(employeeDtoRequest, employee.getId());
 
@@ -201,63 +363,111 @@ public class EmployeeServiceTest {
 
     @Test
     void itShouldThrow_WhenUpdateEmployeeByUnknownId() {
-        when(employeeRepository.findById(ID)).thenReturn(Optional.empty());
+        when(employeeRepository.findByIdForUpdate(ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> employeeService.updateEmployee(any(EmployeeDto.class), ID))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining(NOT_FOUND);
 
-        verify(employeeRepository).findById(ID);
+        verify(employeeRepository).findByIdForUpdate(ID);
         verify(employeeRepository, never()).update(any(Employee.class), anyInt());
     }
 
     @Test
     void itShouldThrow_WhenUpdateExistingEmail() {
-        when(employeeRepository.findById(any())).thenReturn(Optional.of(employee));
-        when(employeeRepository.existsByEmail(employee.getEmail())).thenReturn(true);
+        when(employeeRepository.findByIdForUpdate(any())).thenReturn(Optional.of(employee));
+        when(employeeUniquenessIndex.isEmailTaken(employee.getEmail())).thenReturn(true);
 
         assertThatThrownBy(() -> employeeService.updateEmployee(employeeDto, anyInt()))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining(DUPLICATE.formatted("Email", employee.getEmail()));
 
-        verify(employeeRepository).existsByEmail(employee.getEmail());
+        verify(employeeUniquenessIndex).isEmailTaken(employee.getEmail());
         verify(employeeRepository, never()).update(any(Employee.class), anyInt());
     }
 
     @Test
     void itShouldThrow_WhenUpdateExistingPhoneNumber() {
-        when(employeeRepository.findById(any())).thenReturn(Optional.of(employee));
-        when(employeeRepository.existsByEmail(employee.getEmail())).thenReturn(false);
-        when(employeeRepository.existsByPhoneNumber(employee.getPhoneNumber())).thenReturn(true);
+        when(employeeRepository.findByIdForUpdate(any())).thenReturn(Optional.of(employee));
+        when(employeeUniquenessIndex.isEmailTaken(employee.getEmail())).thenReturn(false);
+        when(employeeUniquenessIndex.isPhoneNumberTaken(employee.getPhoneNumber())).thenReturn(true);
 
         assertThatThrownBy(() -> employeeService.updateEmployee(employeeDto, anyInt()))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining(DUPLICATE.formatted("Phone number", employee.getPhoneNumber()));
 
-        verify(employeeRepository).existsByEmail(employee.getEmail());
-        verify(employeeRepository).existsByPhoneNumber(employee.getPhoneNumber());
+        verify(employeeUniquenessIndex).isEmailTaken(employee.getEmail());
+        verify(employeeUniquenessIndex).isPhoneNumberTaken(employee.getPhoneNumber());
         verify(employeeRepository, never()).update(any(Employee.class), anyInt());
     }
 
     @Test
     void itShouldThrow_WhenNoUpdates() {
-        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdForUpdate(employee.getId())).thenReturn(Optional.of(employee));
 
         assertThatThrownBy(() -> employeeService.updateEmployee(employeeDto, employee.getId()))
                 .isInstanceOf(NoUpdateException.class)
                 .hasMessageContaining(NO_UPDATES.formatted(employee.getId()));
     }
 
+    @Test
+    void itShouldInsertEmployee_WhenReturningMode() {
+        ReflectionTestUtils.setField(employeeService, "writeMode", WriteMode.RETURNING);
+        final Employee employeeRequest = Employee.builder().email(employee.getEmail()).build();
+        final EmployeeDto savedDto = EmployeeDto.builder().id(employee.getId()).build();
+
+        when(employeeMapper.toEntity(employeeDto)).thenReturn(employeeRequest);
+        when(employeeRepository.insert(employeeRequest)).thenReturn(employee);
+        when(employeeMapper.toDto(employee)).thenReturn(savedDto);
+
+        assertThat(employeeService.addEmployee(employeeDto)).isEqualTo(savedDto);
+
+        verify(employeeUniquenessIndex, never()).isEmailTaken(any());
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeUniquenessIndex).add(employee.getEmail(), employee.getPhoneNumber());
+    }
+
+    @Test
+    void itShouldUpdateEmployeeInOneStatement_WhenReturningMode() {
+        ReflectionTestUtils.setField(employeeService, "writeMode", WriteMode.RETURNING);
+        final Employee employeeRequest = Employee.builder().email(employee.getEmail()).build();
+
+        when(employeeMapper.toEntity(employeeDto)).thenReturn(employeeRequest);
+        when(employeeRepository.updateReturning(employeeRequest, employee.getId())).thenReturn(Optional.of(employee));
+        when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
+
+        assertThat(employeeService.updateEmployee(employeeDto, employee.getId())).isEqualTo(employeeDto);
+
+        verify(employeeRepository, never()).findById(any());
+        verify(employeeUniquenessIndex).add(employee.getEmail(), employee.getPhoneNumber());
+        verify(employeeSearchIndex).upsert(employee);
+    }
+
+    @Test
+    void itShouldThrow_WhenUpdateEmployeeByUnknownIdInReturningMode() {
+        ReflectionTestUtils.setField(employeeService, "writeMode", WriteMode.RETURNING);
+
+        when(employeeMapper.toEntity(employeeDto)).thenReturn(employee);
+        when(employeeRepository.updateReturning(employee, ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> employeeService.updateEmployee(employeeDto, ID))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(NOT_FOUND);
+
+        verify(employeeUniquenessIndex, never()).add(any(), any());
+    }
+
     @Test
     void itShouldDeleteEmployeeById() {
-        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdForUpdate(employee.getId())).thenReturn(Optional.of(employee));
 
         assertThatNoException().isThrownBy(() -> employeeService.deleteEmployeeById(employee.getId()));
+        verify(employeeSearchIndex).delete(employee.getId());
     }
 
     @Test
     void itShouldThrow_WhenDeletingEmployeeByUnknownId() {
-        when(employeeRepository.findById(ID)).thenReturn(Optional.empty());
+        when(employeeRepository.findByIdForUpdate(ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> employeeService.deleteEmployeeById(ID))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -0,0 +1,116 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeUniquenessIndexTest {
+
+    private static final String EMAIL = "john@mail.com";
+    private static final String PHONE = "098765432";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeUniquenessIndex employeeUniquenessIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(employeeUniquenessIndex, "fetchSize", 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTable(String email, String phoneNumber) {
+        when(employeeRepository.count()).thenReturn(1);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, BiConsumer.class).accept(email, phoneNumber);
+            return null;
+        }).when(employeeRepository).streamUniqueKeys(anyInt(), any());
+    }
+
+    @Test
+    void itShouldFallBackToDatabase_BeforeRebuild() {
+        when(employeeRepository.existsByEmail("new@mail.com")).thenReturn(false);
+
+        assertThat(employeeUniquenessIndex.isEmailTaken("new@mail.com")).isFalse();
+        verify(employeeRepository).existsByEmail("new@mail.com");
+    }
+
+    @Test
+    void itShouldAnswerDefiniteNegativesWithoutDatabase() {
+        givenTable(EMAIL, PHONE);
+        employeeUniquenessIndex.rebuild();
+
+        assertThat(employeeUniquenessIndex.isEmailTaken("new@mail.com")).isFalse();
+        assertThat(employeeUniquenessIndex.isPhoneNumberTaken("000000000")).isFalse();
+        verify(employeeRepository, never()).existsByEmail(any());
+        verify(employeeRepository, never()).existsByPhoneNumber(any());
+    }
+
+    @Test
+    void itShouldConfirmPossiblePositivesWithDatabase() {
+        givenTable(EMAIL, PHONE);
+        employeeUniquenessIndex.rebuild();
+        when(employeeRepository.existsByEmail(EMAIL)).thenReturn(true);
+
+        assertThat(employeeUniquenessIndex.isEmailTaken(EMAIL)).isTrue();
+        verify(employeeRepository).existsByEmail(EMAIL);
+    }
+
+    @Test
+    void itShouldTrackValuesAddedAfterRebuild() {
+        givenTable(EMAIL, PHONE);
+        employeeUniquenessIndex.rebuild();
+
+        employeeUniquenessIndex.add("new@mail.com", "000000000");
+
+        assertThat(employeeUniquenessIndex.mightContainEmail("new@mail.com")).isTrue();
+        assertThat(employeeUniquenessIndex.mightContainPhoneNumber("000000000")).isTrue();
+        assertThat(employeeUniquenessIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void itShouldKeepValuesAddedDuringRebuild() {
+        when(employeeRepository.count()).thenReturn(1);
+        doAnswer(invocation -> {
+            employeeUniquenessIndex.add("concurrent@mail.com", "000000000");
+            invocation.getArgument(1, BiConsumer.class).accept(EMAIL, PHONE);
+            return null;
+        }).when(employeeRepository).streamUniqueKeys(anyInt(), any());
+
+        employeeUniquenessIndex.rebuild();
+
+        assertThat(employeeUniquenessIndex.mightContainEmail("concurrent@mail.com")).isTrue();
+        assertThat(employeeUniquenessIndex.mightContainEmail(EMAIL)).isTrue();
+    }
+
+    @Test
+    void itShouldKeepFallingBackToDatabase_WhenRebuildFails() {
+        when(employeeRepository.count()).thenReturn(1);
+        doThrow(new RuntimeException("connection refused")).when(employeeRepository).streamUniqueKeys(anyInt(), any());
+
+        employeeUniquenessIndex.rebuild();
+
+        assertThat(employeeUniquenessIndex.mightContainEmail("new@mail.com")).isTrue();
+        assertThat(employeeUniquenessIndex.memoryBytes()).isZero();
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.emloyee.management.service;
+
+import com.example.emloyee.management.config.UnitOfWorkManager;
+import com.example.emloyee.management.exception.ResourceNotFoundException;
+import com.example.emloyee.management.model.dto.EmployeeFilter;
+import com.example.emloyee.management.model.dto.JobDto;
+import com.example.emloyee.management.model.dto.JobRequestDto;
+import com.example.emloyee.management.model.dto.JobStatus;
+import com.example.emloyee.management.model.dto.JobType;
+import com.example.emloyee.management.model.entity.Employee;
+import com.example.emloyee.management.model.entity.Job;
+import com.example.emloyee.management.repository.EmployeeRepository;
+import com.example.emloyee.management.repository.JobItemRepository;
+import com.example.emloyee.management.repository.JobRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JobServiceTest {
+
+    public static final int ID = 7;
+
+    public static final int CHUNK_SIZE = 2;
+
+    public static final long LEASE = 60_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobItemRepository jobItemRepository;
+
+    @Mock
+    private BulkOperation<JsonNode> operation;
+
+    @Mock
+    private ExecutorService executor;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private JobService jobService;
+
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        when(operation.type()).thenReturn(JobType.EMPLOYEE_IMPORT);
+        jobService = new JobService(jobRepository, jobItemRepository, List.of(operation), objectMapper,
+                new UnitOfWorkManager(null, null, Isolation.DEFAULT));
+        ReflectionTestUtils.setField(jobService, "chunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(jobService, "executor", executor);
+        ReflectionTestUtils.setField(jobService, "lease", LEASE);
+
+        job = Job.builder()
+                .id(ID)
+                .type(JobType.EMPLOYEE_IMPORT)
+                .status(JobStatus.RUNNING)
+                .parameters("{\"items\":[]}")
+                .total(4)
+                .build();
+    }
+
+    @Test
+    void itShouldQueueAndDispatchSubmittedJob() throws Exception {
+        JsonNode parameters = objectMapper.readTree("{\"items\":[{},{},{}]}");
+        when(operation.parse(parameters)).thenReturn(parameters);
+        when(operation.total(parameters)).thenReturn(3L);
+        when(operation.stored(parameters)).thenReturn(objectMapper.readTree("{\"items\":[]}"));
+        when(jobRepository.insert(any())).thenAnswer(invocation -> {
+            Job inserted = invocation.getArgument(0);
+            inserted.setId(ID);
+            inserted.setStatus(JobStatus.QUEUED);
+            return inserted;
+        });
+
+        JobDto jobDto = jobService.submitJob(new JobRequestDto(JobType.EMPLOYEE_IMPORT, parameters));
+
+        assertThat(jobDto.getId()).isEqualTo(ID);
+        assertThat(jobDto.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(jobDto.getTotal()).isEqualTo(3);
+        verify(jobRepository).insert(argThat(job -> job.getParameters().equals("{\"items\":[]}")));
+        verify(operation).stage(ID, parameters);
+        verify(executor).execute(any());
+    }
+
+    @Test
+    void itShouldRunChunksUntilLastAndComplete() throws Exception {
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(true);
+        when(jobRepository.findById(ID)).thenReturn(Optional.of(job));
+        when(operation.parse(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operation.process(eq(ID), any(), eq(0L), eq(CHUNK_SIZE))).thenReturn(new BulkOperation.Chunk(2, 2, 0, false));
+        when(operation.process(eq(ID), any(), eq(2L), eq(CHUNK_SIZE))).thenReturn(new BulkOperation.Chunk(4, 2, 1, true));
+        when(jobRepository.checkpoint(eq(ID), anyString(), anyLong(), anyLong(), anyLong(), any())).thenReturn(true);
+        when(jobRepository.finish(eq(ID), anyString(), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(true);
+
+        jobService.run(ID);
+
+        verify(jobRepository).checkpoint(eq(ID), anyString(), eq(2L), eq(2L), eq(0L), any());
+        verify(jobRepository).checkpoint(eq(ID), anyString(), eq(4L), eq(4L), eq(1L), any());
+        verify(jobRepository).finish(eq(ID), anyString(), eq(JobStatus.COMPLETED), isNull(), any());
+        verify(jobItemRepository).deleteByJobId(ID);
+    }
+
+    @Test
+    void itShouldResumeFromLastCheckpoint() throws Exception {
+        job.setPosition(2);
+        job.setProcessed(2);
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(true);
+        when(jobRepository.findById(ID)).thenReturn(Optional.of(job));
+        when(operation.parse(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operation.process(eq(ID), any(), eq(2L), eq(CHUNK_SIZE))).thenReturn(new BulkOperation.Chunk(4, 2, 0, true));
+        when(jobRepository.checkpoint(eq(ID), anyString(), eq(4L), eq(4L), eq(0L), any())).thenReturn(true);
+
+        jobService.run(ID);
+
+        verify(operation, never()).process(eq(ID), any(), eq(0L), eq(CHUNK_SIZE));
+        verify(jobRepository).finish(eq(ID), anyString(), eq(JobStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void itShouldStopAtChunkBoundaryWhenCancelled() throws Exception {
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(true);
+        when(jobRepository.findById(ID)).thenReturn(Optional.of(job));
+        when(operation.parse(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operation.process(eq(ID), any(), eq(0L), eq(CHUNK_SIZE))).thenReturn(new BulkOperation.Chunk(2, 2, 0, false));
+        when(jobRepository.checkpoint(eq(ID), anyString(), eq(2L), eq(2L), eq(0L), any())).thenReturn(false);
+
+        jobService.run(ID);
+
+        verify(operation, never()).process(eq(ID), any(), eq(2L), eq(CHUNK_SIZE));
+        verify(jobRepository, never()).finish(eq(ID), any(), any(), any(), any());
+    }
+
+    @Test
+    void itShouldFailJobOnError() throws Exception {
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(true);
+        when(jobRepository.findById(ID)).thenReturn(Optional.of(job));
+        when(operation.parse(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operation.process(eq(ID), any(), eq(0L), eq(CHUNK_SIZE))).thenThrow(new RuntimeException("boom"));
+
+        jobService.run(ID);
+
+        verify(jobRepository).finish(eq(ID), anyString(), eq(JobStatus.FAILED), eq("boom"), any());
+    }
+
+    @Test
+    void itShouldFailUpdateJob_WhenPageReadFailsPartway() throws Exception {
+        EmployeeUpdateOperation updateOperation = new EmployeeUpdateOperation(employeeRepository, employeeService, objectMapper);
+        jobService = new JobService(jobRepository, jobItemRepository, List.of(operation, updateOperation), objectMapper,
+                new UnitOfWorkManager(null, null, Isolation.DEFAULT));
+        ReflectionTestUtils.setField(jobService, "chunkSize", CHUNK_SIZE);
+        job.setType(JobType.EMPLOYEE_UPDATE);
+        job.setParameters("{\"changes\":{\"salary\":2000.0}}");
+
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(true);
+        when(jobRepository.findById(ID)).thenReturn(Optional.of(job));
+        when(employeeRepository.findAll(any(EmployeeFilter.class), eq(0), eq(CHUNK_SIZE)))
+                .thenReturn(List.of(Employee.builder().id(1).build(), Employee.builder().id(2).build()));
+        when(employeeRepository.findAll(any(EmployeeFilter.class), eq(2), eq(CHUNK_SIZE)))
+                .thenThrow(new RuntimeException(new SQLException("connection reset", "08006")));
+        when(jobRepository.checkpoint(eq(ID), anyString(), eq(2L), eq(2L), eq(0L), any())).thenReturn(true);
+
+        jobService.run(ID);
+
+        verify(employeeService, times(2)).updateEmployee(any(), anyInt());
+        verify(jobRepository).finish(eq(ID), anyString(), eq(JobStatus.FAILED), anyString(), any());
+        verify(jobRepository, never()).finish(eq(ID), anyString(), eq(JobStatus.COMPLETED), any(), any());
+    }
+
+    @Test
+    void itShouldNotRunJobClaimedElsewhere() {
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(false);
+
+        jobService.run(ID);
+
+        verify(jobRepository, never()).findById(any());
+    }
+
+    @Test
+    void itShouldRequeueInterruptedJobsOnStartup() {
+        when(jobRepository.requeueExpired(any())).thenReturn(List.of(ID));
+        when(jobRepository.findIdsByStatus(JobStatus.QUEUED)).thenReturn(List.of(ID, ID + 1));
+
+        jobService.resumeJobs();
+
+        verify(executor, times(2)).execute(any());
+    }
+
+    @Test
+    void itShouldRenewLeasesAndTakeOverExpiredJobs() {
+        when(jobRepository.requeueExpired(any())).thenReturn(List.of(ID));
+        Instant before = Instant.now();
+
+        jobService.heartbeat();
+
+        verify(jobRepository).heartbeat(anyString(), any());
+        verify(jobRepository).requeueExpired(argThat(expiredBefore -> expiredBefore.isBefore(before)));
+        verify(executor).execute(any());
+    }
+
+    @Test
+    void itShouldKeepStagedItems_WhenFinishRejected() throws Exception {
+        when(jobRepository.claim(eq(ID), anyString(), any())).thenReturn(true);
+        when(jobRepository.findById(ID)).thenReturn(Optional.of(job));
+        when(operation.parse(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operation.process(eq(ID), any(), eq(0L), eq(CHUNK_SIZE))).thenReturn(new BulkOperation.Chunk(4, 4, 0, true));
+        when(jobRepository.checkpoint(eq(ID), anyString(), eq(4L), eq(4L), eq(0L), any())).thenReturn(true);
+        when(jobRepository.finish(eq(ID), anyString(), eq(JobStatus.COMPLETED), isNull(), any())).thenReturn(false);
+
+        jobService.run(ID);
+
+        verify(jobItemRepository, never()).deleteByJobId(any());
+    }
+
+    @Test
+    void itShouldReportThroughputAndEtaOfCurrentRun() {
+        Instant startedAt = Instant.parse("2024-01-01T00:00:00Z");
+        job.setTotal(1000);
+        job.setProcessed(400);
+        job.setStartedProcessed(100);
+        job.setStartedAt(startedAt);
+
+        JobDto jobDto = JobService.toDto(job, startedAt.plusSeconds(10));
+
+        assertThat(jobDto.getRowsPerSecond()).isEqualTo(30.0);
+        assertThat(jobDto.getEtaSeconds()).isEqualTo(20);
+    }
+
+    @Test
+    void itShouldThrowWhenJobNotFound() {
+        when(jobRepository.findById(ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jobService.getJob(ID))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage(JobService.NOT_FOUND.formatted(ID));
+    }
+}